@@ -0,0 +1,130 @@
+package com.platform.service;
+
+import com.platform.config.FreeMarkerConfig;
+import com.platform.entity.Template;
+import com.platform.entity.TemplatePage;
+import com.platform.enums.PageOrientation;
+import org.jsoup.Jsoup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Services and templates for the benchmarks, wired by hand without a Spring context or database.
+ *
+ * Fixtures are {@code TEST_TEMPLATE.html} (static styled document, also the CSS of every template)
+ * and {@code benchmark/report-page.html} (FreeMarker page with variables, conditionals and lists).
+ */
+final class BenchmarkFixtures {
+
+    static final String TEST_TEMPLATE = resource("/TEST_TEMPLATE.html");
+    static final String TEST_TEMPLATE_CSS = Jsoup.parse(TEST_TEMPLATE).select("style").html();
+    static final String REPORT_PAGE = resource("/benchmark/report-page.html");
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static String resource(String path) {
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Benchmark fixture not found: " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Render bundle of a template with the given number of report pages
+     */
+    static TemplateRenderBundle reportBundle(long templateId, int pageCount) {
+        Template template = new Template();
+        template.setId(templateId);
+        template.setName("Benchmark report " + pageCount);
+        template.setCssStyles(TEST_TEMPLATE_CSS);
+        template.setPageOrientation(PageOrientation.PORTRAIT);
+        template.setUpdatedAt(VERSION);
+
+        List<TemplatePage> pages = new ArrayList<>();
+        for (int i = 1; i <= pageCount; i++) {
+            TemplatePage page = new TemplatePage();
+            page.setId(templateId * 1000 + i);
+            page.setName("Page " + i);
+            page.setContent(REPORT_PAGE);
+            page.setPageOrder(i);
+            page.setUpdatedAt(VERSION);
+            pages.add(page);
+        }
+        return TemplateRenderBundle.of(template, pages, List.of());
+    }
+
+    /**
+     * Parameters of the report page with the given number of line items
+     */
+    static Map<String, Object> reportParameters(int itemCount) {
+        Map<String, Object> customer = new HashMap<>();
+        customer.put("name", "Acme Corporation");
+        customer.put("email", "billing@acme.example");
+        customer.put("accountNumber", "ACC-000123");
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        String[] statuses = {"success", "warning", "error"};
+        for (int i = 1; i <= itemCount; i++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("description", "Service item " + i);
+            item.put("quantity", i % 7 + 1);
+            item.put("price", "$" + (i * 13 % 500) + ".00");
+            item.put("status", statuses[i % statuses.length]);
+            items.add(item);
+        }
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("title", "Monthly Service Report");
+        parameters.put("customer", customer);
+        parameters.put("reportDate", "2024-01-31");
+        parameters.put("notes", "Prices include all applicable taxes.");
+        parameters.put("items", items);
+        parameters.put("terms", List.of("Payment due within 30 days", "Late payments incur a 2% fee",
+            "Disputes must be raised within 14 days"));
+        parameters.put("total", "$12,345.00");
+        return parameters;
+    }
+
+    static TemplateRenderService templateRenderService() {
+        CompiledTemplateCache compiledTemplateCache = new CompiledTemplateCache();
+        ReflectionTestUtils.setField(compiledTemplateCache, "enabled", true);
+        ReflectionTestUtils.setField(compiledTemplateCache, "maxEntries", 500);
+
+        // Repositories and the render bundle service are only used to load templates by id
+        return new TemplateRenderService(null, null, compiledTemplateCache, new PageRenderExecutor(),
+            new TemplateRenderStatsService(null), rendererFactory(),
+            new FreeMarkerConfig().templateFreemarkerConfiguration());
+    }
+
+    static WordGenerationService wordGenerationService() {
+        WordGenerationService service = new WordGenerationService(null, new WordOutputCache(false, 64, 4096));
+        ReflectionTestUtils.setField(service, "stylesheetCacheMaxEntries", 256);
+        return service;
+    }
+
+    static FlyingSaucerPdfService flyingSaucerPdfService() {
+        return new FlyingSaucerPdfService(null, rendererFactory(), new PdfHtmlPipeline());
+    }
+
+    private static FlyingSaucerRendererFactory rendererFactory() {
+        FlyingSaucerRendererFactory factory = new FlyingSaucerRendererFactory();
+        ReflectionTestUtils.setField(factory, "maxIdleRenderers", 16);
+        return factory;
+    }
+}
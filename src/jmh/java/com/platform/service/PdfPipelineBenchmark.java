@@ -0,0 +1,75 @@
+package com.platform.service;
+
+import com.platform.enums.PageOrientation;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTML and CSS preparation for the PDF engines, and the Flying Saucer PDF path end to end
+ * (XHTML document build, layout and PDF output with a reused renderer).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfPipelineBenchmark {
+
+    private TemplateRenderService templateRenderService;
+    private FlyingSaucerPdfService flyingSaucerPdfService;
+    private String reportHtml;
+    private String flyingSaucerCss;
+
+    @Setup
+    public void setUp() {
+        templateRenderService = BenchmarkFixtures.templateRenderService();
+        flyingSaucerPdfService = BenchmarkFixtures.flyingSaucerPdfService();
+        reportHtml = templateRenderService.renderHtml(BenchmarkFixtures.reportBundle(1L, 3),
+            BenchmarkFixtures.reportParameters(50));
+        flyingSaucerCss = PdfCss.rewriteForFlyingSaucer(BenchmarkFixtures.TEST_TEMPLATE_CSS);
+    }
+
+    @Benchmark
+    public String enhanceHtmlForPdf() {
+        return templateRenderService.enhanceHtmlForPdf(reportHtml, BenchmarkFixtures.TEST_TEMPLATE_CSS,
+            PageOrientation.PORTRAIT);
+    }
+
+    @Benchmark
+    public String processCssForPdf() {
+        return templateRenderService.processCssForPdf(flyingSaucerCss, PageOrientation.PORTRAIT);
+    }
+
+    @Benchmark
+    public String rewriteCssForFlyingSaucer() {
+        return PdfCss.rewriteForFlyingSaucer(BenchmarkFixtures.TEST_TEMPLATE_CSS);
+    }
+
+    @Benchmark
+    public byte[] flyingSaucerTestTemplate() {
+        return flyingSaucerPdfService.generatePdfFromHtml(BenchmarkFixtures.TEST_TEMPLATE, null,
+            PageOrientation.PORTRAIT, List.of());
+    }
+
+    @Benchmark
+    public byte[] flyingSaucerReport() {
+        Document document = Jsoup.parse(reportHtml);
+        PdfHtmlPipeline.enhanceForPdf(document, BenchmarkFixtures.TEST_TEMPLATE_CSS, PageOrientation.PORTRAIT);
+        return flyingSaucerPdfService.generatePdfFromHtml(document.outerHtml(), null,
+            PageOrientation.PORTRAIT, List.of());
+    }
+}
@@ -0,0 +1,60 @@
+package com.platform.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FreeMarker rendering of single and multi-page templates (compiled templates cached, as in
+ * production) and parameter extraction from template HTML.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateRenderBenchmark {
+
+    @Param({"20", "200"})
+    private int items;
+
+    private TemplateRenderService templateRenderService;
+    private TemplateRenderBundle singlePage;
+    private TemplateRenderBundle multiPage;
+    private Map<String, Object> parameters;
+
+    @Setup
+    public void setUp() {
+        templateRenderService = BenchmarkFixtures.templateRenderService();
+        singlePage = BenchmarkFixtures.reportBundle(1L, 1);
+        multiPage = BenchmarkFixtures.reportBundle(2L, 10);
+        parameters = BenchmarkFixtures.reportParameters(items);
+    }
+
+    @Benchmark
+    public String renderHtmlSinglePage() {
+        return templateRenderService.renderHtml(singlePage, parameters);
+    }
+
+    @Benchmark
+    public String renderHtmlMultiPage() {
+        return templateRenderService.renderHtml(multiPage, parameters);
+    }
+
+    @Benchmark
+    public Map<String, Object> extractParameters() {
+        return templateRenderService.extractParameters(BenchmarkFixtures.REPORT_PAGE);
+    }
+}
@@ -0,0 +1,58 @@
+package com.platform.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTML to DOCX conversion, buffered and streamed, for the styled test document and a
+ * table-heavy multi-page report.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordGenerationBenchmark {
+
+    private WordGenerationService wordGenerationService;
+    private String reportHtml;
+
+    @Setup
+    public void setUp() {
+        wordGenerationService = BenchmarkFixtures.wordGenerationService();
+
+        // Rendered report with the test template's styles, as produced for a Word preview
+        String body = BenchmarkFixtures.templateRenderService().renderHtml(BenchmarkFixtures.reportBundle(1L, 10),
+            BenchmarkFixtures.reportParameters(200));
+        reportHtml = "<html><head><style>" + BenchmarkFixtures.TEST_TEMPLATE_CSS + "</style></head><body>"
+            + body + "</body></html>";
+    }
+
+    @Benchmark
+    public byte[] convertTestTemplate() throws IOException {
+        return wordGenerationService.convertHtmlToWord(BenchmarkFixtures.TEST_TEMPLATE);
+    }
+
+    @Benchmark
+    public byte[] convertReport() throws IOException {
+        return wordGenerationService.convertHtmlToWord(reportHtml);
+    }
+
+    @Benchmark
+    public void streamReport() throws IOException {
+        wordGenerationService.writeHtmlAsWord(reportHtml, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,121 @@
+package com.platform;
+
+import com.platform.service.PdfGenerationService;
+import com.platform.service.TemplateRenderService;
+import com.platform.service.TemplateRenderStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Warms up template rendering after startup: compiles the most rendered templates of each app
+ * into the compiled template cache and runs one dummy render through every available PDF engine.
+ *
+ * Runs synchronously as a startup runner and sets readiness to REFUSING_TRAFFIC while it runs.
+ * Spring Boot publishes ACCEPTING_TRAFFIC once all runners have finished, so readiness probes
+ * only pass after warm-up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Order(3) // Run after TemplateFolderInitializationService
+public class TemplateWarmupService implements CommandLineRunner {
+
+    private final TemplateRenderService templateRenderService;
+    private final TemplateRenderStatsService templateRenderStatsService;
+    private final PdfGenerationService pdfGenerationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${template.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${template.warmup.templates-per-app:10}")
+    private int templatesPerApp;
+
+    @Value("${template.warmup.max-templates:200}")
+    private int maxTemplates;
+
+    @Value("${template.warmup.template-ids:}")
+    private List<Long> configuredTemplateIds;
+
+    @Value("${template.warmup.engines:true}")
+    private boolean warmUpEngines;
+
+    private volatile Map<String, Object> status = Map.of("state", "PENDING");
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            status = Map.of("state", "DISABLED");
+            return;
+        }
+
+        log.info("Starting template rendering warm-up...");
+        status = Map.of("state", "RUNNING");
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.currentTimeMillis();
+
+        int templatesWarmed = 0;
+        int pagesCompiled = 0;
+        int failures = 0;
+        Map<String, Object> engines = Map.of();
+
+        try {
+            List<Long> templateIds = templateRenderStatsService.findWarmupCandidates(
+                configuredTemplateIds, templatesPerApp, maxTemplates);
+
+            for (Long templateId : templateIds) {
+                try {
+                    pagesCompiled += templateRenderService.warmUp(templateId);
+                    templatesWarmed++;
+                } catch (IllegalArgumentException e) {
+                    // Template was deleted since it was last rendered
+                    templateRenderStatsService.forget(templateId);
+                } catch (Exception e) {
+                    failures++;
+                    log.warn("Failed to warm up template {}: {}", templateId, e.getMessage());
+                }
+            }
+
+            if (warmUpEngines) {
+                engines = pdfGenerationService.warmUpEngines();
+            }
+        } catch (Exception e) {
+            log.error("Template rendering warm-up failed", e);
+            // Don't throw exception to prevent application startup failure
+        }
+
+        long duration = System.currentTimeMillis() - start;
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("state", "COMPLETED");
+        result.put("templatesWarmed", templatesWarmed);
+        result.put("pagesCompiled", pagesCompiled);
+        result.put("failures", failures);
+        result.put("engines", engines);
+        result.put("durationMs", duration);
+        result.put("completedAt", LocalDateTime.now());
+        status = result;
+
+        log.info("Template rendering warm-up completed in {} ms: {} templates ({} pages) compiled, {} failures",
+            duration, templatesWarmed, pagesCompiled, failures);
+    }
+
+    /**
+     * Warm-up state (PENDING, RUNNING, COMPLETED or DISABLED) and results
+     */
+    public Map<String, Object> getStatus() {
+        return status;
+    }
+}
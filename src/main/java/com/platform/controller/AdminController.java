@@ -1,5 +1,7 @@
 package com.platform.controller;
 
+import com.platform.service.ContentReadModelService;
+import com.platform.service.TranslationBundleService;
 import com.platform.util.SequenceFixUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +22,8 @@ import java.util.Map;
 public class AdminController {
     
     private final SequenceFixUtil sequenceFixUtil;
+    private final TranslationBundleService translationBundleService;
+    private final ContentReadModelService contentReadModelService;
     
     /**
      * Fix apps table sequence
@@ -135,4 +139,16 @@ public class AdminController {
             return ResponseEntity.status(500).body(response);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Get statistics of the content caches shared by all tenants
+     */
+    @GetMapping("/content-cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getContentCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("translationBundles", translationBundleService.getStatistics());
+        stats.put("contentReadModel", contentReadModelService.getStatistics());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -1,16 +1,24 @@
 package com.platform.controller;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,7 +31,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.platform.TemplateWarmupService;
+import com.platform.dto.PdfJobResponse;
+import com.platform.dto.TemplateBatchPdfRequest;
 import com.platform.dto.TemplatePreviewRequest;
 import com.platform.dto.TemplateCreateRequest;
 import com.platform.entity.App;
@@ -39,8 +52,17 @@ import com.platform.repository.TemplateFolderRepository;
 import com.platform.repository.UserRepository;
 import com.platform.security.RequirePermission;
 import com.platform.security.UserPrincipal;
+import com.platform.service.CompiledTemplateCache;
+import com.platform.service.ContentReadModelService;
+import com.platform.service.PdfJob;
+import com.platform.service.PdfJobService;
+import com.platform.service.PdfOutputCache;
+import com.platform.service.PdfPageRange;
+import com.platform.service.TemplateRenderBundle;
+import com.platform.service.TemplateRenderBundleService;
 import com.platform.service.TemplateRenderService;
 import com.platform.service.WordGenerationService;
+import com.platform.service.WordOutputCache;
 import com.platform.service.PdfGenerationService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -63,6 +85,16 @@ public class TemplateController {
 	private final TemplateRenderService templateRenderService;
 	private final WordGenerationService wordGenerationService;
 	private final PdfGenerationService pdfGenerationService;
+	private final CompiledTemplateCache compiledTemplateCache;
+	private final TemplateRenderBundleService templateRenderBundleService;
+	private final PdfOutputCache pdfOutputCache;
+	private final WordOutputCache wordOutputCache;
+	private final ContentReadModelService contentReadModelService;
+	private final PdfJobService pdfJobService;
+	private final TemplateWarmupService templateWarmupService;
+
+	@Value("${pdf.batch.max-items:1000}")
+	private int batchMaxItems;
 
 	@GetMapping
 	@RequirePermission(resource = PermissionResource.TEMPLATES, action = PermissionAction.READ)
@@ -188,6 +220,7 @@ public class TemplateController {
 
 		try {
 			Template created = templateRepository.save(template);
+			contentReadModelService.invalidateTemplate(created);
 			log.info("Template created successfully with ID: {}", created.getId());
 			return ResponseEntity.ok(created);
 		} catch (Exception e) {
@@ -249,6 +282,8 @@ public class TemplateController {
 		}
 
 		Template updated = templateRepository.save(template);
+		templateRenderBundleService.invalidateTemplate(id);
+		contentReadModelService.invalidateTemplate(updated);
 		log.info("Template {} updated successfully with page orientation: {}", id, updated.getPageOrientation());
 		return ResponseEntity.ok(updated);
 	}
@@ -278,6 +313,8 @@ public class TemplateController {
 		}
 
 		templateRepository.delete(template);
+		templateRenderBundleService.invalidateTemplate(id);
+		contentReadModelService.invalidateTemplate(template);
 		return ResponseEntity.ok().build();
 	}
 
@@ -294,25 +331,33 @@ public class TemplateController {
 				return ResponseEntity.badRequest().body("User not associated with any organization");
 			}
 
-			Template template = templateRepository.findById(id)
-					.orElseThrow(() -> new RuntimeException("Template not found"));
+			// Template, pages, fonts and CSS are loaded once and shared by the whole render pipeline
+			TemplateRenderBundle bundle = templateRenderService.getRenderBundle(id);
 
 			// Check corporate access
-			if (!template.getCorporate().getId().equals(currentUser.getCorporate().getId())) {
+			if (!currentUser.getCorporate().getId().equals(bundle.getCorporateId())) {
 				return ResponseEntity.status(403).body("Access denied: Template belongs to another organization");
 			}
 
 			// Validate template has content (either in template itself or in pages)
-			int pageCount = templateRenderService.getPageCount(id);
-			boolean hasTemplateContent = template.getHtmlContent() != null && !template.getHtmlContent().trim().isEmpty();
+			int pageCount = bundle.getPageCount();
+			boolean hasTemplateContent = bundle.hasTemplateContent();
 			boolean hasPageContent = pageCount > 0;
 			
 			if (!hasTemplateContent && !hasPageContent) {
 				return ResponseEntity.badRequest().body("Template has no content to render");
 			}
 
-			// Generate PDF with optional page number
-			byte[] pdf = templateRenderService.renderToPdf(id, request.getParameters(), request.getPageNumber());
+			PdfPageRange pageRange;
+			try {
+				pageRange = resolvePageRange(request);
+			} catch (IllegalArgumentException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+
+			// Generate PDF with optional page range (identical requests are served from the PDF output cache)
+			PdfGenerationService.GeneratedPdf generated = templateRenderService.renderPdf(bundle, request.getParameters(), pageRange);
+			byte[] pdf = generated.pdf();
 
 			if (pdf == null || pdf.length == 0) {
 				return ResponseEntity.status(500).body("Failed to generate PDF - empty result");
@@ -321,30 +366,36 @@ public class TemplateController {
 			HttpHeaders headers = new HttpHeaders();
 			headers.setContentType(MediaType.APPLICATION_PDF);
 			
-			// Get page count information
-			int totalPages = templateRenderService.getPageCount(id);
-			
 			// Set filename based on template name and page number
-			String filename = template.getName().replaceAll("[^a-zA-Z0-9._-]", "_");
-			if (request.getPageNumber() != null) {
-				filename += "_page_" + request.getPageNumber();
+			String filename = bundle.getName().replaceAll("[^a-zA-Z0-9._-]", "_");
+			if (pageRange != null) {
+				filename += "_page_" + pageRange;
 			}
 			filename += ".pdf";
 			
 			headers.setContentDispositionFormData("inline", filename);
 			headers.add("X-Template-Id", id.toString());
-			headers.add("X-Template-Name", template.getName());
+			headers.add("X-Template-Name", bundle.getName());
 			headers.add("X-PDF-Size", String.valueOf(pdf.length));
-			headers.add("X-Total-Pages", String.valueOf(totalPages));
+			headers.add("X-Total-Pages", String.valueOf(pageCount));
+			headers.add("X-PDF-Cache", generated.cacheHit() ? "HIT" : "MISS");
 			
-			if (request.getPageNumber() != null) {
-				headers.add("X-Page-Number", request.getPageNumber().toString());
+			if (pageRange != null && pageRange.isSinglePage()) {
+				headers.add("X-Page-Number", pageRange.toString());
+			} else if (pageRange != null) {
+				headers.add("X-Page-Range", pageRange.toString());
 			} else {
 				headers.add("X-Rendered-Pages", "all");
 			}
 
 			return ResponseEntity.ok().headers(headers).body(pdf);
 
+		} catch (IllegalArgumentException e) {
+			// Unknown template, or pages outside the document
+			if (e.getMessage() != null && e.getMessage().contains("not found")) {
+				return ResponseEntity.notFound().build();
+			}
+			return ResponseEntity.badRequest().body(e.getMessage());
 		} catch (Exception e) {
 			// Log the error for debugging
 			log.error("Error generating PDF for template {}: {}", id, e.getMessage(), e);
@@ -360,11 +411,219 @@ public class TemplateController {
 		}
 	}
 
+	@PostMapping("/{id}/batch-pdf")
+	@RequirePermission(resource = PermissionResource.TEMPLATES, action = PermissionAction.READ)
+	@Operation(summary = "Render a template for many parameter sets as one merged PDF or a ZIP of PDFs")
+	public ResponseEntity<?> batchPdf(@PathVariable Long id, @RequestBody TemplateBatchPdfRequest request) {
+
+		// Validate access to template
+		User currentUser = getCurrentUserWithCorporate();
+		if (currentUser == null || currentUser.getCorporate() == null) {
+			return ResponseEntity.badRequest().body("User not associated with any organization");
+		}
+
+		// Loaded once for the whole batch
+		TemplateRenderBundle bundle = templateRenderService.getRenderBundle(id);
+
+		// Check corporate access
+		if (!currentUser.getCorporate().getId().equals(bundle.getCorporateId())) {
+			return ResponseEntity.status(403).body("Access denied: Template belongs to another organization");
+		}
+
+		if (request.getParameterSets() == null || request.getParameterSets().isEmpty()) {
+			return ResponseEntity.badRequest().body("At least one parameter set is required");
+		}
+		if (request.getParameterSets().size() > batchMaxItems) {
+			return ResponseEntity.badRequest().body("Batch exceeds the maximum of " + batchMaxItems + " parameter sets");
+		}
+
+		PdfPageRange pageRange;
+		try {
+			pageRange = resolvePageRange(request.getPageRange(), request.getPageNumber());
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+
+		boolean zip = "zip".equalsIgnoreCase(request.getOutput());
+		PdfGenerationService.PdfEngine pdfEngine = PdfGenerationService.PdfEngine.fromCode(
+				request.getEngine() != null ? request.getEngine() : "auto");
+
+		// Results are written to the response as they are rendered
+		StreamingResponseBody body = outputStream -> {
+			if (zip) {
+				pdfGenerationService.writeBatchZip(bundle, request.getParameterSets(), pageRange,
+						bundle.getOrientation(), pdfEngine, outputStream);
+			} else {
+				pdfGenerationService.writeBatchMerged(bundle, request.getParameterSets(), pageRange,
+						bundle.getOrientation(), pdfEngine, outputStream);
+			}
+		};
+
+		String filename = bundle.getName().replaceAll("[^a-zA-Z0-9._-]", "_") + "_batch" + (zip ? ".zip" : ".pdf");
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(zip ? MediaType.parseMediaType("application/zip") : MediaType.APPLICATION_PDF);
+		headers.setContentDispositionFormData(zip ? "attachment" : "inline", filename);
+		headers.add("X-Template-Id", id.toString());
+		headers.add("X-Batch-Size", String.valueOf(request.getParameterSets().size()));
+
+		return ResponseEntity.ok().headers(headers).body(body);
+	}
+
+	@PostMapping("/{id}/pdf-jobs")
+	@RequirePermission(resource = PermissionResource.TEMPLATES, action = PermissionAction.READ)
+	@Operation(summary = "Submit an asynchronous PDF generation job")
+	public ResponseEntity<?> submitPdfJob(@PathVariable Long id, @RequestBody TemplatePreviewRequest request,
+			@RequestParam(required = false) String engine) {
+
+		// Validate access to template
+		User currentUser = getCurrentUserWithCorporate();
+		if (currentUser == null || currentUser.getCorporate() == null) {
+			return ResponseEntity.badRequest().body("User not associated with any organization");
+		}
+
+		TemplateRenderBundle bundle = templateRenderService.getRenderBundle(id);
+
+		// Check corporate access
+		if (!currentUser.getCorporate().getId().equals(bundle.getCorporateId())) {
+			return ResponseEntity.status(403).body("Access denied: Template belongs to another organization");
+		}
+
+		if (!bundle.hasTemplateContent() && bundle.getPageCount() <= 0) {
+			return ResponseEntity.badRequest().body("Template has no content to render");
+		}
+
+		PdfPageRange pageRange;
+		try {
+			pageRange = resolvePageRange(request);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+
+		try {
+			PdfJob job = pdfJobService.submit(bundle, request.getParameters(), pageRange,
+					PdfGenerationService.PdfEngine.fromCode(engine != null ? engine : "auto"));
+			return ResponseEntity.accepted()
+					.location(URI.create("/api/template-editor/pdf-jobs/" + job.getId()))
+					.body(pdfJobService.toResponse(job));
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+		}
+	}
+
+	@GetMapping("/pdf-jobs/{jobId}")
+	@RequirePermission(resource = PermissionResource.TEMPLATES, action = PermissionAction.READ)
+	@Operation(summary = "Get PDF job status, optionally long-polling until it finishes")
+	public DeferredResult<ResponseEntity<?>> getPdfJob(@PathVariable String jobId,
+			@RequestParam(defaultValue = "0") int waitSeconds) {
+
+		long timeoutMs = Math.min(Math.max(waitSeconds, 0), 60) * 1000L;
+		DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(timeoutMs > 0 ? timeoutMs : null);
+
+		PdfJob job = findAccessiblePdfJob(jobId);
+		if (job == null) {
+			result.setResult(ResponseEntity.notFound().build());
+			return result;
+		}
+
+		if (timeoutMs == 0 || job.isFinished()) {
+			result.setResult(ResponseEntity.ok(pdfJobService.toResponse(job)));
+			return result;
+		}
+
+		// Long poll: answer as soon as the job finishes, or with the current status on timeout
+		result.onTimeout(() -> result.setResult(ResponseEntity.ok(pdfJobService.toResponse(job))));
+		job.getCompletion().thenAccept(finished -> result.setResult(ResponseEntity.ok(pdfJobService.toResponse(finished))));
+		return result;
+	}
+
+	@GetMapping("/pdf-jobs/{jobId}/result")
+	@RequirePermission(resource = PermissionResource.TEMPLATES, action = PermissionAction.READ)
+	@Operation(summary = "Redirect to the generated PDF of a completed job")
+	public ResponseEntity<?> getPdfJobResult(@PathVariable String jobId) {
+		PdfJob job = findAccessiblePdfJob(jobId);
+		if (job == null) {
+			return ResponseEntity.notFound().build();
+		}
+
+		if (job.getStatus() != PdfJob.Status.COMPLETED) {
+			PdfJobResponse status = pdfJobService.toResponse(job);
+			return ResponseEntity.status(job.getStatus() == PdfJob.Status.FAILED ? 500 : 409).body(status);
+		}
+
+		return ResponseEntity.status(HttpStatus.FOUND)
+				.location(URI.create(job.getResultUrl()))
+				.header("X-PDF-Cache", job.isCacheHit() ? "HIT" : "MISS")
+				.build();
+	}
+
+	@GetMapping("/pdf-jobs/stats")
+	@PreAuthorize("hasRole('ADMIN')")
+	@Operation(summary = "Get PDF job queue and worker metrics (shared by all tenants, admins only)")
+	public ResponseEntity<?> getPdfJobStats() {
+		return ResponseEntity.ok(pdfJobService.getStatistics());
+	}
+
+	private PdfJob findAccessiblePdfJob(String jobId) {
+		PdfJob job = pdfJobService.getJob(jobId);
+		User currentUser = getCurrentUserWithCorporate();
+		if (job == null || currentUser == null || currentUser.getCorporate() == null
+				|| !currentUser.getCorporate().getId().equals(job.getCorporateId())) {
+			return null;
+		}
+		return job;
+	}
+
+	/**
+	 * Requested pages: pageRange ("2-4") when given, otherwise pageNumber, otherwise all pages (null)
+	 */
+	private PdfPageRange resolvePageRange(TemplatePreviewRequest request) {
+		return resolvePageRange(request.getPageRange(), request.getPageNumber());
+	}
+
+	private PdfPageRange resolvePageRange(String pageRange, Integer pageNumber) {
+		if (pageRange != null && !pageRange.isBlank()) {
+			return PdfPageRange.parse(pageRange);
+		}
+		return PdfPageRange.of(pageNumber);
+	}
+
+	@PostMapping("/{id}/preview-html")
+	@RequirePermission(resource = PermissionResource.TEMPLATES, action = PermissionAction.READ)
+	@Operation(summary = "Preview rendered template as HTML")
+	public ResponseEntity<?> previewHtml(@PathVariable Long id, @RequestBody TemplatePreviewRequest request,
+			HttpServletRequest httpRequest) {
+
+		// Validate access to template
+		User currentUser = getCurrentUserWithCorporate();
+		if (currentUser == null || currentUser.getCorporate() == null) {
+			return ResponseEntity.badRequest().body("User not associated with any organization");
+		}
+
+		TemplateRenderBundle bundle = templateRenderService.getRenderBundle(id);
+
+		// Check corporate access
+		if (!currentUser.getCorporate().getId().equals(bundle.getCorporateId())) {
+			return ResponseEntity.status(403).body("Access denied: Template belongs to another organization");
+		}
+
+		// Stream rendered pages straight to the response instead of building the whole document in memory
+		StreamingResponseBody body = outputStream -> {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+			templateRenderService.renderHtml(bundle, request.getParameters(), writer);
+			writer.flush();
+		};
+
+		return ResponseEntity.ok()
+				.contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+				.header("X-Template-Id", id.toString())
+				.body(body);
+	}
+
 	@PostMapping("/{id}/preview-word")
 	@RequirePermission(resource = PermissionResource.TEMPLATES, action = PermissionAction.READ)
-	@Operation(summary = "Preview template as Word document")
-	public ResponseEntity<byte[]> previewWord(@PathVariable Long id, @RequestBody TemplatePreviewRequest request,
-			HttpServletRequest httpRequest) throws IOException {
+	@Operation(summary = "Preview template as Word document (streamed for large documents)")
+	public ResponseEntity<?> previewWord(@PathVariable Long id, @RequestBody TemplatePreviewRequest request,
+			@RequestParam(required = false) Boolean stream, HttpServletRequest httpRequest) throws IOException {
 
 		// Validate access to template
 		User currentUser = getCurrentUserWithCorporate();
@@ -372,28 +631,73 @@ public class TemplateController {
 			throw new RuntimeException("User not associated with any organization");
 		}
 
-		Template template = templateRepository.findById(id)
-				.orElseThrow(() -> new RuntimeException("Template not found"));
+		TemplateRenderBundle bundle = templateRenderService.getRenderBundle(id);
 
 		// Check corporate access
-		if (!template.getCorporate().getId().equals(currentUser.getCorporate().getId())) {
+		if (!currentUser.getCorporate().getId().equals(bundle.getCorporateId())) {
 			throw new RuntimeException("Access denied: Template belongs to another organization");
 		}
 
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(
+				MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.wordprocessingml.document"));
+		headers.setContentDispositionFormData("inline", bundle.getName().replaceAll("[^a-zA-Z0-9]", "_") + ".docx");
+
+		// Same template version and parameters exported before
+		if (!Boolean.TRUE.equals(stream)) {
+			byte[] cached = wordGenerationService.getCachedWord(bundle, request.getParameters());
+			if (cached != null) {
+				headers.add("X-Word-Cache", "HIT");
+				return ResponseEntity.ok().headers(headers).body(cached);
+			}
+		}
+
 		// Render HTML with parameters
-		String processedHtml = templateRenderService.renderHtml(id, request.getParameters());
+		String processedHtml = templateRenderService.renderHtml(bundle, request.getParameters());
+
+		// Large documents (or stream=true) are written to the response as they are converted
+		if (stream != null ? stream : wordGenerationService.shouldStream(processedHtml)) {
+			StreamingResponseBody body = outputStream -> wordGenerationService.writeHtmlAsWord(processedHtml, outputStream);
+			headers.add("X-Word-Streamed", "true");
+			return ResponseEntity.ok().headers(headers).body(body);
+		}
 
 		// Convert to Word
 		byte[] docx = wordGenerationService.convertHtmlToWord(processedHtml);
+		wordGenerationService.cacheWord(bundle, request.getParameters(), docx);
 
-		HttpHeaders headers = new HttpHeaders();
-		headers.setContentType(
-				MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.wordprocessingml.document"));
-		headers.setContentDispositionFormData("inline", template.getName().replaceAll("[^a-zA-Z0-9]", "_") + ".docx");
-
+		headers.add("X-Word-Cache", "MISS");
 		return ResponseEntity.ok().headers(headers).body(docx);
 	}
 
+	@PostMapping("/{id}/word-jobs")
+	@RequirePermission(resource = PermissionResource.TEMPLATES, action = PermissionAction.READ)
+	@Operation(summary = "Submit an asynchronous Word export job (polled through the PDF job endpoints)")
+	public ResponseEntity<?> submitWordJob(@PathVariable Long id, @RequestBody TemplatePreviewRequest request) {
+
+		// Validate access to template
+		User currentUser = getCurrentUserWithCorporate();
+		if (currentUser == null || currentUser.getCorporate() == null) {
+			return ResponseEntity.badRequest().body("User not associated with any organization");
+		}
+
+		TemplateRenderBundle bundle = templateRenderService.getRenderBundle(id);
+
+		// Check corporate access
+		if (!currentUser.getCorporate().getId().equals(bundle.getCorporateId())) {
+			return ResponseEntity.status(403).body("Access denied: Template belongs to another organization");
+		}
+
+		try {
+			PdfJob job = pdfJobService.submitWord(bundle, request.getParameters());
+			return ResponseEntity.accepted()
+					.location(URI.create("/api/template-editor/pdf-jobs/" + job.getId()))
+					.body(pdfJobService.toResponse(job));
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+		}
+	}
+
 	@GetMapping("/{id}/info")
 	@RequirePermission(resource = PermissionResource.TEMPLATES, action = PermissionAction.READ)
 	@Operation(summary = "Get template information including page count")
@@ -474,17 +778,17 @@ public class TemplateController {
 				return ResponseEntity.badRequest().body("User not associated with any organization");
 			}
 
-			Template template = templateRepository.findById(id)
-					.orElseThrow(() -> new RuntimeException("Template not found"));
+			// Template, pages, fonts and CSS are loaded once and shared by the whole render pipeline
+			TemplateRenderBundle bundle = templateRenderService.getRenderBundle(id);
 
 			// Check corporate access
-			if (!template.getCorporate().getId().equals(currentUser.getCorporate().getId())) {
+			if (!currentUser.getCorporate().getId().equals(bundle.getCorporateId())) {
 				return ResponseEntity.status(403).body("Access denied: Template belongs to another organization");
 			}
 
 			// Validate template has content
-			int pageCount = templateRenderService.getPageCount(id);
-			boolean hasTemplateContent = template.getHtmlContent() != null && !template.getHtmlContent().trim().isEmpty();
+			int pageCount = bundle.getPageCount();
+			boolean hasTemplateContent = bundle.hasTemplateContent();
 			boolean hasPageContent = pageCount > 0;
 			
 			if (!hasTemplateContent && !hasPageContent) {
@@ -495,16 +799,18 @@ public class TemplateController {
 			PdfGenerationService.PdfEngine pdfEngine = PdfGenerationService.PdfEngine.fromCode(
 				engine != null ? engine : "auto");
 
-			// Generate PDF with specific engine
-			byte[] pdf;
-			if (pdfEngine == PdfGenerationService.PdfEngine.AUTO) {
-				pdf = pdfGenerationService.generatePdf(id, request.getParameters(), 
-					request.getPageNumber(), template.getPageOrientation());
-			} else {
-				pdf = pdfGenerationService.generatePdfWithEngine(pdfEngine, id, request.getParameters(), 
-					request.getPageNumber(), template.getPageOrientation());
+			PdfPageRange pageRange;
+			try {
+				pageRange = resolvePageRange(request);
+			} catch (IllegalArgumentException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
 			}
 
+			// Generate PDF with specific engine (AUTO falls back across engines)
+			PdfGenerationService.GeneratedPdf generated = pdfGenerationService.generatePdfResult(pdfEngine, bundle, 
+				request.getParameters(), pageRange, bundle.getOrientation());
+			byte[] pdf = generated.pdf();
+
 			if (pdf == null || pdf.length == 0) {
 				return ResponseEntity.status(500).body("Failed to generate PDF - empty result");
 			}
@@ -512,31 +818,37 @@ public class TemplateController {
 			HttpHeaders headers = new HttpHeaders();
 			headers.setContentType(MediaType.APPLICATION_PDF);
 			
-			// Get page count information
-			int totalPages = templateRenderService.getPageCount(id);
-			
 			// Set filename based on template name and page number
-			String filename = template.getName().replaceAll("[^a-zA-Z0-9._-]", "_");
-			if (request.getPageNumber() != null) {
-				filename += "_page_" + request.getPageNumber();
+			String filename = bundle.getName().replaceAll("[^a-zA-Z0-9._-]", "_");
+			if (pageRange != null) {
+				filename += "_page_" + pageRange;
 			}
 			filename += "_" + pdfEngine.getCode() + ".pdf";
 			
 			headers.setContentDispositionFormData("inline", filename);
 			headers.add("X-Template-Id", id.toString());
-			headers.add("X-Template-Name", template.getName());
+			headers.add("X-Template-Name", bundle.getName());
 			headers.add("X-PDF-Size", String.valueOf(pdf.length));
-			headers.add("X-Total-Pages", String.valueOf(totalPages));
+			headers.add("X-Total-Pages", String.valueOf(pageCount));
 			headers.add("X-PDF-Engine", pdfEngine.getDisplayName());
+			headers.add("X-PDF-Cache", generated.cacheHit() ? "HIT" : "MISS");
 			
-			if (request.getPageNumber() != null) {
-				headers.add("X-Page-Number", request.getPageNumber().toString());
+			if (pageRange != null && pageRange.isSinglePage()) {
+				headers.add("X-Page-Number", pageRange.toString());
+			} else if (pageRange != null) {
+				headers.add("X-Page-Range", pageRange.toString());
 			} else {
 				headers.add("X-Rendered-Pages", "all");
 			}
 
 			return ResponseEntity.ok().headers(headers).body(pdf);
 
+		} catch (IllegalArgumentException e) {
+			// Unknown template, or pages outside the document
+			if (e.getMessage() != null && e.getMessage().contains("not found")) {
+				return ResponseEntity.notFound().build();
+			}
+			return ResponseEntity.badRequest().body(e.getMessage());
 		} catch (Exception e) {
 			// Log the error for debugging
 			log.error("Error generating PDF for template {} with engine {}: {}", id, engine, e.getMessage(), e);
@@ -565,6 +877,20 @@ public class TemplateController {
 		}
 	}
 
+	@GetMapping("/render-cache/stats")
+	@PreAuthorize("hasRole('ADMIN')")
+	@Operation(summary = "Get compiled template and render bundle cache statistics and warm-up status (shared by all tenants, admins only)")
+	public ResponseEntity<?> getRenderCacheStats() {
+		Map<String, Object> stats = new HashMap<>();
+		stats.put("compiledTemplates", compiledTemplateCache.getStatistics());
+		stats.put("renderBundles", templateRenderBundleService.getStatistics());
+		stats.put("pdfOutput", pdfOutputCache.getStatistics());
+		stats.put("wordOutput", wordOutputCache.getStatistics());
+		stats.put("wordStylesheets", wordGenerationService.getStylesheetCacheStatistics());
+		stats.put("warmup", templateWarmupService.getStatus());
+		return ResponseEntity.ok(stats);
+	}
+
 	private User getCurrentUserWithCorporate() {
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 		if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal) {
@@ -2,15 +2,17 @@ package com.platform.controller;
 
 import com.platform.entity.TranslationApp;
 import com.platform.service.TranslationAppService;
-import com.platform.service.TranslationService;
+import com.platform.service.TranslationBundleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
-
 @RestController
 @RequestMapping("/api/public/translations")
 @RequiredArgsConstructor
@@ -18,13 +20,15 @@ import java.util.Map;
 public class TranslationPublicApiController {
     
     private final TranslationAppService appService;
-    private final TranslationService translationService;
+    private final TranslationBundleService translationBundleService;
     
     @GetMapping("/{language}")
     @Operation(summary = "Get translations for a language (i18n format)")
     public ResponseEntity<?> getTranslations(
             @PathVariable String language,
-            @RequestHeader("X-API-Key") String apiKey) {
+            @RequestHeader("X-API-Key") String apiKey,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         
         TranslationApp app = appService.getByApiKey(apiKey)
             .orElseThrow(() -> new RuntimeException("Invalid API key"));
@@ -37,18 +41,15 @@ public class TranslationPublicApiController {
             return ResponseEntity.badRequest().body("Language not supported by this app");
         }
         
-        Map<String, String> translations = translationService.getTranslationsAsMap(app.getId(), language);
-        
-        return ResponseEntity.ok(Map.of(
-            "language", language,
-            "translations", translations,
-            "count", translations.size()
-        ));
+        return bundleResponse(translationBundleService.getLanguageBundle(app, language), ifNoneMatch, acceptEncoding);
     }
     
     @GetMapping("/all")
     @Operation(summary = "Get all translations for all languages")
-    public ResponseEntity<?> getAllTranslations(@RequestHeader("X-API-Key") String apiKey) {
+    public ResponseEntity<?> getAllTranslations(
+            @RequestHeader("X-API-Key") String apiKey,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         TranslationApp app = appService.getByApiKey(apiKey)
             .orElseThrow(() -> new RuntimeException("Invalid API key"));
         
@@ -56,18 +57,50 @@ public class TranslationPublicApiController {
             return ResponseEntity.status(403).body("App is inactive");
         }
         
-        Map<String, Map<String, String>> allTranslations = new java.util.HashMap<>();
+        return bundleResponse(translationBundleService.getAllLanguagesBundle(app), ifNoneMatch, acceptEncoding);
+    }
+    
+    /**
+     * Serve a pre-serialized bundle: 304 when the client already has it, gzip when accepted
+     */
+    private ResponseEntity<byte[]> bundleResponse(TranslationBundleService.TranslationBundle bundle,
+                                                  String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        String etag = gzip ? bundle.gzipEtag() : bundle.etag();
         
-        for (String language : app.getSupportedLanguagesSet()) {
-            Map<String, String> translations = translationService.getTranslationsAsMap(app.getId(), language);
-            allTranslations.put(language, translations);
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
         }
         
-        return ResponseEntity.ok(Map.of(
-            "app", app.getName(),
-            "defaultLanguage", app.getDefaultLanguage(),
-            "supportedLanguages", app.getSupportedLanguagesSet(),
-            "translations", allTranslations
-        ));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(bundle.gzip());
+        }
+        return response.body(bundle.json());
+    }
+    
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            // Weak comparison, as If-None-Match allows
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
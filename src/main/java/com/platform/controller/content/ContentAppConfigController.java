@@ -1,8 +1,13 @@
 package com.platform.controller.content;
 
+import com.platform.dto.ContentChangesResponse;
 import com.platform.dto.AppConfigContentResponse;
 import com.platform.entity.AppConfig;
+import com.platform.enums.ContentChangeType;
 import com.platform.repository.AppConfigRepository;
+import com.platform.service.ContentReadModelService;
+import com.platform.service.ContentStreamService;
+import com.platform.service.ContentSyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,10 +17,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/content/app-config")
@@ -25,6 +34,12 @@ import java.util.List;
 public class ContentAppConfigController {
 
     private final AppConfigRepository appConfigRepository;
+    private final ContentStreamService contentStreamService;
+    private final ContentSyncService contentSyncService;
+    private final ContentReadModelService contentReadModelService;
+
+    // Order of the unfiltered get-all endpoint with default parameters, as held by the read model
+    private static final Sort DEFAULT_SORT = Sort.by("configKey").and(Sort.by("id"));
 
     @GetMapping("/page")
     @Operation(
@@ -58,32 +73,60 @@ public class ContentAppConfigController {
     @GetMapping
     @Operation(
         summary = "Get all app configurations",
-        description = "Retrieve all app configurations for the authenticated app. Supports filtering and sorting but returns complete list without pagination."
+        description = "Retrieve all app configurations for the authenticated app. Supports filtering and sorting but returns complete list without pagination, streamed as a JSON array or NDJSON."
     )
-    public ResponseEntity<List<AppConfigContentResponse>> getAllAppConfigs(
+    public ResponseEntity<StreamingResponseBody> getAllAppConfigs(
             @Parameter(description = "Filter by group name") @RequestParam(required = false) String group,
             @Parameter(description = "Filter by data type") @RequestParam(required = false) String dataType,
             @Parameter(description = "Filter by required status") @RequestParam(required = false) Boolean required,
             @Parameter(description = "Search in config key or description") @RequestParam(required = false) String search,
             @Parameter(description = "Sort field (configKey, group, dataType, createdAt)") @RequestParam(defaultValue = "configKey") String sortBy,
-            @Parameter(description = "Sort direction (asc, desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction (asc, desc)") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Response format: json (array) or ndjson (one object per line)") @RequestParam(defaultValue = "json") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
-        // Create sort - map field names to database column names for native queries
-        String dbSortField = mapSortFieldToColumn(sortBy);
-        Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, dbSortField);
+        // The streaming query is JPQL, so sort on entity properties; id keeps the order stable for equal values
+        String entitySortField = mapSortFieldToEntityProperty(sortBy);
+        Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, entitySortField)
+            .and(Sort.by("id"));
 
         Long appId = getCurrentAppId();
         
-        // Use a large page size to get all results
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE, sort);
-        Page<AppConfig> configs = appConfigRepository.findAllWithFiltersForContent(
-            appId, group, dataType, required, search, pageable);
+        boolean ndjson = ContentStreamService.isNdjson(format, accept);
+
+        // Served from the in-memory read model when enabled
+        if (contentReadModelService.isEnabled() && group == null && dataType == null && required == null
+                && search == null && "configKey".equals(entitySortField) && sortDir.equalsIgnoreCase("asc")) {
+            return ResponseEntity.ok()
+                .contentType(ndjson ? ContentStreamService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(contentStreamService.write(readModel(appId).items(), ndjson));
+        }
+
+        // Streamed from the database without a count query or materializing the full list
+        StreamingResponseBody body = contentStreamService.stream(
+            () -> appConfigRepository.streamAllWithFiltersForContent(appId, group, dataType, required, search, sort),
+            this::mapToContentResponse,
+            ndjson);
+        return ResponseEntity.ok()
+            .contentType(ndjson ? ContentStreamService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+            .body(body);
+    }
 
-        List<AppConfigContentResponse> response = configs.getContent().stream()
-            .map(this::mapToContentResponse)
-            .toList();
-            
-        return ResponseEntity.ok(response);
+    @GetMapping("/changes")
+    @Operation(
+        summary = "Get configurations changed since a cursor",
+        description = "Delta sync: returns the configurations created or updated and the ones deleted after the given cursor, plus the new cursor. "
+            + "When reset is true the client must reload everything with the get-all endpoint and keep the returned cursor."
+    )
+    public ResponseEntity<ContentChangesResponse<AppConfigContentResponse>> getChanges(
+            @Parameter(description = "Cursor returned by the previous sync; omit for the first sync") @RequestParam(required = false) Long since) {
+
+        Long appId = getCurrentAppId();
+        
+        return ResponseEntity.ok(contentSyncService.getChanges(appId, ContentChangeType.APP_CONFIG, since,
+            cursor -> appConfigRepository.findByApp_IdAndChangeSequenceGreaterThanOrderByChangeSequence(appId, cursor).stream()
+                .map(this::mapToContentResponse)
+                .toList()));
     }
 
     @GetMapping("/{configKey}")
@@ -96,6 +139,14 @@ public class ContentAppConfigController {
 
         Long appId = getCurrentAppId();
         
+        if (contentReadModelService.isEnabled()) {
+            AppConfigContentResponse config = readModel(appId).byKey().get(configKey);
+            if (config == null) {
+                throw new RuntimeException("App configuration not found");
+            }
+            return ResponseEntity.ok(config);
+        }
+        
         AppConfig config = appConfigRepository.findByConfigKeyAndApp_Id(configKey, appId)
             .orElseThrow(() -> new RuntimeException("App configuration not found"));
 
@@ -126,6 +177,17 @@ public class ContentAppConfigController {
         return ResponseEntity.ok(dataTypes);
     }
 
+    private ContentReadModelService.Segment<AppConfigContentResponse> readModel(Long appId) {
+        return contentReadModelService.getSegment(appId, ContentChangeType.APP_CONFIG, () -> {
+            try (Stream<AppConfig> configs = appConfigRepository.streamAllWithFiltersForContent(
+                    appId, null, null, null, null, DEFAULT_SORT)) {
+                return configs.map(this::mapToContentResponse).toList();
+            }
+        }, AppConfigContentResponse::getConfigKey, config -> ContentReadModelService.sizeOf(
+            config.getConfigKey(), config.getConfigValue(), config.getDescription(), config.getDataType(),
+            config.getDefaultValue(), config.getValidationRule(), config.getGroupName(), config.getGroupDescription()));
+    }
+
     private AppConfigContentResponse mapToContentResponse(AppConfig config) {
         return AppConfigContentResponse.builder()
             .id(config.getId())
@@ -161,6 +223,15 @@ public class ContentAppConfigController {
         };
     }
 
+    private String mapSortFieldToEntityProperty(String sortBy) {
+        // Map API field names to entity property names for JPQL queries
+        return switch (sortBy) {
+            case "dataType" -> "configType";
+            case "validationRule" -> "validationRules";
+            default -> sortBy; // API names match the entity for the remaining fields
+        };
+    }
+
     private Long getCurrentAppId() {
         return (Long) org.springframework.web.context.request.RequestContextHolder
             .currentRequestAttributes()
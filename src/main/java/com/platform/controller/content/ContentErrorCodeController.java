@@ -1,10 +1,15 @@
 package com.platform.controller.content;
 
+import com.platform.dto.ContentChangesResponse;
 import com.platform.dto.ErrorCodeContentResponse;
 import com.platform.entity.ErrorCode;
 import com.platform.entity.ErrorCodeTranslation;
+import com.platform.enums.ContentChangeType;
 import com.platform.repository.ErrorCodeRepository;
 import com.platform.repository.ErrorCodeTranslationRepository;
+import com.platform.service.ContentReadModelService;
+import com.platform.service.ContentStreamService;
+import com.platform.service.ContentSyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,12 +19,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/content/error-codes")
@@ -30,6 +40,14 @@ public class ContentErrorCodeController {
 
     private final ErrorCodeRepository errorCodeRepository;
     private final ErrorCodeTranslationRepository translationRepository;
+    private final ContentStreamService contentStreamService;
+    private final ContentSyncService contentSyncService;
+    private final ContentReadModelService contentReadModelService;
+
+    // Order of the unfiltered get-all endpoint with default parameters, as held by the read model
+    private static final Sort DEFAULT_SORT = Sort.by("errorCode").and(Sort.by("id"));
+    // Error codes whose translations are loaded with one IN query when building the read model
+    private static final int READ_MODEL_BATCH_SIZE = 1000;
 
     @GetMapping("/page")
     @Operation(
@@ -68,34 +86,59 @@ public class ContentErrorCodeController {
     @GetMapping
     @Operation(
         summary = "Get all error codes for app",
-        description = "Retrieve all error codes with all translations for the authenticated app. Supports filtering and sorting but returns complete list without pagination."
+        description = "Retrieve all error codes with all translations for the authenticated app. Supports filtering and sorting but returns complete list without pagination, streamed as a JSON array or NDJSON."
     )
-    public ResponseEntity<List<ErrorCodeContentResponse>> getAllErrorCodes(
+    public ResponseEntity<StreamingResponseBody> getAllErrorCodes(
             @Parameter(description = "Filter by category ID") @RequestParam(required = false) Long categoryId,
             @Parameter(description = "Filter by severity (INFO, WARNING, ERROR, CRITICAL)") @RequestParam(required = false) String severity,
             @Parameter(description = "Filter by status (ACTIVE, DEPRECATED, REMOVED)") @RequestParam(required = false) String status,
             @Parameter(description = "Filter by module name") @RequestParam(required = false) String module,
             @Parameter(description = "Search in error code or message") @RequestParam(required = false) String search,
             @Parameter(description = "Sort field (errorCode, severity, status, createdAt)") @RequestParam(defaultValue = "errorCode") String sortBy,
-            @Parameter(description = "Sort direction (asc, desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction (asc, desc)") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Response format: json (array) or ndjson (one object per line)") @RequestParam(defaultValue = "json") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
-        // Create sort - map field names to database column names for native queries
-        String dbSortField = mapSortFieldToColumn(sortBy);
-        Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, dbSortField);
+        // The streaming query is JPQL, so sort on entity properties; id keeps the order stable for equal values
+        Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy)
+            .and(Sort.by("id"));
         
         Long appId = getCurrentAppId();
         
-        // Use a large page size to get all results
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE, sort);
-        Page<ErrorCode> errorCodes = errorCodeRepository.findAllWithFiltersForContent(
-            appId, categoryId, severity, status, module, search, pageable);
+        boolean ndjson = ContentStreamService.isNdjson(format, accept);
 
-        // Convert to response DTOs with translations
-        List<ErrorCodeContentResponse> response = errorCodes.getContent().stream()
-            .map(this::mapToContentResponse)
-            .toList();
+        // Served from the in-memory read model when enabled
+        if (contentReadModelService.isEnabled() && categoryId == null && severity == null && status == null
+                && module == null && search == null && "errorCode".equals(sortBy) && sortDir.equalsIgnoreCase("asc")) {
+            return ResponseEntity.ok()
+                .contentType(ndjson ? ContentStreamService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(contentStreamService.write(readModel(appId).items(), ndjson));
+        }
 
-        return ResponseEntity.ok(response);
+        // Streamed from the database without a count query; translations are loaded per batch
+        StreamingResponseBody body = contentStreamService.streamBatches(
+            () -> errorCodeRepository.streamAllWithFiltersForContent(appId, categoryId, severity, status, module, search, sort),
+            this::mapToContentResponses,
+            ndjson);
+        return ResponseEntity.ok()
+            .contentType(ndjson ? ContentStreamService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+        summary = "Get error codes changed since a cursor",
+        description = "Delta sync: returns the error codes created or updated and the ones deleted after the given cursor, plus the new cursor. "
+            + "When reset is true the client must reload everything with the get-all endpoint and keep the returned cursor."
+    )
+    public ResponseEntity<ContentChangesResponse<ErrorCodeContentResponse>> getChanges(
+            @Parameter(description = "Cursor returned by the previous sync; omit for the first sync") @RequestParam(required = false) Long since) {
+
+        Long appId = getCurrentAppId();
+        
+        return ResponseEntity.ok(contentSyncService.getChanges(appId, ContentChangeType.ERROR_CODE, since,
+            cursor -> mapToContentResponses(
+                errorCodeRepository.findByApp_IdAndChangeSequenceGreaterThanOrderByChangeSequence(appId, cursor))));
     }
 
     @GetMapping("/{errorCode}")
@@ -108,6 +151,14 @@ public class ContentErrorCodeController {
 
         Long appId = getCurrentAppId();
         
+        if (contentReadModelService.isEnabled()) {
+            ErrorCodeContentResponse error = readModel(appId).byKey().get(errorCode);
+            if (error == null) {
+                throw new RuntimeException("Error code not found");
+            }
+            return ResponseEntity.ok(error);
+        }
+        
         ErrorCode error = errorCodeRepository.findByErrorCodeAndAppId(errorCode, appId)
             .orElseThrow(() -> new RuntimeException("Error code not found"));
 
@@ -138,10 +189,45 @@ public class ContentErrorCodeController {
         return ResponseEntity.ok(modules);
     }
 
+    private ContentReadModelService.Segment<ErrorCodeContentResponse> readModel(Long appId) {
+        return contentReadModelService.getSegment(appId, ContentChangeType.ERROR_CODE, () -> {
+            List<ErrorCode> errorCodes;
+            try (Stream<ErrorCode> rows = errorCodeRepository.streamAllWithFiltersForContent(
+                    appId, null, null, null, null, null, DEFAULT_SORT)) {
+                errorCodes = rows.toList();
+            }
+            List<ErrorCodeContentResponse> responses = new ArrayList<>(errorCodes.size());
+            for (int from = 0; from < errorCodes.size(); from += READ_MODEL_BATCH_SIZE) {
+                responses.addAll(mapToContentResponses(
+                    errorCodes.subList(from, Math.min(errorCodes.size(), from + READ_MODEL_BATCH_SIZE))));
+            }
+            return responses;
+        }, ErrorCodeContentResponse::getErrorCode, error -> ContentReadModelService.sizeOf(
+                error.getErrorCode(), error.getDefaultMessage(), error.getTechnicalDetails(), error.getResolutionSteps(),
+                error.getDocumentationUrl(), error.getModuleName(), error.getCategoryName())
+            + error.getTranslations().entrySet().stream()
+                .mapToLong(entry -> ContentReadModelService.sizeOf(entry.getKey(), entry.getValue().getMessage(),
+                    entry.getValue().getTechnicalDetails(), entry.getValue().getResolutionSteps()))
+                .sum());
+    }
+
+    private List<ErrorCodeContentResponse> mapToContentResponses(List<ErrorCode> errorCodes) {
+        // One query for the translations of the whole batch
+        Map<Long, List<ErrorCodeTranslation>> translations = translationRepository.findByErrorCodeIdIn(
+                errorCodes.stream().map(ErrorCode::getId).toList()).stream()
+            .collect(Collectors.groupingBy(t -> t.getErrorCode().getId()));
+
+        return errorCodes.stream()
+            .map(errorCode -> mapToContentResponse(errorCode, translations.getOrDefault(errorCode.getId(), List.of())))
+            .toList();
+    }
+
     private ErrorCodeContentResponse mapToContentResponse(ErrorCode errorCode) {
         // Get all translations for this error code
-        List<ErrorCodeTranslation> translations = translationRepository.findByErrorCodeId(errorCode.getId());
-        
+        return mapToContentResponse(errorCode, translationRepository.findByErrorCodeId(errorCode.getId()));
+    }
+
+    private ErrorCodeContentResponse mapToContentResponse(ErrorCode errorCode, List<ErrorCodeTranslation> translations) {
         Map<String, ErrorCodeContentResponse.TranslationData> translationMap = translations.stream()
             .collect(Collectors.toMap(
                 ErrorCodeTranslation::getLanguageCode,
@@ -1,8 +1,13 @@
 package com.platform.controller.content;
 
+import com.platform.dto.ContentChangesResponse;
 import com.platform.dto.LovContentResponse;
 import com.platform.entity.Lov;
+import com.platform.enums.ContentChangeType;
 import com.platform.repository.LovRepository;
+import com.platform.service.ContentReadModelService;
+import com.platform.service.ContentStreamService;
+import com.platform.service.ContentSyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,10 +17,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 
 @RestController
@@ -26,6 +36,12 @@ import java.util.List;
 public class ContentLovController {
 
     private final LovRepository lovRepository;
+    private final ContentStreamService contentStreamService;
+    private final ContentSyncService contentSyncService;
+    private final ContentReadModelService contentReadModelService;
+
+    // Order of the unfiltered get-all endpoint with default parameters, as held by the read model
+    private static final Sort DEFAULT_SORT = Sort.by("lovCode").and(Sort.by("id"));
 
     @GetMapping("/page")
     @Operation(
@@ -66,41 +82,67 @@ public class ContentLovController {
     @GetMapping
     @Operation(
         summary = "Get all LOVs for app",
-        description = "Retrieve all List of Values for the authenticated app. Supports filtering and sorting but returns complete list without pagination."
+        description = "Retrieve all List of Values for the authenticated app. Supports filtering and sorting but returns complete list without pagination, streamed as a JSON array or NDJSON."
     )
-    public ResponseEntity<List<LovContentResponse>> getAllLovs(
+    public ResponseEntity<StreamingResponseBody> getAllLovs(
             @Parameter(description = "Filter by active status") @RequestParam(required = false) Boolean active,
             @Parameter(description = "Search in LOV name or description") @RequestParam(required = false) String search,
             @Parameter(description = "Sort field (lovName, lovCode, lovType, displayOrder, createdAt, updatedAt)") @RequestParam(defaultValue = "lovName") String sortBy,
-            @Parameter(description = "Sort direction (asc, desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction (asc, desc)") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Response format: json (array) or ndjson (one object per line)") @RequestParam(defaultValue = "json") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
-        // Map API field names to entity property names
+        // Map API field names to entity property names; id keeps the order stable for equal values
         String entitySortField = mapSortFieldToEntityProperty(sortBy);
-        Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, entitySortField);
+        Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, entitySortField)
+            .and(Sort.by("id"));
 
         Long appId = getCurrentAppId();
+        boolean ndjson = ContentStreamService.isNdjson(format, accept);
+
+        // Served from the in-memory read model when enabled
+        if (contentReadModelService.isEnabled() && active == null && search == null
+                && "lovCode".equals(entitySortField) && sortDir.equalsIgnoreCase("asc")) {
+            return ResponseEntity.ok()
+                .contentType(ndjson ? ContentStreamService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(contentStreamService.write(readModel(appId).items(), ndjson));
+        }
         
-        // Use a large page size to get all results, then extract content
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE, sort);
-        Page<Lov> lovsPage;
+        // Streamed from the database without a count query or materializing the full list
+        Supplier<Stream<Lov>> query;
         
         if (active != null && search != null) {
-            lovsPage = lovRepository.findByApp_IdAndActiveAndLovCodeContainingIgnoreCase(appId, active, search, pageable);
+            query = () -> lovRepository.streamByApp_IdAndActiveAndLovCodeContainingIgnoreCase(appId, active, search, sort);
         } else if (active != null) {
-            lovsPage = lovRepository.findByApp_IdAndActive(appId, active, pageable);
+            query = () -> lovRepository.streamByApp_IdAndActive(appId, active, sort);
         } else if (search != null) {
-            lovsPage = lovRepository.findByApp_IdAndLovCodeContainingIgnoreCase(appId, search, pageable);
+            query = () -> lovRepository.streamByApp_IdAndLovCodeContainingIgnoreCase(appId, search, sort);
         } else {
-            lovsPage = lovRepository.findByApp_Id(appId, pageable);
+            query = () -> lovRepository.streamByApp_Id(appId, sort);
         }
-        
-        List<Lov> lovs = lovsPage.getContent();
 
-        List<LovContentResponse> response = lovs.stream()
-            .map(this::mapToContentResponse)
-            .toList();
-            
-        return ResponseEntity.ok(response);
+        StreamingResponseBody body = contentStreamService.stream(query, this::mapToContentResponse,
+            ndjson);
+        return ResponseEntity.ok()
+            .contentType(ndjson ? ContentStreamService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+        summary = "Get LOVs changed since a cursor",
+        description = "Delta sync: returns the LOVs created or updated and the ones deleted after the given cursor, plus the new cursor. "
+            + "When reset is true the client must reload everything with the get-all endpoint and keep the returned cursor."
+    )
+    public ResponseEntity<ContentChangesResponse<LovContentResponse>> getChanges(
+            @Parameter(description = "Cursor returned by the previous sync; omit for the first sync") @RequestParam(required = false) Long since) {
+
+        Long appId = getCurrentAppId();
+        
+        return ResponseEntity.ok(contentSyncService.getChanges(appId, ContentChangeType.LOV, since,
+            cursor -> lovRepository.findByApp_IdAndChangeSequenceGreaterThanOrderByChangeSequence(appId, cursor).stream()
+                .map(this::mapToContentResponse)
+                .toList()));
     }
 
     @GetMapping("/{lovCode}")
@@ -113,6 +155,14 @@ public class ContentLovController {
 
         Long appId = getCurrentAppId();
         
+        if (contentReadModelService.isEnabled()) {
+            LovContentResponse lov = readModel(appId).byKey().get(lovCode);
+            if (lov == null) {
+                throw new RuntimeException("LOV not found");
+            }
+            return ResponseEntity.ok(lov);
+        }
+        
         Lov lov = lovRepository.findByLovCodeAndApp_Id(lovCode, appId)
             .orElseThrow(() -> new RuntimeException("LOV not found"));
 
@@ -131,6 +181,17 @@ public class ContentLovController {
         return ResponseEntity.ok(types);
     }
 
+    private ContentReadModelService.Segment<LovContentResponse> readModel(Long appId) {
+        return contentReadModelService.getSegment(appId, ContentChangeType.LOV, () -> {
+            try (Stream<Lov> lovs = lovRepository.streamByApp_Id(appId, DEFAULT_SORT)) {
+                return lovs.map(this::mapToContentResponse).toList();
+            }
+        }, LovContentResponse::getLovName, lov -> ContentReadModelService.sizeOf(lov.getLovName(), lov.getDescription())
+            + lov.getValues().stream()
+                .mapToLong(value -> ContentReadModelService.sizeOf(value.getValue(), value.getDisplayValue(), value.getDescription()))
+                .sum());
+    }
+
     private LovContentResponse mapToContentResponse(Lov lov) {
         // Create a single value data from the LOV entity
         LovContentResponse.LovValueData valueData = LovContentResponse.LovValueData.builder()
@@ -2,8 +2,11 @@ package com.platform.controller.content;
 
 import com.platform.dto.TemplateContentResponse;
 import com.platform.entity.Template;
+import com.platform.enums.ContentChangeType;
 import com.platform.enums.TemplateType;
 import com.platform.repository.TemplateRepository;
+import com.platform.service.ContentReadModelService;
+import com.platform.service.ContentStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -13,10 +16,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/content/templates")
@@ -26,6 +34,11 @@ import java.util.List;
 public class ContentTemplateController {
 
     private final TemplateRepository templateRepository;
+    private final ContentStreamService contentStreamService;
+    private final ContentReadModelService contentReadModelService;
+
+    // Order of the unfiltered get-all endpoint with default parameters, as held by the read model
+    private static final Sort DEFAULT_SORT = Sort.by("name").and(Sort.by("id"));
 
     @GetMapping("/page")
     @Operation(
@@ -67,40 +80,51 @@ public class ContentTemplateController {
     @GetMapping
     @Operation(
         summary = "Get all templates for app",
-        description = "Retrieve all templates for the authenticated app. Supports filtering and sorting but returns complete list without pagination."
+        description = "Retrieve all templates for the authenticated app. Supports filtering and sorting but returns complete list without pagination, streamed as a JSON array or NDJSON."
     )
-    public ResponseEntity<List<TemplateContentResponse>> getAllTemplates(
+    public ResponseEntity<StreamingResponseBody> getAllTemplates(
             @Parameter(description = "Filter by template type (EMAIL, PDF, HTML, WORD)") @RequestParam(required = false) String type,
             @Parameter(description = "Search in template name") @RequestParam(required = false) String search,
             @Parameter(description = "Sort field (name, type, createdAt, updatedAt)") @RequestParam(defaultValue = "name") String sortBy,
-            @Parameter(description = "Sort direction (asc, desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction (asc, desc)") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Response format: json (array) or ndjson (one object per line)") @RequestParam(defaultValue = "json") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
-        // Create sort
-        Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
+        // Create sort; id keeps the order stable for equal values
+        Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy)
+            .and(Sort.by("id"));
 
         Long appId = getCurrentAppId();
+        boolean ndjson = ContentStreamService.isNdjson(format, accept);
+
+        // Served from the in-memory read model when enabled
+        if (contentReadModelService.isEnabled() && type == null && search == null
+                && "name".equals(sortBy) && sortDir.equalsIgnoreCase("asc")) {
+            return ResponseEntity.ok()
+                .contentType(ndjson ? ContentStreamService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(contentStreamService.write(readModel(appId).items(), ndjson));
+        }
         
-        // Use a large page size to get all results, then extract content
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE, sort);
-        Page<Template> templatesPage;
+        // Streamed from the database without a count query or materializing the full list
+        Supplier<Stream<Template>> query;
         
         if (type != null && search != null) {
             TemplateType templateType = TemplateType.valueOf(type.toUpperCase());
-            templatesPage = templateRepository.findByApp_IdAndTypeAndNameContainingIgnoreCase(appId, templateType, search, pageable);
+            query = () -> templateRepository.streamByApp_IdAndTypeAndNameContainingIgnoreCase(appId, templateType, search, sort);
         } else if (type != null) {
             TemplateType templateType = TemplateType.valueOf(type.toUpperCase());
-            templatesPage = templateRepository.findByApp_IdAndType(appId, templateType, pageable);
+            query = () -> templateRepository.streamByApp_IdAndType(appId, templateType, sort);
         } else if (search != null) {
-            templatesPage = templateRepository.findByApp_IdAndNameContainingIgnoreCase(appId, search, pageable);
+            query = () -> templateRepository.streamByApp_IdAndNameContainingIgnoreCase(appId, search, sort);
         } else {
-            templatesPage = templateRepository.findByApp_Id(appId, pageable);
+            query = () -> templateRepository.streamByApp_Id(appId, sort);
         }
 
-        List<TemplateContentResponse> response = templatesPage.getContent().stream()
-            .map(this::mapToContentResponse)
-            .toList();
-            
-        return ResponseEntity.ok(response);
+        StreamingResponseBody body = contentStreamService.stream(query, this::mapToContentResponse,
+            ndjson);
+        return ResponseEntity.ok()
+            .contentType(ndjson ? ContentStreamService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+            .body(body);
     }
 
     @GetMapping("/{id}")
@@ -113,6 +137,14 @@ public class ContentTemplateController {
 
         Long appId = getCurrentAppId();
         
+        if (contentReadModelService.isEnabled()) {
+            TemplateContentResponse template = readModel(appId).byKey().get(String.valueOf(id));
+            if (template == null) {
+                throw new RuntimeException("Template not found");
+            }
+            return ResponseEntity.ok(template);
+        }
+        
         Template template = templateRepository.findByIdAndApp_Id(id, appId)
             .orElseThrow(() -> new RuntimeException("Template not found"));
 
@@ -128,6 +160,16 @@ public class ContentTemplateController {
         return ResponseEntity.ok(List.of(TemplateType.values()));
     }
 
+    private ContentReadModelService.Segment<TemplateContentResponse> readModel(Long appId) {
+        return contentReadModelService.getSegment(appId, ContentChangeType.TEMPLATE, () -> {
+            try (Stream<Template> templates = templateRepository.streamByApp_Id(appId, DEFAULT_SORT)) {
+                return templates.map(this::mapToContentResponse).toList();
+            }
+        }, template -> String.valueOf(template.getId()), template -> ContentReadModelService.sizeOf(
+            template.getName(), template.getHtmlContent(), template.getCssStyles(), template.getCustomFonts(),
+            template.getParameters(), template.getSubject()));
+    }
+
     private TemplateContentResponse mapToContentResponse(Template template) {
         return TemplateContentResponse.builder()
             .id(template.getId())
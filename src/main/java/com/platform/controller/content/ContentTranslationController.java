@@ -1,10 +1,14 @@
 package com.platform.controller.content;
 
+import com.platform.dto.ContentChangesResponse;
 import com.platform.dto.TranslationContentResponse;
 import com.platform.entity.TranslationKey;
-import com.platform.entity.Translation;
+import com.platform.enums.ContentChangeType;
 import com.platform.repository.TranslationKeyRepository;
 import com.platform.repository.TranslationRepository;
+import com.platform.service.ContentReadModelService;
+import com.platform.service.ContentStreamService;
+import com.platform.service.ContentSyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,11 +18,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 @RestController
@@ -30,6 +41,15 @@ public class ContentTranslationController {
 
     private final TranslationKeyRepository translationKeyRepository;
     private final TranslationRepository translationRepository;
+    private final ContentStreamService contentStreamService;
+    private final ContentSyncService contentSyncService;
+    private final ContentReadModelService contentReadModelService;
+
+    // Larger key sets read the app's translations in one join instead of a long IN list
+    private static final int MAX_KEYS_PER_IN_QUERY = 1000;
+
+    // Order of the unfiltered get-all endpoint with default parameters, as held by the read model
+    private static final Sort DEFAULT_SORT = Sort.by("keyName").and(Sort.by("id"));
 
     @GetMapping("/page")
     @Operation(
@@ -61,44 +81,80 @@ public class ContentTranslationController {
             translationKeys = translationKeyRepository.findByApp_Id(appId, pageable);
         }
 
-        Page<TranslationContentResponse> response = translationKeys.map(this::mapToContentResponse);
+        Map<Long, Map<String, String>> values = loadTranslationValues(appId, translationKeys.getContent());
+        Page<TranslationContentResponse> response = translationKeys.map(key -> mapToContentResponse(key, values));
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
     @Operation(
         summary = "Get all translations for app",
-        description = "Retrieve all translation keys with all language values for the authenticated app. Supports filtering and sorting but returns complete list without pagination."
+        description = "Retrieve all translation keys with all language values for the authenticated app. Supports filtering and sorting but returns complete list without pagination, streamed as a JSON array or NDJSON."
     )
-    public ResponseEntity<List<TranslationContentResponse>> getAllTranslations(
+    public ResponseEntity<StreamingResponseBody> getAllTranslations(
             @Parameter(description = "Filter by category") @RequestParam(required = false) String category,
             @Parameter(description = "Search in key name or default value") @RequestParam(required = false) String search,
             @Parameter(description = "Sort field (keyName, category, createdAt, updatedAt)") @RequestParam(defaultValue = "keyName") String sortBy,
-            @Parameter(description = "Sort direction (asc, desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction (asc, desc)") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Response format: json (array) or ndjson (one object per line)") @RequestParam(defaultValue = "json") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
-        Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
+        // id keeps the order stable for equal values
+        Sort sort = Sort.by(sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy)
+            .and(Sort.by("id"));
 
         Long appId = getCurrentAppId();
+        boolean ndjson = ContentStreamService.isNdjson(format, accept);
+
+        // Served from the in-memory read model when enabled
+        if (contentReadModelService.isEnabled() && category == null && search == null
+                && "keyName".equals(sortBy) && sortDir.equalsIgnoreCase("asc")) {
+            return ResponseEntity.ok()
+                .contentType(ndjson ? ContentStreamService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(contentStreamService.write(readModel(appId).items(), ndjson));
+        }
         
-        // Use a large page size to get all results, then extract content
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE, sort);
-        Page<TranslationKey> translationKeysPage;
+        // Streamed from the database without a count query or materializing the full list
+        Supplier<Stream<TranslationKey>> query;
         
         if (category != null && search != null) {
-            translationKeysPage = translationKeyRepository.findByApp_IdAndContextContainingIgnoreCaseAndKeyNameContainingIgnoreCase(appId, category, search, pageable);
+            query = () -> translationKeyRepository.streamByApp_IdAndContextContainingIgnoreCaseAndKeyNameContainingIgnoreCase(appId, category, search, sort);
         } else if (category != null) {
-            translationKeysPage = translationKeyRepository.findByApp_IdAndContextContainingIgnoreCase(appId, category, pageable);
+            query = () -> translationKeyRepository.streamByApp_IdAndContextContainingIgnoreCase(appId, category, sort);
         } else if (search != null) {
-            translationKeysPage = translationKeyRepository.findByApp_IdAndKeyNameContainingIgnoreCase(appId, search, pageable);
+            query = () -> translationKeyRepository.streamByApp_IdAndKeyNameContainingIgnoreCase(appId, search, sort);
         } else {
-            translationKeysPage = translationKeyRepository.findByApp_Id(appId, pageable);
+            query = () -> translationKeyRepository.streamByApp_Id(appId, sort);
         }
 
-        List<TranslationContentResponse> response = translationKeysPage.getContent().stream()
-            .map(this::mapToContentResponse)
-            .toList();
-            
-        return ResponseEntity.ok(response);
+        // Language values are loaded per streamed batch of keys
+        StreamingResponseBody body = contentStreamService.streamBatches(query, keys -> {
+            Map<Long, Map<String, String>> values = loadTranslationValues(appId, keys);
+            return keys.stream().map(key -> mapToContentResponse(key, values)).toList();
+        }, ndjson);
+        return ResponseEntity.ok()
+            .contentType(ndjson ? ContentStreamService.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+        summary = "Get translation keys changed since a cursor",
+        description = "Delta sync: returns the translation keys created or updated and the ones deleted after the given cursor, plus the new cursor. "
+            + "When reset is true the client must reload everything with the get-all endpoint and keep the returned cursor."
+    )
+    public ResponseEntity<ContentChangesResponse<TranslationContentResponse>> getChanges(
+            @Parameter(description = "Cursor returned by the previous sync; omit for the first sync") @RequestParam(required = false) Long since) {
+
+        Long appId = getCurrentAppId();
+        
+        // Changed keys come back whole, with all their languages, so clients can replace their copy
+        return ResponseEntity.ok(contentSyncService.getChanges(appId, ContentChangeType.TRANSLATION, since,
+            cursor -> {
+                List<TranslationKey> keys = translationKeyRepository.findChangedByAppId(appId, cursor);
+                Map<Long, Map<String, String>> values = loadTranslationValues(appId, keys);
+                return keys.stream().map(key -> mapToContentResponse(key, values)).toList();
+            }));
     }
 
     @GetMapping("/{keyName}")
@@ -111,10 +167,19 @@ public class ContentTranslationController {
 
         Long appId = getCurrentAppId();
         
+        if (contentReadModelService.isEnabled()) {
+            TranslationContentResponse translation = readModel(appId).byKey().get(keyName);
+            if (translation == null) {
+                throw new RuntimeException("Translation key not found");
+            }
+            return ResponseEntity.ok(translation);
+        }
+        
         TranslationKey translationKey = translationKeyRepository.findByKeyNameAndApp_Id(keyName, appId)
             .orElseThrow(() -> new RuntimeException("Translation key not found"));
 
-        return ResponseEntity.ok(mapToContentResponse(translationKey));
+        return ResponseEntity.ok(mapToContentResponse(translationKey,
+            loadTranslationValues(appId, List.of(translationKey))));
     }
 
     @GetMapping("/categories")
@@ -141,15 +206,50 @@ public class ContentTranslationController {
         return ResponseEntity.ok(languages);
     }
 
-    private TranslationContentResponse mapToContentResponse(TranslationKey translationKey) {
-        // Get all translation values for this key
-        List<Translation> values = translationRepository.findByKeyId(translationKey.getId());
-        
-        Map<String, String> translationMap = values.stream()
-            .collect(Collectors.toMap(
-                Translation::getLanguage,
-                Translation::getValue
-            ));
+    private ContentReadModelService.Segment<TranslationContentResponse> readModel(Long appId) {
+        return contentReadModelService.getSegment(appId, ContentChangeType.TRANSLATION, () -> {
+            List<TranslationKey> keys;
+            try (Stream<TranslationKey> rows = translationKeyRepository.streamByApp_Id(appId, DEFAULT_SORT)) {
+                keys = rows.toList();
+            }
+            Map<Long, Map<String, String>> values = loadTranslationValues(appId, keys);
+            return keys.stream().map(key -> mapToContentResponse(key, values)).toList();
+        }, TranslationContentResponse::getKeyName, translation -> ContentReadModelService.sizeOf(
+                translation.getKeyName(), translation.getDescription(), translation.getCategory())
+            + translation.getTranslations().entrySet().stream()
+                .mapToLong(entry -> ContentReadModelService.sizeOf(entry.getKey(), entry.getValue()))
+                .sum());
+    }
+
+    /**
+     * Load the language values of the given keys, grouped by key id.
+     *
+     * Up to {@link #MAX_KEYS_PER_IN_QUERY} keys are fetched with one IN query; beyond that the
+     * translations of the whole app are read with a single join on the app (one index range scan
+     * instead of an oversized IN list) and filtered to the requested keys in memory.
+     */
+    private Map<Long, Map<String, String>> loadTranslationValues(Long appId, List<TranslationKey> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> keyIds = keys.stream().map(TranslationKey::getId).collect(Collectors.toSet());
+        List<TranslationRepository.KeyLanguageValue> rows = keyIds.size() <= MAX_KEYS_PER_IN_QUERY
+            ? translationRepository.findLanguageValuesByKeyIds(keyIds)
+            : translationRepository.findLanguageValuesByAppId(appId);
+
+        Map<Long, Map<String, String>> values = new HashMap<>(keyIds.size() * 2);
+        for (TranslationRepository.KeyLanguageValue row : rows) {
+            if (keyIds.contains(row.getKeyId())) {
+                values.computeIfAbsent(row.getKeyId(), id -> new HashMap<>())
+                    .putIfAbsent(row.getLanguage(), row.getValue());
+            }
+        }
+        return values;
+    }
+
+    private TranslationContentResponse mapToContentResponse(TranslationKey translationKey,
+                                                            Map<Long, Map<String, String>> values) {
+        Map<String, String> translationMap = values.getOrDefault(translationKey.getId(), Map.of());
 
         return TranslationContentResponse.builder()
             .id(translationKey.getId())
@@ -0,0 +1,36 @@
+package com.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Content created, updated or deleted after a delta sync cursor.
+ *
+ * Pass {@code cursor} as {@code since} on the next call. When {@code reset} is true the client must
+ * reload the full set through the "get all" endpoint and continue from the returned cursor.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentChangesResponse<T> {
+    private long cursor;
+    private boolean reset;
+    private List<T> changed;
+    private List<Deleted> deleted;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Deleted {
+        private Long id;
+        private String key;
+        private String language; // Translations only; null when the whole key was deleted
+        private long sequence;
+    }
+}
@@ -1,18 +1,15 @@
 package com.platform.dto;
 
 import com.platform.entity.ErrorCode;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Singular;
+import lombok.Value;
 
 import java.time.LocalDateTime;
 import java.util.Map;
 
-@Data
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
 public class ErrorCodeContentResponse {
     private Long id;
     private String errorCode;
@@ -28,14 +25,13 @@ public class ErrorCodeContentResponse {
     private String moduleName;
     private Long categoryId;
     private String categoryName;
+    @Singular
     private Map<String, TranslationData> translations;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-    @Data
+    @Value
     @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
     public static class TranslationData {
         private String message;
         private String technicalDetails;
@@ -1,30 +1,26 @@
 package com.platform.dto;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Singular;
+import lombok.Value;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-@Data
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
 public class LovContentResponse {
     private Long id;
     private String lovName;
     private String description;
     private Boolean isActive;
+    @Singular
     private List<LovValueData> values;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
-    @Data
+    @Value
     @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
     public static class LovValueData {
         private Long id;
         private String value;
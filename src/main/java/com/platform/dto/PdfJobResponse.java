@@ -0,0 +1,27 @@
+package com.platform.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class PdfJobResponse {
+    private String jobId;
+    private Long templateId;
+    private String status;
+    private String format;
+    private String engine;
+    private String pageRange;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private Long queueWaitMs;
+    private Long renderTimeMs;
+    private String fileName;
+    private Long fileSize;
+    private Boolean cacheHit;
+    private String resultUrl;
+    private String error;
+}
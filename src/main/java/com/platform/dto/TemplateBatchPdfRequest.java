@@ -0,0 +1,15 @@
+package com.platform.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class TemplateBatchPdfRequest {
+    private List<Map<String, Object>> parameterSets;
+    private Integer pageNumber; // null for all pages
+    private String pageRange; // e.g. "2-4", takes precedence over pageNumber
+    private String output; // "merged" (single PDF, default) or "zip" (one PDF per parameter set)
+    private String engine; // null for automatic engine selection
+}
@@ -1,17 +1,13 @@
 package com.platform.dto;
 
 import com.platform.enums.TemplateType;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
 import java.time.LocalDateTime;
 
-@Data
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
 public class TemplateContentResponse {
     private Long id;
     private String name;
@@ -9,5 +9,6 @@ public class TemplatePreviewRequest {
     private Long templateId;
     private Map<String, Object> parameters;
     private Integer pageNumber; // null for all pages
+    private String pageRange; // e.g. "2-4", takes precedence over pageNumber
     private Boolean generateThumbnails;
 }
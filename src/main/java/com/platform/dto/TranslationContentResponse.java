@@ -1,23 +1,21 @@
 package com.platform.dto;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Singular;
+import lombok.Value;
 
 import java.time.LocalDateTime;
 import java.util.Map;
 
-@Data
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
 public class TranslationContentResponse {
     private Long id;
     private String keyName;
     private String defaultValue;
     private String description;
     private String category;
+    @Singular
     private Map<String, String> translations; // languageCode -> translatedValue
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
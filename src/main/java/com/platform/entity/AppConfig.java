@@ -6,7 +6,9 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "app_config")
+@Table(name = "app_config", indexes = {
+    @Index(name = "idx_app_config_app_change_seq", columnList = "app_id, change_sequence")
+})
 @Data
 public class AppConfig {
     
@@ -65,6 +67,10 @@ public class AppConfig {
     @Column(name = "version")
     private Integer version = 1;
     
+    // Content change sequence of the app at the last write, for delta sync
+    @Column(name = "change_sequence")
+    private Long changeSequence;
+    
     @Column(name = "created_by", nullable = false, length = 100)
     private String createdBy;
     
@@ -0,0 +1,30 @@
+package com.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change sequence of an app's content; the content API delta sync cursor.
+ *
+ * Incremented once per writing transaction, under the row lock, so sequence order equals commit order
+ * within an app. Tombstones at or below {@code tombstoneFloor} have been purged.
+ */
+@Entity
+@Table(name = "content_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentSequence {
+    
+    @Id
+    @Column(name = "app_id")
+    private Long appId;
+    
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence = 0L;
+    
+    @Column(name = "tombstone_floor", nullable = false)
+    private Long tombstoneFloor = 0L;
+}
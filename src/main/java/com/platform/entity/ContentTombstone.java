@@ -0,0 +1,52 @@
+package com.platform.entity;
+
+import com.platform.enums.ContentChangeType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deleted content item, reported by delta sync until purged
+ */
+@Entity
+@Table(name = "content_tombstones", indexes = {
+    @Index(name = "idx_content_tombstone_app_seq", columnList = "app_id, content_type, sequence"),
+    @Index(name = "idx_content_tombstone_deleted_at", columnList = "deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentTombstone {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "app_id", nullable = false)
+    private Long appId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_type", nullable = false, length = 20)
+    private ContentChangeType contentType;
+    
+    // Id of the deleted entity (the key id for translations)
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    // Natural key: key name, LOV code, config key or error code
+    @Column(name = "entity_key", length = 500)
+    private String entityKey;
+    
+    // Language of a deleted translation; null when the whole translation key was deleted
+    @Column(name = "language", length = 10)
+    private String language;
+    
+    @Column(name = "sequence", nullable = false)
+    private Long sequence;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -8,7 +8,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "error_code")
+@Table(name = "error_code", indexes = {
+    @Index(name = "idx_error_code_app_change_seq", columnList = "app_id, change_sequence")
+})
 @Data
 public class ErrorCode {
     @Id
@@ -74,6 +76,10 @@ public class ErrorCode {
     @Column(name = "updated_by", length = 100)
     private String updatedBy;
 
+    // Content change sequence of the app at the last write, for delta sync
+    @Column(name = "change_sequence")
+    private Long changeSequence;
+
     @OneToMany(mappedBy = "errorCode", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ErrorCodeTranslation> translations = new ArrayList<>();
 
@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "lov", indexes = { @Index(name = "idx_lov_code", columnList = "lov_code"),
 		@Index(name = "idx_lov_type", columnList = "lov_type"),
-		@Index(name = "idx_corporate_id", columnList = "corporate_id") })
+		@Index(name = "idx_corporate_id", columnList = "corporate_id"),
+		@Index(name = "idx_lov_app_change_seq", columnList = "app_id, change_sequence") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -70,6 +71,10 @@ public class Lov {
 	@Column(name = "version", nullable = false)
 	private Integer version = 1;
 
+	// Content change sequence of the app at the last write, for delta sync
+	@Column(name = "change_sequence")
+	private Long changeSequence;
+
 	@Column(name = "created_by", nullable = false, length = 100)
 	private String createdBy;
 
@@ -0,0 +1,54 @@
+package com.platform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Render count of a template, used to pick the templates warmed up at startup
+ */
+@Entity
+@Table(name = "template_render_stats", indexes = {
+    @Index(name = "idx_template_render_stats_app", columnList = "app_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateRenderStat {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "template_id", nullable = false, unique = true)
+    private Long templateId;
+    
+    @Column(name = "app_id")
+    private Long appId;
+    
+    @Column(name = "render_count", nullable = false)
+    private Long renderCount = 0L;
+    
+    @Column(name = "last_rendered_at")
+    private LocalDateTime lastRenderedAt;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
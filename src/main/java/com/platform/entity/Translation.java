@@ -6,7 +6,10 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "translations")
+@Table(name = "translations", indexes = {
+    @Index(name = "idx_translation_key_language", columnList = "key_id, language"),
+    @Index(name = "idx_translation_change_seq", columnList = "change_sequence")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,6 +33,10 @@ public class Translation extends BaseEntity {
     @Builder.Default
     private TranslationStatus status = TranslationStatus.PUBLISHED;
     
+    // Content change sequence of the app at the last write, for delta sync
+    @Column(name = "change_sequence")
+    private Long changeSequence;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     @JsonIgnore
@@ -8,7 +8,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "translation_keys")
+@Table(name = "translation_keys", indexes = {
+    @Index(name = "idx_translation_key_app", columnList = "app_id"),
+    @Index(name = "idx_translation_key_app_change_seq", columnList = "app_id, change_sequence")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,6 +38,10 @@ public class TranslationKey extends BaseEntity {
     @JsonIgnore
     private User createdBy;
     
+    // Content change sequence of the app at the last write of the key itself, for delta sync
+    @Column(name = "change_sequence")
+    private Long changeSequence;
+    
     @OneToMany(mappedBy = "key", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     @Builder.Default
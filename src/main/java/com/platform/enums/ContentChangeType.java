@@ -0,0 +1,13 @@
+package com.platform.enums;
+
+/**
+ * Content kinds of the content API, tracked for delta sync and the in-memory read model
+ */
+public enum ContentChangeType {
+    TRANSLATION,
+    LOV,
+    APP_CONFIG,
+    ERROR_CODE,
+    // Read model only; templates are not part of delta sync
+    TEMPLATE
+}
@@ -1,8 +1,11 @@
 package com.platform.repository;
 
 import com.platform.entity.AppConfig;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -10,6 +13,8 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppConfigRepository extends JpaRepository<AppConfig, Long> {
@@ -80,6 +85,28 @@ public interface AppConfigRepository extends JpaRepository<AppConfig, Long> {
         Pageable pageable
     );
     
+    // Content API streaming: same filters as findAllWithFiltersForContent, in JPQL so the sort can be dynamic
+    @Query("SELECT c FROM AppConfig c LEFT JOIN AppConfigGroup g ON g.id = c.groupId WHERE " +
+           "c.app.id = :appId " +
+           "AND (:groupName IS NULL OR g.groupName = :groupName) " +
+           "AND (:dataType IS NULL OR CAST(c.configType AS String) = :dataType) " +
+           "AND (:required IS NULL OR c.isRequired = :required) " +
+           "AND (:search IS NULL OR LOWER(c.configKey) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "     OR LOWER(c.description) LIKE LOWER(CONCAT('%', :search, '%')))")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<AppConfig> streamAllWithFiltersForContent(
+        @Param("appId") Long appId,
+        @Param("groupName") String groupName,
+        @Param("dataType") String dataType,
+        @Param("required") Boolean required,
+        @Param("search") String search,
+        Sort sort
+    );
+    
+    // Content API delta sync
+    List<AppConfig> findByApp_IdAndChangeSequenceGreaterThanOrderByChangeSequence(Long appId, Long since);
+    
     @Query(value = "SELECT DISTINCT g.group_name FROM app_config c " +
            "LEFT JOIN app_config_group g ON g.id = c.group_id " +
            "WHERE c.app_id = :appId AND g.group_name IS NOT NULL " +
@@ -0,0 +1,22 @@
+package com.platform.repository;
+
+import com.platform.entity.ContentSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContentSequenceRepository extends JpaRepository<ContentSequence, Long> {
+    
+    // Atomically take the next sequence of an app; the row stays locked until the transaction ends
+    @Query(value = "INSERT INTO content_sequences (app_id, last_sequence, tombstone_floor) VALUES (:appId, 1, 0) " +
+           "ON CONFLICT (app_id) DO UPDATE SET last_sequence = content_sequences.last_sequence + 1 " +
+           "RETURNING last_sequence", nativeQuery = true)
+    Long next(@Param("appId") Long appId);
+    
+    @Modifying
+    @Query("UPDATE ContentSequence s SET s.tombstoneFloor = :floor WHERE s.appId = :appId AND s.tombstoneFloor < :floor")
+    int raiseTombstoneFloor(@Param("appId") Long appId, @Param("floor") Long floor);
+}
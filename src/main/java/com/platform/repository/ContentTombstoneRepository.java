@@ -0,0 +1,27 @@
+package com.platform.repository;
+
+import com.platform.entity.ContentTombstone;
+import com.platform.enums.ContentChangeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ContentTombstoneRepository extends JpaRepository<ContentTombstone, Long> {
+    
+    List<ContentTombstone> findByAppIdAndContentTypeAndSequenceGreaterThanOrderBySequence(
+        Long appId, ContentChangeType contentType, Long sequence);
+    
+    // Highest purged sequence per app, as [appId, maxSequence] rows
+    @Query("SELECT t.appId, MAX(t.sequence) FROM ContentTombstone t WHERE t.deletedAt < :cutoff GROUP BY t.appId")
+    List<Object[]> findMaxSequenceByAppDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Modifying
+    @Query("DELETE FROM ContentTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
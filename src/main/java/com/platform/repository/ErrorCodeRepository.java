@@ -1,16 +1,21 @@
 package com.platform.repository;
 
 import com.platform.entity.ErrorCode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ErrorCodeRepository extends JpaRepository<ErrorCode, Long> {
@@ -116,6 +121,30 @@ public interface ErrorCodeRepository extends JpaRepository<ErrorCode, Long> {
         Pageable pageable
     );
     
+    // Content API streaming: same filters as findAllWithFiltersForContent, in JPQL so the sort can be dynamic
+    @Query("SELECT e FROM ErrorCode e LEFT JOIN FETCH e.category c WHERE " +
+           "e.app.id = :appId " +
+           "AND (:categoryId IS NULL OR c.id = :categoryId) " +
+           "AND (:severity IS NULL OR CAST(e.severity AS String) = :severity) " +
+           "AND (:status IS NULL OR CAST(e.status AS String) = :status) " +
+           "AND (:module IS NULL OR e.moduleName = :module) " +
+           "AND (:search IS NULL OR LOWER(e.errorCode) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "     OR LOWER(e.defaultMessage) LIKE LOWER(CONCAT('%', :search, '%')))")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<ErrorCode> streamAllWithFiltersForContent(
+        @Param("appId") Long appId,
+        @Param("categoryId") Long categoryId,
+        @Param("severity") String severity,
+        @Param("status") String status,
+        @Param("module") String module,
+        @Param("search") String search,
+        Sort sort
+    );
+    
+    // Content API delta sync
+    List<ErrorCode> findByApp_IdAndChangeSequenceGreaterThanOrderByChangeSequence(Long appId, Long since);
+    
     @Query(value = "SELECT DISTINCT c.id, c.category_name, c.description FROM error_code e " +
            "JOIN error_code_category c ON c.id = e.category_id " +
            "WHERE e.app_id = :appId ORDER BY c.category_name", nativeQuery = true)
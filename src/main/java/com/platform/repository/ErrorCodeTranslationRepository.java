@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,8 @@ public interface ErrorCodeTranslationRepository extends JpaRepository<ErrorCodeT
     
     List<ErrorCodeTranslation> findByErrorCodeId(Long errorCodeId);
     
+    List<ErrorCodeTranslation> findByErrorCodeIdIn(Collection<Long> errorCodeIds);
+    
     @Query("SELECT t FROM ErrorCodeTranslation t WHERE t.errorCode.id = :errorCodeId AND t.languageCode = :languageCode")
     Optional<ErrorCodeTranslation> findByErrorCodeIdAndLanguageCode(@Param("errorCodeId") Long errorCodeId, @Param("languageCode") String languageCode);
     
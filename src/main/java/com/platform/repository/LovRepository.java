@@ -11,6 +11,11 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
 
 @Repository
 public interface LovRepository extends JpaRepository<Lov, Long> {
@@ -33,6 +38,9 @@ public interface LovRepository extends JpaRepository<Lov, Long> {
     
     Optional<Lov> findByLovCodeAndCorporateId(String lovCode, Long corporateId);
     
+    // Content API delta sync
+    List<Lov> findByApp_IdAndChangeSequenceGreaterThanOrderByChangeSequence(Long appId, Long since);
+    
     @Query("SELECT DISTINCT l.lovType FROM Lov l WHERE l.corporateId = :corporateId")
     List<String> findDistinctLovTypesByCorporateId(@Param("corporateId") Long corporateId);
     
@@ -66,6 +74,20 @@ public interface LovRepository extends JpaRepository<Lov, Long> {
     Page<Lov> findByApp_IdAndActiveAndLovCodeContainingIgnoreCase(Long appId, Boolean active, String lovCode, Pageable pageable);
     Optional<Lov> findByLovCodeAndApp_Id(String lovCode, Long appId);
     
+    // Content API streaming (no count query, server-side cursor)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Lov> streamByApp_Id(Long appId, Sort sort);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Lov> streamByApp_IdAndActive(Long appId, Boolean active, Sort sort);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Lov> streamByApp_IdAndLovCodeContainingIgnoreCase(Long appId, String lovCode, Sort sort);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Lov> streamByApp_IdAndActiveAndLovCodeContainingIgnoreCase(Long appId, Boolean active, String lovCode, Sort sort);
+    
     @Query("SELECT DISTINCT l.lovType FROM Lov l WHERE l.app.id = :appId ORDER BY l.lovType")
     List<String> findDistinctLovTypesByApp_Id(@Param("appId") Long appId);
 }
@@ -0,0 +1,33 @@
+package com.platform.repository;
+
+import com.platform.entity.TemplateRenderStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TemplateRenderStatRepository extends JpaRepository<TemplateRenderStat, Long> {
+    
+    /**
+     * Most rendered templates first, most recently rendered breaking ties
+     */
+    List<TemplateRenderStat> findAllByOrderByRenderCountDescLastRenderedAtDesc();
+    
+    /**
+     * Add a batch of renders to a template's counter
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TemplateRenderStat s SET s.renderCount = s.renderCount + :count, s.lastRenderedAt = :lastRenderedAt, s.updatedAt = CURRENT_TIMESTAMP WHERE s.templateId = :templateId")
+    int addRenders(@Param("templateId") Long templateId, @Param("count") long count,
+                   @Param("lastRenderedAt") LocalDateTime lastRenderedAt);
+    
+    @Transactional
+    void deleteByTemplateId(Long templateId);
+}
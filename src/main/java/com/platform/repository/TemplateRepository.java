@@ -2,10 +2,15 @@ package com.platform.repository;
 
 import com.platform.entity.Template;
 import com.platform.enums.TemplateType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TemplateRepository extends JpaRepository<Template, Long> {
@@ -20,6 +25,24 @@ public interface TemplateRepository extends JpaRepository<Template, Long> {
     // Content API methods
     java.util.Optional<Template> findByIdAndApp_Id(Long id, Long appId);
     
+    // Content API streaming (no count query, server-side cursor)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Template> streamByApp_Id(Long appId, Sort sort);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Template> streamByApp_IdAndNameContainingIgnoreCase(Long appId, String name, Sort sort);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Template> streamByApp_IdAndType(Long appId, TemplateType type, Sort sort);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Template> streamByApp_IdAndTypeAndNameContainingIgnoreCase(Long appId, TemplateType type, String name, Sort sort);
+    
+    // Rendering: template with its pages in a single query
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT t FROM Template t LEFT JOIN FETCH t.pages WHERE t.id = :id")
+    java.util.Optional<Template> findByIdWithPages(@org.springframework.data.repository.query.Param("id") Long id);
+    
     // Corporate-filtered queries with pagination
     List<Template> findByCorporateId(Long corporateId);
     List<Template> findByCorporateIdAndType(Long corporateId, TemplateType type);
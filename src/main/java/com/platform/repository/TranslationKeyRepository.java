@@ -1,15 +1,20 @@
 package com.platform.repository;
 
 import com.platform.entity.TranslationKey;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TranslationKeyRepository extends JpaRepository<TranslationKey, Long> {
@@ -59,6 +64,26 @@ public interface TranslationKeyRepository extends JpaRepository<TranslationKey,
     Page<TranslationKey> findByApp_IdAndContextContainingIgnoreCase(Long appId, String context, Pageable pageable);
     Page<TranslationKey> findByApp_IdAndContextContainingIgnoreCaseAndKeyNameContainingIgnoreCase(Long appId, String context, String keyName, Pageable pageable);
     
+    // Content API streaming (no count query, server-side cursor)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<TranslationKey> streamByApp_Id(Long appId, Sort sort);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<TranslationKey> streamByApp_IdAndContextContainingIgnoreCase(Long appId, String context, Sort sort);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<TranslationKey> streamByApp_IdAndKeyNameContainingIgnoreCase(Long appId, String keyName, Sort sort);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<TranslationKey> streamByApp_IdAndContextContainingIgnoreCaseAndKeyNameContainingIgnoreCase(Long appId, String context, String keyName, Sort sort);
+    
+    // Delta sync: keys of an app that changed, or had a translation change, after a cursor
+    @Query("SELECT k FROM TranslationKey k WHERE k.app.id = :appId AND (k.changeSequence > :since " +
+           "OR EXISTS (SELECT 1 FROM Translation t WHERE t.key = k AND t.changeSequence > :since)) " +
+           "ORDER BY k.id")
+    List<TranslationKey> findChangedByAppId(@Param("appId") Long appId, @Param("since") Long since);
+    
     @Query("SELECT DISTINCT k.context FROM TranslationKey k WHERE k.app.id = :appId AND k.context IS NOT NULL ORDER BY k.context")
     List<String> findDistinctCategoriesByApp_Id(@Param("appId") Long appId);
 }
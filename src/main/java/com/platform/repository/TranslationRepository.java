@@ -2,13 +2,17 @@ package com.platform.repository;
 
 import com.platform.entity.Translation;
 import com.platform.enums.TranslationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,6 +58,44 @@ public interface TranslationRepository extends JpaRepository<Translation, Long>
         @Param("language") String language,
         @Param("status") TranslationStatus status);
     
+    // Key names and values by language and status, without loading translation or key entities
+    @Query("SELECT t.language AS language, k.keyName AS keyName, t.value AS value FROM Translation t " +
+           "JOIN t.key k " +
+           "WHERE k.app.id = :appId " +
+           "AND t.language = :language " +
+           "AND t.status = :status " +
+           "ORDER BY k.keyName")
+    List<KeyValue> findKeyValuesByAppIdAndLanguageAndStatus(
+        @Param("appId") Long appId,
+        @Param("language") String language,
+        @Param("status") TranslationStatus status);
+    
+    // Key names and values of all languages by status
+    @Query("SELECT t.language AS language, k.keyName AS keyName, t.value AS value FROM Translation t " +
+           "JOIN t.key k " +
+           "WHERE k.app.id = :appId " +
+           "AND t.status = :status " +
+           "ORDER BY t.language, k.keyName")
+    List<KeyValue> findKeyValuesByAppIdAndStatus(
+        @Param("appId") Long appId,
+        @Param("status") TranslationStatus status);
+    
+    // Language values of a batch of keys
+    @Query("SELECT t.key.id AS keyId, t.language AS language, t.value AS value FROM Translation t " +
+           "WHERE t.key.id IN :keyIds")
+    List<KeyLanguageValue> findLanguageValuesByKeyIds(@Param("keyIds") Collection<Long> keyIds);
+    
+    // Language values of every key of an app
+    @Query("SELECT k.id AS keyId, t.language AS language, t.value AS value FROM Translation t " +
+           "JOIN t.key k " +
+           "WHERE k.app.id = :appId")
+    List<KeyLanguageValue> findLanguageValuesByAppId(@Param("appId") Long appId);
+    
+    // Stored language of a translation, read without flushing pending changes to the entity
+    @Query("SELECT t.language FROM Translation t WHERE t.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    Optional<String> findStoredLanguageById(@Param("id") Long id);
+    
     // Count translations by app
     @Query("SELECT COUNT(t) FROM Translation t " +
            "JOIN t.key k " +
@@ -91,4 +133,22 @@ public interface TranslationRepository extends JpaRepository<Translation, Long>
            "JOIN t.key k " +
            "WHERE k.app.id = :appId ORDER BY t.language")
     List<String> findDistinctLanguagesByApp_Id(@Param("appId") Long appId);
+    
+    /**
+     * Language, key name and value of a translation
+     */
+    interface KeyValue {
+        String getLanguage();
+        String getKeyName();
+        String getValue();
+    }
+    
+    /**
+     * Key id, language and value of a translation
+     */
+    interface KeyLanguageValue {
+        Long getKeyId();
+        String getLanguage();
+        String getValue();
+    }
 }
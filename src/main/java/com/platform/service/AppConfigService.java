@@ -8,6 +8,7 @@ import com.platform.entity.AppConfig;
 import com.platform.entity.AppConfigAudit;
 import com.platform.entity.AppConfigGroup;
 import com.platform.entity.AppConfigVersion;
+import com.platform.enums.ContentChangeType;
 import com.platform.repository.AppConfigAuditRepository;
 import com.platform.repository.AppConfigGroupRepository;
 import com.platform.repository.AppConfigRepository;
@@ -39,6 +40,7 @@ public class AppConfigService {
     private final AppRepository appRepository;
     private final HttpServletRequest request;
     private final ObjectMapper objectMapper;
+    private final ContentSyncService contentSyncService;
     
     // ==================== Configuration CRUD ====================
     
@@ -176,6 +178,7 @@ public class AppConfigService {
         // Validate config value
         validateConfigValue(config);
         
+        config.setChangeSequence(contentSyncService.nextSequence(appIdOf(config), ContentChangeType.APP_CONFIG));
         AppConfig savedConfig = configRepository.save(config);
         
         // Create version
@@ -219,6 +222,7 @@ public class AppConfigService {
         // Validate config value
         validateConfigValue(config);
         
+        config.setChangeSequence(contentSyncService.nextSequence(appIdOf(config), ContentChangeType.APP_CONFIG));
         AppConfig updatedConfig = configRepository.save(config);
         
         // Create version
@@ -246,6 +250,8 @@ public class AppConfigService {
         // Log audit
         logAudit(config.getId(), AppConfigAudit.Action.DELETE, config.getConfigValue(), null);
         
+        contentSyncService.recordDeletion(appIdOf(config), ContentChangeType.APP_CONFIG, config.getId(),
+            config.getConfigKey(), null);
         configRepository.delete(config);
     }
     
@@ -380,6 +386,7 @@ public class AppConfigService {
         config.setConfigValue(version.getConfigValue());
         config.setVersion(config.getVersion() + 1);
         config.setUpdatedBy(getCurrentUsername());
+        config.setChangeSequence(contentSyncService.nextSequence(appIdOf(config), ContentChangeType.APP_CONFIG));
         
         AppConfig restoredConfig = configRepository.save(config);
         
@@ -520,6 +527,10 @@ public class AppConfigService {
         }
     }
     
+    private Long appIdOf(AppConfig config) {
+        return config.getApp() != null ? config.getApp().getId() : null;
+    }
+    
     private String getCurrentUsername() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()) {
@@ -0,0 +1,75 @@
+package com.platform.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invalidation bookkeeping shared by the in-memory caches.
+ *
+ * A cache takes a {@link Stamp} of the key before loading an entry and stores the result only if
+ * the stamp is still current, so a load racing with an edit of the same key is not cached while
+ * loads of other keys are unaffected. Invalidations evict immediately and again once the
+ * surrounding transaction commits, so a reader that saw the old rows before the commit cannot
+ * leave a stale entry behind.
+ *
+ * The owning cache must check {@link #isCurrent} and store under the same lock its eviction runs
+ * under.
+ */
+public final class CacheGenerations<K> {
+
+    // One counter per key ever invalidated
+    private final ConcurrentHashMap<K, Long> generations = new ConcurrentHashMap<>();
+    // Bumped by invalidations that cannot name their keys
+    private final AtomicLong epoch = new AtomicLong();
+
+    public record Stamp(long epoch, long generation) {
+    }
+
+    /**
+     * Stamp to take before loading the entry of a key
+     */
+    public Stamp stamp(K key) {
+        return new Stamp(epoch.get(), generations.getOrDefault(key, 0L));
+    }
+
+    /**
+     * Whether neither the key nor the whole cache was invalidated since the stamp was taken
+     */
+    public boolean isCurrent(K key, Stamp stamp) {
+        return stamp.equals(stamp(key));
+    }
+
+    /**
+     * Invalidate one key, running the eviction now and after commit
+     */
+    public void invalidate(K key, Runnable eviction) {
+        invalidate(() -> generations.merge(key, 1L, Long::sum), eviction);
+    }
+
+    /**
+     * Invalidate every key, for changes that cannot be traced to the keys they affect
+     */
+    public void invalidateAll(Runnable eviction) {
+        invalidate(epoch::incrementAndGet, eviction);
+    }
+
+    private void invalidate(Runnable bump, Runnable eviction) {
+        // Bump first: a load that stores after this point sees the new generation and backs off
+        Runnable invalidation = () -> {
+            bump.run();
+            eviction.run();
+        };
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.platform.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of parsed FreeMarker templates and their variable analysis.
+ *
+ * Entries are keyed by template id, page id (null for the template's own HTML content),
+ * the entity's updatedAt timestamp and a hash of the content, so a stale entry can never
+ * be served after an edit. Edits also evict entries eagerly to free memory.
+ */
+@Component
+@Slf4j
+public class CompiledTemplateCache {
+
+    @Value("${template.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${template.cache.max-entries:500}")
+    private int maxEntries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Access-ordered map gives LRU eviction; guarded by "this"
+    private final LinkedHashMap<CacheKey, CompiledTemplate> entries =
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CompiledTemplate> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+    /**
+     * Return the compiled template for the given content, parsing and analysing it only on a cache miss
+     */
+    public CompiledTemplate getOrCompile(Long templateId, Long pageId, LocalDateTime version,
+                                         String name, String content,
+                                         freemarker.template.Configuration configuration) throws IOException {
+        if (!enabled || templateId == null) {
+            return compile(name, content, configuration);
+        }
+
+        CacheKey key = new CacheKey(templateId, pageId, version, content.hashCode());
+
+        synchronized (this) {
+            CompiledTemplate cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        // Parse outside the lock so a slow compile does not block other templates
+        misses.incrementAndGet();
+        CompiledTemplate compiled = compile(name, content, configuration);
+
+        synchronized (this) {
+            // Drop older versions of the same page before storing the new one
+            entries.keySet().removeIf(existing -> existing.sameSource(key) && !existing.equals(key));
+            entries.put(key, compiled);
+        }
+
+        log.debug("Compiled template {} (page {}) and stored in cache", templateId, pageId);
+        return compiled;
+    }
+
+    /**
+     * Evict every cached entry (template content and all pages) of a template
+     */
+    public synchronized void invalidateTemplate(Long templateId) {
+        if (templateId == null) {
+            return;
+        }
+        int before = entries.size();
+        entries.keySet().removeIf(key -> templateId.equals(key.templateId()));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            log.debug("Invalidated {} compiled entries for template {}", removed, templateId);
+        }
+    }
+
+    /**
+     * Evict the cached entries of a single page
+     */
+    public synchronized void invalidatePage(Long pageId) {
+        if (pageId == null) {
+            return;
+        }
+        entries.keySet().removeIf(key -> pageId.equals(key.pageId()));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Get cache statistics (hits, misses, evictions, size)
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+
+        stats.put("enabled", enabled);
+        stats.put("maxEntries", maxEntries);
+        synchronized (this) {
+            stats.put("size", entries.size());
+        }
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRatio", total > 0 ? (double) hitCount / total : 0.0);
+        return stats;
+    }
+
+    private CompiledTemplate compile(String name, String content,
+                                     freemarker.template.Configuration configuration) throws IOException {
+        freemarker.template.Template template = new freemarker.template.Template(name, new StringReader(content), configuration);
+        return new CompiledTemplate(template, TemplateVariableAnalysis.analyze(content));
+    }
+
+    /**
+     * Parsed FreeMarker template together with its precomputed variable usage
+     */
+    public record CompiledTemplate(freemarker.template.Template template, TemplateVariableAnalysis analysis) {
+    }
+
+    private record CacheKey(Long templateId, Long pageId, LocalDateTime version, int contentHash) {
+
+        boolean sameSource(CacheKey other) {
+            return templateId.equals(other.templateId)
+                && (pageId == null ? other.pageId == null : pageId.equals(other.pageId));
+        }
+    }
+}
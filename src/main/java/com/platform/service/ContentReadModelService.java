@@ -0,0 +1,225 @@
+package com.platform.service;
+
+import com.platform.entity.Template;
+import com.platform.enums.ContentChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Optional per-app in-memory read model for the content API.
+ *
+ * Each app holds one immutable segment per content type: the content API responses in default
+ * order plus a lookup by natural key. Segments are loaded on first read and dropped whenever a
+ * change to that content type of the app commits; the next read loads a fresh segment and swaps it
+ * in with a single map update, so readers always see either the old or the new snapshot in full.
+ * Whole apps are evicted least recently used first once the estimated size exceeds the memory
+ * budget.
+ *
+ * Disabled by default; when disabled the content API reads from the database as before.
+ */
+@Service
+@Slf4j
+public class ContentReadModelService {
+
+    // Rough heap cost of an object and of a String beyond its characters (headers, fields, array)
+    private static final long OBJECT_OVERHEAD_BYTES = 64;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    // Only a miss opens a transaction; hits never touch the connection pool
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${content.read-model.enabled:false}")
+    private boolean enabled;
+
+    @Value("${content.read-model.max-memory-mb:256}")
+    private long maxMemoryMb;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Per app and content type, so a load racing with an edit of the same segment is not kept
+    private final CacheGenerations<SegmentKey> generations = new CacheGenerations<>();
+
+    // Estimated size of all cached segments; guarded by "this"
+    private long totalBytes;
+
+    // Access-ordered map gives LRU eviction of whole apps; guarded by "this"
+    private final LinkedHashMap<Long, AppModel> apps = new LinkedHashMap<>(64, 0.75f, true);
+
+    public ContentReadModelService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Immutable snapshot of one content type of an app
+     */
+    public record Segment<R>(List<R> items, Map<String, R> byKey, long estimatedBytes) {
+    }
+
+    private record SegmentKey(Long appId, ContentChangeType type) {
+    }
+
+    private static final class AppModel {
+        private final Map<ContentChangeType, Segment<?>> segments = new EnumMap<>(ContentChangeType.class);
+        private long bytes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the segment of an app and content type, loading it on a miss
+     *
+     * @param loader loads the content API responses of the app in default order; they must be immutable
+     * @param key    natural key the single-item endpoint looks items up by
+     * @param size   estimated heap size of an item, see {@link #sizeOf}
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Segment<R> getSegment(Long appId, ContentChangeType type, Supplier<List<R>> loader,
+                                     Function<R, String> key, ToLongFunction<R> size) {
+        SegmentKey segmentKey = new SegmentKey(appId, type);
+        CacheGenerations.Stamp stamp;
+        synchronized (this) {
+            AppModel app = apps.get(appId);
+            Segment<?> cached = app != null ? app.segments.get(type) : null;
+            if (cached != null) {
+                hits.incrementAndGet();
+                return (Segment<R>) cached;
+            }
+            stamp = generations.stamp(segmentKey);
+        }
+
+        misses.incrementAndGet();
+        Segment<R> segment = readOnlyTransaction.execute(status -> load(loader.get(), key, size));
+
+        synchronized (this) {
+            if (generations.isCurrent(segmentKey, stamp) && segment.estimatedBytes() <= maxBytes()) {
+                AppModel app = apps.computeIfAbsent(appId, id -> new AppModel());
+                // A concurrent miss may have loaded the same segment already
+                Segment<?> previous = app.segments.put(type, segment);
+                long added = segment.estimatedBytes() - (previous != null ? previous.estimatedBytes() : 0);
+                app.bytes += added;
+                totalBytes += added;
+                evictOverBudget(appId);
+            }
+        }
+        return segment;
+    }
+
+    private <R> Segment<R> load(List<R> loaded, Function<R, String> key, ToLongFunction<R> size) {
+        List<R> items = List.copyOf(loaded);
+        Map<String, R> byKey = new HashMap<>(items.size() * 2);
+        long bytes = 0;
+        for (R item : items) {
+            byKey.putIfAbsent(key.apply(item), item);
+            bytes += size.applyAsLong(item);
+        }
+        return new Segment<>(items, Collections.unmodifiableMap(byKey), bytes);
+    }
+
+    /**
+     * Rough heap size of an object holding the given strings; null strings are not counted
+     */
+    public static long sizeOf(String... strings) {
+        long bytes = OBJECT_OVERHEAD_BYTES;
+        for (String string : strings) {
+            if (string != null) {
+                bytes += STRING_OVERHEAD_BYTES + string.length();
+            }
+        }
+        return bytes;
+    }
+
+    private long maxBytes() {
+        return maxMemoryMb * 1024 * 1024;
+    }
+
+    // Caller holds the lock; the app just loaded is kept even if it is the only one left
+    private void evictOverBudget(Long loadedAppId) {
+        Iterator<Map.Entry<Long, AppModel>> eldest = apps.entrySet().iterator();
+        while (totalBytes > maxBytes() && eldest.hasNext()) {
+            Map.Entry<Long, AppModel> entry = eldest.next();
+            if (entry.getKey().equals(loadedAppId)) {
+                continue;
+            }
+            totalBytes -= entry.getValue().bytes;
+            eldest.remove();
+            evictions.incrementAndGet();
+            log.debug("Evicted content read model of app {} ({} bytes)", entry.getKey(), entry.getValue().bytes);
+        }
+    }
+
+    /**
+     * Drop the segment of a content type of an app after a change
+     */
+    public void invalidate(Long appId, ContentChangeType type) {
+        if (!enabled || appId == null) {
+            return;
+        }
+        generations.invalidate(new SegmentKey(appId, type), () -> evict(appId, type));
+    }
+
+    /**
+     * Drop the template segment of the template's app, if it belongs to one
+     */
+    public void invalidateTemplate(Template template) {
+        if (template.getApp() != null) {
+            invalidate(template.getApp().getId(), ContentChangeType.TEMPLATE);
+        }
+    }
+
+    private synchronized void evict(Long appId, ContentChangeType type) {
+        AppModel app = apps.get(appId);
+        if (app == null) {
+            return;
+        }
+        Segment<?> removed = app.segments.remove(type);
+        if (removed != null) {
+            app.bytes -= removed.estimatedBytes();
+            totalBytes -= removed.estimatedBytes();
+        }
+        if (app.segments.isEmpty()) {
+            apps.remove(appId);
+        }
+    }
+
+    /**
+     * Get read model statistics (hits, misses, apps, estimated memory)
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+
+        stats.put("enabled", enabled);
+        stats.put("maxMemoryMb", maxMemoryMb);
+        synchronized (this) {
+            stats.put("apps", apps.size());
+            stats.put("estimatedBytes", totalBytes);
+        }
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRatio", total > 0 ? (double) hitCount / total : 0.0);
+        return stats;
+    }
+}
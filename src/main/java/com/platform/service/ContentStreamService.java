@@ -0,0 +1,157 @@
+package com.platform.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams "get all" results of the content API straight to the response.
+ *
+ * Rows come from a repository {@link Stream} (server-side cursor, no count query) inside a
+ * read-only transaction and are mapped and written in batches, clearing the persistence context
+ * after each batch so memory stays constant regardless of how many rows the app has. Output is a
+ * JSON array, the same shape as the former list responses, or NDJSON with one object per line.
+ */
+@Service
+@Slf4j
+public class ContentStreamService {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ObjectMapper objectMapper;
+    // Flushed once per batch rather than after every object
+    private final ObjectWriter itemWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${content.stream.batch-size:500}")
+    private int batchSize;
+
+    public ContentStreamService(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.itemWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Whether the client asked for NDJSON, by format parameter or Accept header
+     */
+    public static boolean isNdjson(String format, String accept) {
+        return "ndjson".equalsIgnoreCase(format)
+            || (accept != null && accept.contains(APPLICATION_NDJSON.toString()));
+    }
+
+    /**
+     * Stream entities mapped one by one
+     */
+    public <T, R> StreamingResponseBody stream(Supplier<Stream<T>> query, Function<T, R> mapper, boolean ndjson) {
+        return streamBatches(query, batch -> batch.stream().map(mapper).toList(), ndjson);
+    }
+
+    /**
+     * Stream entities mapped a batch at a time, for mappers that load related rows for the whole batch
+     */
+    public <T, R> StreamingResponseBody streamBatches(Supplier<Stream<T>> query, Function<List<T>, List<R>> mapper,
+                                                      boolean ndjson) {
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            // A failed export must not be closed into a valid but truncated array
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<T> rows = query.get()) {
+                        write(rows.iterator(), mapper, generator, ndjson);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                generator.close();
+            }
+        };
+    }
+
+    /**
+     * Write already mapped items, such as a content read model snapshot, without touching the database
+     */
+    public StreamingResponseBody write(List<?> items, boolean ndjson) {
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            try {
+                writeStart(generator, ndjson);
+                for (Object item : items) {
+                    itemWriter.writeValue(generator, item);
+                }
+                writeEnd(generator, ndjson, items.size());
+            } finally {
+                generator.close();
+            }
+        };
+    }
+
+    private <T, R> void write(Iterator<T> rows, Function<List<T>, List<R>> mapper, JsonGenerator generator,
+                              boolean ndjson) throws IOException {
+        writeStart(generator, ndjson);
+
+        List<T> batch = new ArrayList<>(batchSize);
+        long count = 0;
+        while (rows.hasNext()) {
+            batch.add(rows.next());
+            if (batch.size() >= batchSize || !rows.hasNext()) {
+                for (R item : mapper.apply(batch)) {
+                    itemWriter.writeValue(generator, item);
+                }
+                count += batch.size();
+                batch.clear();
+                // Mapped rows are no longer needed; keep the persistence context from growing with the result
+                entityManager.clear();
+                generator.flush();
+            }
+        }
+
+        writeEnd(generator, ndjson, count);
+        log.debug("Streamed {} content rows ({})", count, ndjson ? "ndjson" : "json");
+    }
+
+    private static void writeStart(JsonGenerator generator, boolean ndjson) throws IOException {
+        if (ndjson) {
+            // Root-level values are separated by a space by default
+            generator.setRootValueSeparator(new SerializedString("\n"));
+        } else {
+            generator.writeStartArray();
+        }
+    }
+
+    private static void writeEnd(JsonGenerator generator, boolean ndjson, long count) throws IOException {
+        if (!ndjson) {
+            generator.writeEndArray();
+        } else if (count > 0) {
+            generator.writeRaw('\n');
+        }
+    }
+}
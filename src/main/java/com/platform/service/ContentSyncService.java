@@ -0,0 +1,137 @@
+package com.platform.service;
+
+import com.platform.dto.ContentChangesResponse;
+import com.platform.entity.ContentSequence;
+import com.platform.entity.ContentTombstone;
+import com.platform.enums.ContentChangeType;
+import com.platform.repository.ContentSequenceRepository;
+import com.platform.repository.ContentTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Change sequences and tombstones behind the content API delta sync.
+ *
+ * Every write to translations, LOVs, app configs and error codes stamps the row with the next
+ * sequence of its app; deletes leave a tombstone with that sequence. A client passes the cursor of
+ * its last sync and gets back only rows and tombstones with a higher sequence.
+ *
+ * Translations are scoped by the id of their translation app, which is the app id the content API
+ * resolves translation keys with.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentSyncService {
+
+    private final ContentSequenceRepository sequenceRepository;
+    private final ContentTombstoneRepository tombstoneRepository;
+    private final ContentReadModelService contentReadModelService;
+
+    @Value("${content.sync.tombstone-retention-days:90}")
+    private int tombstoneRetentionDays;
+
+    /**
+     * Take the next change sequence of an app, or null for content not bound to an app.
+     *
+     * The app's sequence row stays locked until the caller's transaction ends, so concurrent writers
+     * of the same app commit in sequence order and a cursor never skips a change. The app's read
+     * model segment of the content type is dropped on commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Long nextSequence(Long appId, ContentChangeType type) {
+        if (appId == null) {
+            return null;
+        }
+        contentReadModelService.invalidate(appId, type);
+        return sequenceRepository.next(appId);
+    }
+
+    /**
+     * Record the deletion of a content item
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Long appId, ContentChangeType type, Long entityId, String entityKey, String language) {
+        if (appId == null) {
+            return;
+        }
+        ContentTombstone tombstone = new ContentTombstone();
+        tombstone.setAppId(appId);
+        tombstone.setContentType(type);
+        tombstone.setEntityId(entityId);
+        tombstone.setEntityKey(entityKey);
+        tombstone.setLanguage(language);
+        tombstone.setSequence(nextSequence(appId, type));
+        tombstone.setDeletedAt(LocalDateTime.now());
+        tombstoneRepository.save(tombstone);
+    }
+
+    /**
+     * Changes of one content type after a cursor.
+     *
+     * The current cursor is read before the changed rows, so a change committed in between is
+     * returned again on the next call rather than missed. A missing cursor, or one older than the
+     * purged tombstones, asks the client to reload everything.
+     *
+     * @param changed loads the items whose change sequence is greater than the given cursor
+     */
+    @Transactional(readOnly = true)
+    public <T> ContentChangesResponse<T> getChanges(Long appId, ContentChangeType type, Long since,
+                                                    LongFunction<List<T>> changed) {
+        ContentSequence sequence = sequenceRepository.findById(appId).orElse(null);
+        long cursor = sequence != null ? sequence.getLastSequence() : 0L;
+        long floor = sequence != null ? sequence.getTombstoneFloor() : 0L;
+
+        if (since == null || since <= 0 || since < floor || since > cursor) {
+            return ContentChangesResponse.<T>builder()
+                .cursor(cursor)
+                .reset(true)
+                .changed(List.of())
+                .deleted(List.of())
+                .build();
+        }
+
+        List<ContentChangesResponse.Deleted> deleted = tombstoneRepository
+            .findByAppIdAndContentTypeAndSequenceGreaterThanOrderBySequence(appId, type, since).stream()
+            .map(tombstone -> ContentChangesResponse.Deleted.builder()
+                .id(tombstone.getEntityId())
+                .key(tombstone.getEntityKey())
+                .language(tombstone.getLanguage())
+                .sequence(tombstone.getSequence())
+                .build())
+            .toList();
+
+        return ContentChangesResponse.<T>builder()
+            .cursor(cursor)
+            .reset(false)
+            .changed(since == cursor ? List.of() : changed.apply(since))
+            .deleted(deleted)
+            .build();
+    }
+
+    /**
+     * Purge tombstones past the retention period; clients with an older cursor are asked to reload
+     */
+    @Scheduled(cron = "${content.sync.tombstone-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+
+        for (Object[] row : tombstoneRepository.findMaxSequenceByAppDeletedBefore(cutoff)) {
+            sequenceRepository.raiseTombstoneFloor((Long) row[0], (Long) row[1]);
+        }
+        int removed = tombstoneRepository.deleteDeletedBefore(cutoff);
+        if (removed > 0) {
+            log.info("Purged {} content tombstones older than {} days", removed, tombstoneRetentionDays);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.platform.dto.ErrorCodeRequest;
 import com.platform.dto.ErrorCodeSettingsRequest;
 import com.platform.dto.ErrorCodeGenerationResponse;
 import com.platform.entity.*;
+import com.platform.enums.ContentChangeType;
 import com.platform.repository.*;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +36,7 @@ public class ErrorCodeService {
     private final AppRepository appRepository;
     private final ErrorCodeSettingsRepository settingsRepository;
     private final HttpServletRequest request;
+    private final ContentSyncService contentSyncService;
 
     // ==================== ERROR CODE CRUD ====================
 
@@ -78,6 +80,7 @@ public class ErrorCodeService {
             errorCode.setCategory(category);
         }
 
+        errorCode.setChangeSequence(contentSyncService.nextSequence(appIdOf(errorCode), ContentChangeType.ERROR_CODE));
         errorCode = errorCodeRepository.save(errorCode);
 
         // Save translations
@@ -111,6 +114,9 @@ public class ErrorCodeService {
         ErrorCode errorCode = errorCodeRepository.findByIdAndCorporateId(id, corporateId)
             .orElseThrow(() -> new RuntimeException("Error code not found"));
 
+        Long previousAppId = appIdOf(errorCode);
+        String previousCode = errorCode.getErrorCode();
+
         // Track changes for audit
         Map<String, String[]> changes = new HashMap<>();
         
@@ -146,6 +152,11 @@ public class ErrorCodeService {
         errorCode.setDocumentationUrl(req.getDocumentationUrl());
         errorCode.setUpdatedBy(username);
 
+        // Moved to another app: it disappears from the old app's content
+        if (previousAppId != null && !previousAppId.equals(appIdOf(errorCode))) {
+            contentSyncService.recordDeletion(previousAppId, ContentChangeType.ERROR_CODE, errorCode.getId(), previousCode, null);
+        }
+        errorCode.setChangeSequence(contentSyncService.nextSequence(appIdOf(errorCode), ContentChangeType.ERROR_CODE));
         errorCode = errorCodeRepository.save(errorCode);
 
         // Update translations
@@ -184,6 +195,8 @@ public class ErrorCodeService {
             .orElseThrow(() -> new RuntimeException("Error code not found"));
 
         logAudit(errorCode.getId(), "DELETE", null, errorCode.getErrorCode(), null, username);
+        contentSyncService.recordDeletion(appIdOf(errorCode), ContentChangeType.ERROR_CODE, errorCode.getId(),
+            errorCode.getErrorCode(), null);
         errorCodeRepository.delete(errorCode);
     }
 
@@ -293,6 +306,8 @@ public class ErrorCodeService {
 
         ErrorCode errorCode = errorCodeRepository.findById(errorCodeId)
             .orElseThrow(() -> new RuntimeException("Error code not found"));
+        Long previousAppId = appIdOf(errorCode);
+        String previousCode = errorCode.getErrorCode();
 
         errorCode.setErrorCode(version.getErrorCode());
         
@@ -315,6 +330,10 @@ public class ErrorCodeService {
         errorCode.setDocumentationUrl(version.getDocumentationUrl());
         errorCode.setUpdatedBy(username);
 
+        if (previousAppId != null && !previousAppId.equals(appIdOf(errorCode))) {
+            contentSyncService.recordDeletion(previousAppId, ContentChangeType.ERROR_CODE, errorCode.getId(), previousCode, null);
+        }
+        errorCode.setChangeSequence(contentSyncService.nextSequence(appIdOf(errorCode), ContentChangeType.ERROR_CODE));
         errorCode = errorCodeRepository.save(errorCode);
 
         int latestVersion = versionRepository.findMaxVersionByErrorCodeId(errorCodeId).orElse(0);
@@ -522,6 +541,10 @@ public class ErrorCodeService {
             settings.getCurrentSequence());
     }
 
+    private Long appIdOf(ErrorCode errorCode) {
+        return errorCode.getApp() != null ? errorCode.getApp().getId() : null;
+    }
+
     private String getCurrentUsername() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         return auth != null ? auth.getName() : "system";
@@ -1,53 +1,81 @@
 package com.platform.service;
 
 import com.lowagie.text.DocumentException;
-import com.lowagie.text.pdf.BaseFont;
-import com.platform.entity.TemplateAsset;
 import com.platform.enums.AssetType;
 import com.platform.repository.TemplateAssetRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Entities;
 import org.springframework.stereotype.Service;
-import org.xhtmlrenderer.pdf.ITextRenderer;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FlyingSaucerPdfService {
 
+    // Document CSS only depends on the orientation, so it is built once per orientation
+    private static final Map<com.platform.enums.PageOrientation, String> PDF_CSS =
+        PdfCss.byOrientation(FlyingSaucerPdfService::buildPdfCss);
+
     private final TemplateAssetRepository templateAssetRepository;
+    private final FlyingSaucerRendererFactory rendererFactory;
+    private final PdfHtmlPipeline pdfHtmlPipeline;
 
     public boolean isAvailable() {
         return true; // Flying Saucer is always available as it's a Java library
     }
 
     public byte[] generatePdfFromHtml(String html) {
-        return generatePdfFromHtml(html, null, com.platform.enums.PageOrientation.PORTRAIT, null);
+        return generatePdfFromHtml(html, null, com.platform.enums.PageOrientation.PORTRAIT, List.of());
     }
 
     public byte[] generatePdfFromHtml(String html, Integer pageNumber) {
-        return generatePdfFromHtml(html, pageNumber, com.platform.enums.PageOrientation.PORTRAIT, null);
+        return generatePdfFromHtml(html, pageNumber, com.platform.enums.PageOrientation.PORTRAIT, List.of());
     }
 
     public byte[] generatePdfFromHtml(String html, Integer pageNumber, com.platform.enums.PageOrientation orientation) {
-        return generatePdfFromHtml(html, pageNumber, orientation, null);
+        return generatePdfFromHtml(html, pageNumber, orientation, List.of());
     }
 
     public byte[] generatePdfFromHtml(String html, Integer pageNumber, 
                                      com.platform.enums.PageOrientation orientation, Long templateId) {
-        try {
-            log.info("🔄 Generating PDF with Flying Saucer - Page: {}, Orientation: {}", 
-                pageNumber != null ? pageNumber : "all", orientation);
+        return generatePdfFromHtml(html, pageNumber, orientation, loadFonts(templateId));
+    }
+
+    /**
+     * Generate PDF registering the given font assets (typically from the template's render bundle)
+     */
+    public byte[] generatePdfFromHtml(String html, Integer pageNumber, 
+                                     com.platform.enums.PageOrientation orientation,
+                                     List<TemplateRenderBundle.Font> fonts) {
+        log.info("🔄 Generating PDF with Flying Saucer - Page: {}, Orientation: {}", 
+            pageNumber != null ? pageNumber : "all", orientation);
+
+        // Use JSoup to parse and clean HTML
+        Document document = Jsoup.parse(html);
+        configureXhtmlOutput(document, orientation);
+        return generatePdf(document, orientation, fonts);
+    }
 
+    /**
+     * Generate PDF from a document prepared by the PDF HTML pipeline (XHTML output already configured)
+     */
+    public byte[] generatePdf(Document document, com.platform.enums.PageOrientation orientation,
+                              List<TemplateRenderBundle.Font> fonts) {
+        try {
             // Build XHTML document
-            String xhtml = buildXhtmlDocument(html, orientation);
+            String xhtml = buildXhtmlDocument(document, orientation);
             
             // Convert to PDF
-            byte[] pdf = convertToPdf(xhtml, templateId);
+            byte[] pdf = convertToPdf(xhtml, fonts);
             
             log.info("✅ Flying Saucer generated PDF successfully, size: {} bytes", pdf.length);
             return pdf;
@@ -58,20 +86,27 @@ public class FlyingSaucerPdfService {
         }
     }
 
-    private String buildXhtmlDocument(String content, com.platform.enums.PageOrientation orientation) {
-        try {
-            // Use JSoup to parse and clean HTML
-            org.jsoup.nodes.Document doc = org.jsoup.Jsoup.parse(content);
+    /**
+     * Flying Saucer needs well-formed XML, so documents are serialized with XHTML syntax
+     */
+    @PostConstruct
+    public void registerHtmlStages() {
+        pdfHtmlPipeline.registerStage(PdfGenerationService.PdfEngine.FLYING_SAUCER, "flying-saucer-xhtml",
+            FlyingSaucerPdfService::configureXhtmlOutput);
+    }
 
-            // Configure for XHTML output
-            doc.outputSettings().syntax(org.jsoup.nodes.Document.OutputSettings.Syntax.xml)
-                    .escapeMode(org.jsoup.nodes.Entities.EscapeMode.xhtml);
+    private static void configureXhtmlOutput(Document document, com.platform.enums.PageOrientation orientation) {
+        document.outputSettings().syntax(Document.OutputSettings.Syntax.xml)
+                .escapeMode(Entities.EscapeMode.xhtml);
+    }
 
+    private String buildXhtmlDocument(Document doc, com.platform.enums.PageOrientation orientation) {
+        try {
             // Get body elements and convert to XHTML
-            org.jsoup.nodes.Element body = doc.body();
+            Element body = doc.body();
 
             // Process CSS to make it PDF-friendly with orientation
-            String processedCss = processCssForPdf(orientation);
+            String processedCss = PDF_CSS.get(orientation);
 
             // Build a simple, valid XHTML document
             StringBuilder xhtml = new StringBuilder();
@@ -92,10 +127,8 @@ public class FlyingSaucerPdfService {
             xhtml.append("</head>\n");
             xhtml.append("<body>\n");
 
-            // Add body content - JSoup ensures it's well-formed XML
-            for (org.jsoup.nodes.Node child : body.childNodes()) {
-                xhtml.append(child.outerHtml());
-            }
+            // Add body content - JSoup ensures it's well-formed XML; serialized once, straight into the builder
+            body.html(xhtml);
 
             xhtml.append("\n</body>\n");
             xhtml.append("</html>");
@@ -112,7 +145,7 @@ public class FlyingSaucerPdfService {
         }
     }
 
-    private String processCssForPdf(com.platform.enums.PageOrientation orientation) {
+    private static String buildPdfCss(com.platform.enums.PageOrientation orientation) {
         String pageSize = orientation.isLandscape() ? "A4 landscape" : "A4 portrait";
         
         StringBuilder css = new StringBuilder();
@@ -169,28 +202,21 @@ public class FlyingSaucerPdfService {
         return css.toString();
     }
 
-    private byte[] convertToPdf(String xhtml, Long templateId) throws DocumentException, IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ITextRenderer renderer = new ITextRenderer();
-
-        // Register custom fonts if templateId is provided
-        if (templateId != null) {
-            List<TemplateAsset> fonts = templateAssetRepository.findByTemplateIdAndAssetType(templateId, AssetType.FONT);
-
-            for (TemplateAsset font : fonts) {
-                try {
-                    renderer.getFontResolver().addFont(font.getFilePath(), BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
-                    log.debug("Registered font: {}", font.getName());
-                } catch (Exception e) {
-                    log.warn("Failed to register font: {}", font.getName(), e);
-                }
-            }
+    private List<TemplateRenderBundle.Font> loadFonts(Long templateId) {
+        if (templateId == null) {
+            return List.of();
         }
+        return templateAssetRepository.findByTemplateIdAndAssetType(templateId, AssetType.FONT).stream()
+            .map(font -> new TemplateRenderBundle.Font(font.getId(), font.getName(), font.getFilePath()))
+            .toList();
+    }
 
-        renderer.setDocumentFromString(xhtml);
-        renderer.layout();
-        renderer.createPDF(outputStream);
+    private byte[] convertToPdf(String xhtml, List<TemplateRenderBundle.Font> fonts) throws DocumentException, IOException {
+        // Renderers are reused with their registered fonts instead of being built per document
+        return rendererFactory.render(xhtml, fonts);
+    }
 
-        return outputStream.toByteArray();
+    public Map<String, Object> getRendererStatistics() {
+        return rendererFactory.getStatistics();
     }
 }
\ No newline at end of file
@@ -0,0 +1,227 @@
+package com.platform.service;
+
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.pdf.BaseFont;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.xhtmlrenderer.pdf.ITextRenderer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Reusable Flying Saucer renderers.
+ *
+ * Creating an {@link ITextRenderer} and registering a template's fonts parses every font file,
+ * so idle renderers are pooled and reused per font set. A font set is keyed by each font asset's
+ * id and a hash of its file, so a replaced font file gets a new key and the renderers built with
+ * the old file are dropped. A renderer's font resolver and user agent (CSS and image cache) are
+ * not thread-safe, so a renderer is taken out of the pool while it renders; one that fails
+ * mid-render is dropped instead of being returned. The pool holds at most {@code max-idle}
+ * renderers across all threads, evicting the least recently used font set first.
+ */
+@Component
+@Slf4j
+public class FlyingSaucerRendererFactory {
+
+    @Value("${pdf.flying-saucer.max-idle-renderers:16}")
+    private int maxIdleRenderers;
+
+    // Idle renderers per font set key, access-ordered for LRU eviction; guarded by "this"
+    private final LinkedHashMap<String, ArrayDeque<ITextRenderer>> idle = new LinkedHashMap<>(16, 0.75f, true);
+    private int idleCount;
+
+    // Hash of each font asset's file, re-computed when its size or modification time changes
+    private final Map<Object, FontVersion> fontVersions = new ConcurrentHashMap<>();
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong fontsRegistered = new AtomicLong();
+
+    private record FontVersion(long size, long modified, String token) {
+    }
+
+    /**
+     * Render an XHTML document to PDF with a renderer that has the given fonts registered
+     */
+    public byte[] render(String xhtml, List<TemplateRenderBundle.Font> fonts) throws DocumentException, IOException {
+        String key = fontSetKey(fonts);
+
+        ITextRenderer renderer = borrow(key);
+        if (renderer != null) {
+            reused.incrementAndGet();
+        } else {
+            renderer = createRenderer(fonts);
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            renderer.setDocumentFromString(xhtml);
+            renderer.layout();
+            renderer.createPDF(outputStream);
+        } catch (RuntimeException e) { // DocumentException is unchecked in OpenPDF
+            discarded.incrementAndGet();
+            throw e;
+        }
+
+        release(key, renderer);
+        return outputStream.toByteArray();
+    }
+
+    private synchronized ITextRenderer borrow(String key) {
+        ArrayDeque<ITextRenderer> renderers = idle.get(key);
+        if (renderers == null) {
+            return null;
+        }
+        ITextRenderer renderer = renderers.pollFirst();
+        if (renderers.isEmpty()) {
+            idle.remove(key);
+        }
+        if (renderer != null) {
+            idleCount--;
+        }
+        return renderer;
+    }
+
+    private synchronized void release(String key, ITextRenderer renderer) {
+        idle.computeIfAbsent(key, k -> new ArrayDeque<>()).addFirst(renderer);
+        idleCount++;
+
+        Iterator<ArrayDeque<ITextRenderer>> eldest = idle.values().iterator();
+        while (idleCount > Math.max(1, maxIdleRenderers) && eldest.hasNext()) {
+            ArrayDeque<ITextRenderer> renderers = eldest.next();
+            renderers.pollLast();
+            idleCount--;
+            discarded.incrementAndGet();
+            if (renderers.isEmpty()) {
+                eldest.remove();
+            }
+        }
+    }
+
+    // Drop the idle renderers that have this version of a font registered
+    private synchronized void evictFontVersion(String token) {
+        Iterator<Map.Entry<String, ArrayDeque<ITextRenderer>>> entries = idle.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, ArrayDeque<ITextRenderer>> entry = entries.next();
+            if (Arrays.asList(entry.getKey().split("\n")).contains(token)) {
+                idleCount -= entry.getValue().size();
+                discarded.addAndGet(entry.getValue().size());
+                entries.remove();
+            }
+        }
+    }
+
+    private ITextRenderer createRenderer(List<TemplateRenderBundle.Font> fonts) {
+        ITextRenderer renderer = new ITextRenderer();
+        created.incrementAndGet();
+
+        // Register custom fonts (parsed once per renderer instead of once per document)
+        if (fonts != null) {
+            for (TemplateRenderBundle.Font font : fonts) {
+                try {
+                    renderer.getFontResolver().addFont(font.filePath(), BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
+                    fontsRegistered.incrementAndGet();
+                    log.debug("Registered font: {}", font.name());
+                } catch (Exception e) {
+                    log.warn("Failed to register font: {}", font.name(), e);
+                }
+            }
+        }
+        return renderer;
+    }
+
+    private String fontSetKey(List<TemplateRenderBundle.Font> fonts) {
+        if (fonts == null || fonts.isEmpty()) {
+            return "";
+        }
+        return fonts.stream().map(this::fontToken).collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Asset id and file hash of a font; only re-hashes the file when its size or modification time changed
+     */
+    private String fontToken(TemplateRenderBundle.Font font) {
+        Object id = font.id() != null ? font.id() : font.filePath();
+        Path file = Paths.get(font.filePath());
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // Registration fails as well; the renderer is built without the font
+            return id + ":missing";
+        }
+
+        long modified = attributes.lastModifiedTime().toMillis();
+        FontVersion known = fontVersions.get(id);
+        if (known != null && known.size() == attributes.size() && known.modified() == modified) {
+            return known.token();
+        }
+
+        String token = id + ":" + hash(file);
+        fontVersions.put(id, new FontVersion(attributes.size(), modified, token));
+        if (known != null && !known.token().equals(token)) {
+            log.info("Font {} changed, dropping renderers built with the previous file", font.name());
+            evictFontVersion(known.token());
+        }
+        return token;
+    }
+
+    private String hash(Path file) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            return "unreadable";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Renderer creation, reuse and font registration counters
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long createdCount = created.get();
+        long reusedCount = reused.get();
+        long total = createdCount + reusedCount;
+
+        stats.put("maxIdleRenderers", maxIdleRenderers);
+        synchronized (this) {
+            stats.put("idleRenderers", idleCount);
+            stats.put("fontSets", idle.size());
+        }
+        stats.put("created", createdCount);
+        stats.put("reused", reusedCount);
+        stats.put("discarded", discarded.get());
+        stats.put("fontsRegistered", fontsRegistered.get());
+        stats.put("reuseRate", total > 0 ? (double) reusedCount / total : 0.0);
+        return stats;
+    }
+}
@@ -1,5 +1,6 @@
 package com.platform.service;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -7,11 +8,22 @@ import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 import jakarta.annotation.PostConstruct;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Gotenberg PDF Service - Free, Docker-based PDF generation
@@ -24,10 +36,15 @@ import java.nio.charset.StandardCharsets;
  * - Easy Docker deployment
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(name = "gotenberg.enabled", havingValue = "true", matchIfMissing = false)
 public class GotenbergPdfService {
 
+    private final PdfEngineHttpClient pdfEngineHttpClient;
+    private final PdfEngineCircuitBreakers circuitBreakers;
+    private final PdfHtmlPipeline pdfHtmlPipeline;
+
     @Value("${gotenberg.enabled:false}")
     private boolean enabled;
 
@@ -61,6 +78,10 @@ public class GotenbergPdfService {
     @Value("${gotenberg.wait.delay:1000}")
     private int waitDelay; // Wait time in milliseconds
 
+    // Chromium CSS only depends on the orientation, so it is built once per orientation
+    private static final Map<com.platform.enums.PageOrientation, String> GOTENBERG_CSS =
+        PdfCss.byOrientation(GotenbergPdfService::generateGotenbergOptimizedCss);
+
     private RestTemplate restTemplate;
     private boolean isAvailable = false;
 
@@ -71,16 +92,13 @@ public class GotenbergPdfService {
             return;
         }
 
-        try {
-            // Initialize REST template for Gotenberg service communication
-            restTemplate = new RestTemplate();
+        // Documents from the PDF HTML pipeline get the Chromium CSS as a stage
+        pdfHtmlPipeline.registerStage(PdfGenerationService.PdfEngine.GOTENBERG, "gotenberg-css",
+            GotenbergPdfService::optimizeDocument);
 
-            // Configure timeout for external service calls
-            org.springframework.http.client.SimpleClientHttpRequestFactory factory = 
-                new org.springframework.http.client.SimpleClientHttpRequestFactory();
-            factory.setConnectTimeout(serviceTimeout);
-            factory.setReadTimeout(serviceTimeout);
-            restTemplate.setRequestFactory(factory);
+        try {
+            // REST template on the shared keep-alive connection pool
+            restTemplate = pdfEngineHttpClient.createRestTemplate(serviceTimeout);
 
             log.info("🔧 Configuring Gotenberg PDF service: {}", serviceUrl);
 
@@ -107,10 +125,13 @@ public class GotenbergPdfService {
                 log.info("✅ Gotenberg service health check passed");
             } else {
                 log.warn("⚠️ Gotenberg service health check returned: {}", response.getStatusCode());
+                circuitBreakers.open(PdfGenerationService.PdfEngine.GOTENBERG, "health check returned " + response.getStatusCode());
             }
         } catch (Exception e) {
             log.warn("⚠️ Gotenberg service health check failed (service may not be ready yet): {}", e.getMessage());
-            // Don't fail initialization - service might not be ready during startup
+            // Don't fail initialization - service might not be ready during startup; the circuit breaker
+            // keeps it out of the way until a later probe succeeds
+            circuitBreakers.open(PdfGenerationService.PdfEngine.GOTENBERG, "health check failed");
         }
     }
 
@@ -131,90 +152,148 @@ public class GotenbergPdfService {
             throw new RuntimeException("Gotenberg service is not available");
         }
 
-        // Optimize HTML for Gotenberg/Chromium
-        html = optimizeHtmlForGotenberg(html, orientation);
+        // Optimize HTML for Gotenberg/Chromium and serialize the parsed document straight into the upload
+        org.jsoup.nodes.Document document = optimizeHtmlForGotenberg(html, orientation);
+        HtmlWriter htmlWriter = document != null ? out -> document.html(out) : out -> out.write(html);
+
+        return generatePdf(htmlWriter, pageNumber, orientation);
+    }
+
+    /**
+     * Generate PDF from a document prepared by the PDF HTML pipeline (Gotenberg CSS already applied),
+     * serializing it straight into the upload
+     */
+    public byte[] generatePdf(org.jsoup.nodes.Document document, com.platform.enums.PageOrientation orientation) {
+        return generatePdf(out -> document.html(out), null, orientation);
+    }
+
+    /**
+     * Generate PDF from HTML written by the caller directly into the multipart request body.
+     * The markup is sent as-is, without the Gotenberg CSS optimizations.
+     */
+    public byte[] generatePdf(HtmlWriter html, Integer pageNumber, com.platform.enums.PageOrientation orientation) {
+        if (!isAvailable()) {
+            throw new RuntimeException("Gotenberg service is not available");
+        }
 
         try {
             log.info("🔄 Generating PDF with Gotenberg - Page: {}, Orientation: {}", 
                 pageNumber != null ? pageNumber : "all", orientation);
-            
-            // Debug: Log HTML length and check for problematic content
-            log.debug("Gotenberg HTML length: {}, contains min-height: {}, contains explicit-page-break: {}", 
-                html.length(), 
-                html.contains("min-height: 100vh"),
-                html.contains("explicit-page-break"));
 
-            // Prepare multipart form data for Gotenberg
-            MultiValueMap<String, Object> formData = new LinkedMultiValueMap<>();
+            byte[] pdf = convert(html, orientation, response -> {
+                // Size the buffer from Content-Length so the PDF is copied once
+                long contentLength = response.getHeaders().getContentLength();
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(
+                    contentLength > 0 && contentLength < Integer.MAX_VALUE ? (int) contentLength : StreamUtils.BUFFER_SIZE);
+                StreamUtils.copy(response.getBody(), buffer);
+                return buffer.toByteArray();
+            });
 
-            // Add HTML content as file
-            ByteArrayResource htmlResource = new ByteArrayResource(html.getBytes(StandardCharsets.UTF_8)) {
-                @Override
-                public String getFilename() {
-                    return "index.html";
-                }
-            };
-            formData.add("files", htmlResource);
-
-            // Configure paper size and orientation
-            if (orientation.isLandscape()) {
-                formData.add("paperWidth", String.valueOf(paperHeight)); // Swap for landscape
-                formData.add("paperHeight", String.valueOf(paperWidth));
-            } else {
-                formData.add("paperWidth", String.valueOf(paperWidth));
-                formData.add("paperHeight", String.valueOf(paperHeight));
+            if (pdf == null || pdf.length == 0) {
+                throw new RuntimeException("Gotenberg service returned empty PDF");
             }
 
-            // Set margins
-            formData.add("marginTop", String.valueOf(marginTop));
-            formData.add("marginBottom", String.valueOf(marginBottom));
-            formData.add("marginLeft", String.valueOf(marginLeft));
-            formData.add("marginRight", String.valueOf(marginRight));
+            log.info("✅ Gotenberg generated PDF successfully, size: {} bytes", pdf.length);
+            return pdf;
 
-            // Additional options
-            formData.add("printBackground", String.valueOf(printBackground));
-            formData.add("waitDelay", String.valueOf(waitDelay) + "ms");
-            formData.add("preferCSSPageSize", "true");
-            
-            // Optimize for multi-page documents
-            formData.add("scale", "1.0");
-            formData.add("nativePageRanges", "");  // Generate all pages
-            formData.add("omitBackground", "false");
-            formData.add("landscape", String.valueOf(orientation.isLandscape()));
+        } catch (Exception e) {
+            log.error("❌ Gotenberg PDF generation failed: {}", e.getMessage(), e);
+            throw new RuntimeException("Gotenberg PDF generation failed: " + e.getMessage(), e);
+        }
+    }
 
-            // Set headers for multipart form data
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+    /**
+     * Post the HTML to Gotenberg's Chromium route, streaming the multipart body, and hand the
+     * successful response to {@code extractor}
+     */
+    private <T> T convert(HtmlWriter html, com.platform.enums.PageOrientation orientation,
+                          ResponseExtractor<T> extractor) {
+        Map<String, String> fields = buildConversionFields(orientation);
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+
+        String pdfUrl = serviceUrl + "/forms/chromium/convert/html";
+        return pdfEngineHttpClient.execute(restTemplate, pdfUrl, HttpMethod.POST,
+            request -> {
+                request.getHeaders().setContentType(
+                    new MediaType(MediaType.MULTIPART_FORM_DATA, Map.of("boundary", boundary)));
+                if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+                    streamingRequest.setBody(body -> writeMultipartBody(body, boundary, html, fields));
+                } else {
+                    writeMultipartBody(request.getBody(), boundary, html, fields);
+                }
+            },
+            response -> {
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    throw new RuntimeException("Gotenberg service returned error: " + response.getStatusCode());
+                }
+                return extractor.extractData(response);
+            });
+    }
 
-            // Create HTTP entity
-            HttpEntity<MultiValueMap<String, Object>> entity = new HttpEntity<>(formData, headers);
+    /**
+     * Writes HTML markup into the Gotenberg upload
+     */
+    @FunctionalInterface
+    public interface HtmlWriter {
+        void writeTo(Writer out) throws IOException;
+    }
 
-            // Call Gotenberg service
-            String pdfUrl = serviceUrl + "/forms/chromium/convert/html";
-            ResponseEntity<byte[]> response = restTemplate.postForEntity(pdfUrl, entity, byte[].class);
+    /**
+     * Chromium conversion form fields (paper size, margins and print options)
+     */
+    private Map<String, String> buildConversionFields(com.platform.enums.PageOrientation orientation) {
+        Map<String, String> fields = new LinkedHashMap<>();
 
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Gotenberg service returned error: " + response.getStatusCode());
-            }
+        // Configure paper size and orientation
+        if (orientation.isLandscape()) {
+            fields.put("paperWidth", String.valueOf(paperHeight)); // Swap for landscape
+            fields.put("paperHeight", String.valueOf(paperWidth));
+        } else {
+            fields.put("paperWidth", String.valueOf(paperWidth));
+            fields.put("paperHeight", String.valueOf(paperHeight));
+        }
 
-            byte[] pdf = response.getBody();
-            if (pdf == null || pdf.length == 0) {
-                throw new RuntimeException("Gotenberg service returned empty PDF");
-            }
+        // Set margins
+        fields.put("marginTop", String.valueOf(marginTop));
+        fields.put("marginBottom", String.valueOf(marginBottom));
+        fields.put("marginLeft", String.valueOf(marginLeft));
+        fields.put("marginRight", String.valueOf(marginRight));
 
-            // Handle specific page extraction if requested
-            if (pageNumber != null && pageNumber > 0) {
-                log.info("⚠️ Page extraction not supported by Gotenberg - returning full PDF");
-                // Note: Gotenberg doesn't support page extraction, return full PDF
-            }
+        // Additional options
+        fields.put("printBackground", String.valueOf(printBackground));
+        fields.put("waitDelay", waitDelay + "ms");
+        fields.put("preferCSSPageSize", "true");
 
-            log.info("✅ Gotenberg generated PDF successfully, size: {} bytes", pdf.length);
-            return pdf;
+        // Optimize for multi-page documents
+        fields.put("scale", "1.0");
+        fields.put("nativePageRanges", "");  // Generate all pages
+        fields.put("omitBackground", "false");
+        fields.put("landscape", String.valueOf(orientation.isLandscape()));
+        return fields;
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Gotenberg PDF generation failed: {}", e.getMessage(), e);
-            throw new RuntimeException("Gotenberg PDF generation failed: " + e.getMessage(), e);
+    /**
+     * Write the multipart/form-data body: the HTML file part first, then the form fields
+     */
+    private void writeMultipartBody(OutputStream body, String boundary, HtmlWriter html,
+                                    Map<String, String> fields) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(StreamUtils.nonClosing(body), StandardCharsets.UTF_8));
+
+        writer.write("--" + boundary + "\r\n");
+        writer.write("Content-Disposition: form-data; name=\"files\"; filename=\"index.html\"\r\n");
+        writer.write("Content-Type: text/html; charset=UTF-8\r\n\r\n");
+        html.writeTo(writer);
+        writer.write("\r\n");
+
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            writer.write("--" + boundary + "\r\n");
+            writer.write("Content-Disposition: form-data; name=\"" + field.getKey() + "\"\r\n\r\n");
+            writer.write(field.getValue());
+            writer.write("\r\n");
         }
+
+        writer.write("--" + boundary + "--\r\n");
+        writer.flush();
     }
 
     /**
@@ -263,7 +342,9 @@ public class GotenbergPdfService {
 
             // Call Gotenberg service
             String pdfUrl = serviceUrl + "/forms/chromium/convert/html";
-            ResponseEntity<byte[]> response = restTemplate.postForEntity(pdfUrl, entity, byte[].class);
+            ResponseEntity<byte[]> response = pdfEngineHttpClient.execute(restTemplate, pdfUrl, HttpMethod.POST,
+                restTemplate.httpEntityCallback(entity, byte[].class),
+                restTemplate.responseEntityExtractor(byte[].class));
 
             if (!response.getStatusCode().is2xxSuccessful()) {
                 throw new RuntimeException("Gotenberg service returned error: " + response.getStatusCode());
@@ -313,36 +394,36 @@ public class GotenbergPdfService {
     }
 
     /**
-     * Optimize HTML specifically for Gotenberg/Chromium PDF generation
+     * Optimize HTML specifically for Gotenberg/Chromium PDF generation.
+     * Returns the parsed document so it can be serialized directly into the request, or null on failure.
      */
-    private String optimizeHtmlForGotenberg(String html, com.platform.enums.PageOrientation orientation) {
+    private org.jsoup.nodes.Document optimizeHtmlForGotenberg(String html, com.platform.enums.PageOrientation orientation) {
         try {
             // Parse HTML with JSoup
             org.jsoup.nodes.Document doc = org.jsoup.Jsoup.parse(html);
-            
-            // Add Gotenberg-specific CSS optimizations
-            String gotenbergCss = generateGotenbergOptimizedCss(orientation);
-            
-            // Add the optimized CSS to the document
-            doc.head().appendElement("style")
-                .attr("type", "text/css")
-                .attr("data-gotenberg-optimized", "true")
-                .text(gotenbergCss);
-            
-            log.debug("Added Gotenberg-optimized CSS for orientation: {}", orientation);
-            
-            return doc.outerHtml();
+            optimizeDocument(doc, orientation);
+            return doc;
             
         } catch (Exception e) {
             log.warn("Failed to optimize HTML for Gotenberg, using original: {}", e.getMessage());
-            return html;
+            return null;
         }
     }
 
+    /**
+     * Add the Gotenberg/Chromium-specific CSS to a parsed document
+     */
+    private static void optimizeDocument(org.jsoup.nodes.Document doc, com.platform.enums.PageOrientation orientation) {
+        doc.head().appendElement("style")
+            .attr("type", "text/css")
+            .attr("data-gotenberg-optimized", "true")
+            .text(GOTENBERG_CSS.get(orientation));
+    }
+
     /**
      * Generate Gotenberg/Chromium-specific CSS optimizations
      */
-    private String generateGotenbergOptimizedCss(com.platform.enums.PageOrientation orientation) {
+    private static String generateGotenbergOptimizedCss(com.platform.enums.PageOrientation orientation) {
         String pageSize = orientation.isLandscape() ? "A4 landscape" : "A4 portrait";
         
         return String.format("""
@@ -262,45 +262,15 @@ public class IronPdfService {
             Method renderMethod = pdfDocumentClass.getMethod("renderHtmlAsPdf", String.class, renderOptionsClass);
             Object pdf = renderMethod.invoke(null, html, renderOptions);
             
-            // Handle specific page extraction if requested
-            if (pageNumber != null && pageNumber > 0) {
-                try {
-                    // Try to extract specific page (IronPDF uses 0-based indexing)
-                    Method copyPageMethod = pdfDocumentClass.getMethod("copyPage", int.class);
-                    Object singlePagePdf = copyPageMethod.invoke(pdf, pageNumber - 1);
-                    
-                    Method getBinaryDataMethod = pdfDocumentClass.getMethod("getBinaryData");
-                    byte[] result = (byte[]) getBinaryDataMethod.invoke(singlePagePdf);
-                    
-                    // Clean up
-                    Method closeMethod = pdfDocumentClass.getMethod("close");
-                    closeMethod.invoke(singlePagePdf);
-                    closeMethod.invoke(pdf);
-                    
-                    log.info("✅ IronPDF generated single page {} successfully, size: {} bytes", 
-                        pageNumber, result.length);
-                    return result;
-                } catch (Exception e) {
-                    // Fallback: return full PDF if page extraction fails
-                    log.warn("⚠️ Page extraction failed, returning full PDF: {}", e.getMessage());
-                    Method getBinaryDataMethod = pdfDocumentClass.getMethod("getBinaryData");
-                    byte[] result = (byte[]) getBinaryDataMethod.invoke(pdf);
-                    
-                    Method closeMethod = pdfDocumentClass.getMethod("close");
-                    closeMethod.invoke(pdf);
-                    return result;
-                }
-            } else {
-                // Return all pages
-                Method getBinaryDataMethod = pdfDocumentClass.getMethod("getBinaryData");
-                byte[] result = (byte[]) getBinaryDataMethod.invoke(pdf);
-                
-                Method closeMethod = pdfDocumentClass.getMethod("close");
-                closeMethod.invoke(pdf);
-                
-                log.info("✅ IronPDF generated PDF successfully, size: {} bytes", result.length);
-                return result;
-            }
+            // Page selection is done by PdfGenerationService, the same way for every engine
+            Method getBinaryDataMethod = pdfDocumentClass.getMethod("getBinaryData");
+            byte[] result = (byte[]) getBinaryDataMethod.invoke(pdf);
+            
+            Method closeMethod = pdfDocumentClass.getMethod("close");
+            closeMethod.invoke(pdf);
+            
+            log.info("✅ IronPDF generated PDF successfully, size: {} bytes", result.length);
+            return result;
 
         } catch (Exception e) {
             log.error("❌ IronPDF generation failed: {}", e.getMessage(), e);
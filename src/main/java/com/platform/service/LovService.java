@@ -7,6 +7,7 @@ import com.platform.dto.LovWithTranslationsDTO;
 import com.platform.entity.Lov;
 import com.platform.entity.LovAudit;
 import com.platform.entity.LovVersion;
+import com.platform.enums.ContentChangeType;
 import com.platform.repository.AppRepository;
 import com.platform.repository.LovAuditRepository;
 import com.platform.repository.LovRepository;
@@ -35,6 +36,7 @@ public class LovService {
     private final AppRepository appRepository;
     private final HttpServletRequest request;
     private final ObjectMapper objectMapper;
+    private final ContentSyncService contentSyncService;
     
     public List<Lov> getAllLovs(Long corporateId, String lovType, Boolean active, String appName) {
         boolean hasApp = appName != null && !appName.isBlank();
@@ -145,6 +147,7 @@ public class LovService {
         lov.setVersion(1);
         lov.setCreatedBy(getCurrentUsername());
         lov.setUpdatedBy(getCurrentUsername());
+        lov.setChangeSequence(contentSyncService.nextSequence(appIdOf(lov), ContentChangeType.LOV));
         
         Lov savedLov = lovRepository.save(lov);
         
@@ -166,6 +169,9 @@ public class LovService {
             throw new RuntimeException("Access denied");
         }
         
+        Long previousAppId = appIdOf(lov);
+        String previousCode = lov.getLovCode();
+        
         // Track changes
         Map<String, Object> changes = new HashMap<>();
         if (lov.getLovValue() != null && !lov.getLovValue().equals(request.getLovValue())) {
@@ -198,6 +204,12 @@ public class LovService {
         lov.setVersion(lov.getVersion() + 1);
         lov.setUpdatedBy(getCurrentUsername());
         
+        // Moved to another app: it disappears from the old app's content
+        if (previousAppId != null && !previousAppId.equals(appIdOf(lov))) {
+            contentSyncService.recordDeletion(previousAppId, ContentChangeType.LOV, lov.getId(), previousCode, null);
+        }
+        lov.setChangeSequence(contentSyncService.nextSequence(appIdOf(lov), ContentChangeType.LOV));
+        
         Lov updatedLov = lovRepository.save(lov);
         
         // Create version
@@ -229,6 +241,7 @@ public class LovService {
         // Log audit
         logAudit(lov.getId(), LovAudit.Action.DELETE, null);
         
+        contentSyncService.recordDeletion(appIdOf(lov), ContentChangeType.LOV, lov.getId(), lov.getLovCode(), null);
         lovRepository.delete(lov);
     }
     
@@ -265,6 +278,7 @@ public class LovService {
         lov.setMetadata(version.getMetadata());
         lov.setVersion(lov.getVersion() + 1);
         lov.setUpdatedBy(getCurrentUsername());
+        lov.setChangeSequence(contentSyncService.nextSequence(appIdOf(lov), ContentChangeType.LOV));
         
         Lov restoredLov = lovRepository.save(lov);
         
@@ -321,6 +335,10 @@ public class LovService {
         lovAuditRepository.save(audit);
     }
     
+    private Long appIdOf(Lov lov) {
+        return lov.getApp() != null ? lov.getApp().getId() : null;
+    }
+    
     private String getCurrentUsername() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         return auth != null ? auth.getName() : "system";
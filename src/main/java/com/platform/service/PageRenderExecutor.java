@@ -0,0 +1,79 @@
+package com.platform.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded thread pool for rendering the pages of long multi-page templates concurrently.
+ *
+ * Disabled by default. When the queue is full, work runs on the calling thread, so a burst
+ * of large reports degrades to sequential rendering instead of queueing without limit.
+ */
+@Component
+@Slf4j
+public class PageRenderExecutor {
+
+    @Value("${template.render.parallel.enabled:false}")
+    private boolean enabled;
+
+    @Value("${template.render.parallel.min-pages:10}")
+    private int minPages;
+
+    @Value("${template.render.parallel.threads:0}")
+    private int threads;
+
+    @Value("${template.render.parallel.queue-capacity:256}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "template-page-render-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        log.info("Parallel page rendering enabled: {} threads, templates with at least {} pages", poolSize, minPages);
+    }
+
+    /**
+     * Whether a template with the given number of non-empty pages should be rendered in parallel
+     */
+    public boolean shouldRenderInParallel(int pageCount) {
+        return executor != null && !executor.isShutdown() && pageCount >= minPages;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.platform.service;
+
+import com.platform.enums.PageOrientation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * CSS used by the PDF pipeline.
+ *
+ * The print and multi-page CSS only depends on the page orientation, so it is built once per
+ * orientation. Template CSS is rewritten for Flying Saucer once per template version through
+ * {@link TemplateRenderBundle#getFlyingSaucerCss()} instead of on every render.
+ */
+public final class PdfCss {
+
+    private static final String DEFAULT_BODY_CSS =
+        "body { font-family: Arial, sans-serif; font-size: 10pt; line-height: 1.4; margin: 0; padding: 0; }\n";
+
+    /**
+     * Flying Saucer specific page break control, appended after the template CSS
+     */
+    public static final String FLYING_SAUCER_FOOTER =
+        "\n* { -fs-table-paginate: paginate; }\n.resume { page-break-inside: avoid; }\n";
+
+    // Flexbox is not supported by Flying Saucer: flex containers become tables, flex-only properties are dropped
+    private static final Pattern DISPLAY_FLEX = Pattern.compile("display:\\s*flex");
+    private static final Pattern DISPLAY_INLINE_FLEX = Pattern.compile("display:\\s*inline-flex");
+    private static final Pattern FLEX_ONLY_PROPERTIES =
+        Pattern.compile("(?:flex-wrap|flex-direction|justify-content|align-items|gap):\\s*[^;]+;");
+    private static final Pattern MIN_HEIGHT_FULL = Pattern.compile("min-height:\\s*100%");
+
+    private static final Map<PageOrientation, String> PRINT_CSS = byOrientation(PdfCss::buildPrintCss);
+    private static final Map<PageOrientation, String> FLYING_SAUCER_PREAMBLE = byOrientation(PdfCss::buildFlyingSaucerPreamble);
+
+    private PdfCss() {
+    }
+
+    /**
+     * Print-friendly multi-page CSS added to HTML sent to the PDF engines
+     */
+    public static String printCss(PageOrientation orientation) {
+        return PRINT_CSS.get(orientation);
+    }
+
+    /**
+     * Page setup and multi-page CSS placed before the template CSS in Flying Saucer documents
+     */
+    public static String flyingSaucerPreamble(PageOrientation orientation) {
+        return FLYING_SAUCER_PREAMBLE.get(orientation);
+    }
+
+    /**
+     * Template CSS rewritten for Flying Saucer compatibility (default body styles when there is none)
+     */
+    public static String rewriteForFlyingSaucer(String css) {
+        if (css == null || css.isEmpty()) {
+            return DEFAULT_BODY_CSS;
+        }
+        String rewritten = DISPLAY_FLEX.matcher(css).replaceAll("display: table");
+        rewritten = DISPLAY_INLINE_FLEX.matcher(rewritten).replaceAll("display: inline-table");
+        rewritten = FLEX_ONLY_PROPERTIES.matcher(rewritten).replaceAll("");
+        return MIN_HEIGHT_FULL.matcher(rewritten).replaceAll("height: auto");
+    }
+
+    private static String pageSize(PageOrientation orientation) {
+        return orientation.isLandscape() ? "A4 landscape" : "A4 portrait";
+    }
+
+    /**
+     * Unmodifiable map with the CSS built for each orientation
+     */
+    static Map<PageOrientation, String> byOrientation(Function<PageOrientation, String> builder) {
+        Map<PageOrientation, String> css = new EnumMap<>(PageOrientation.class);
+        for (PageOrientation orientation : PageOrientation.values()) {
+            css.put(orientation, builder.apply(orientation));
+        }
+        return Collections.unmodifiableMap(css);
+    }
+
+    private static String buildPrintCss(PageOrientation orientation) {
+        return """
+            @page {
+                size: %s;
+                margin: 1cm;
+            }
+
+            /* Multi-page document container */
+            .multi-page-document {
+                width: 100%%;
+            }
+
+            /* Individual template pages */
+            .template-page {
+                width: 100%%;
+                box-sizing: border-box;
+                page-break-inside: avoid;
+                page-break-after: auto;
+                margin-bottom: 0;
+                padding-bottom: 0;
+            }
+
+            /* Force page breaks between template pages */
+            .template-page:not(:first-child) {
+                page-break-before: always !important;
+            }
+
+            /* Prevent page breaks inside certain elements */
+            .no-page-break {
+                page-break-inside: avoid;
+            }
+
+            /* Print-specific styles */
+            @media print {
+                .no-print {
+                    display: none !important;
+                }
+
+                .multi-page-document {
+                    width: 100%%;
+                }
+
+                .template-page {
+                    width: 100%%;
+                    margin: 0;
+                    padding: 0;
+                }
+
+                .template-page:not(:first-child) {
+                    page-break-before: always !important;
+                }
+            }
+            """.formatted(pageSize(orientation));
+    }
+
+    private static String buildFlyingSaucerPreamble(PageOrientation orientation) {
+        return "@page { size: %s; margin: 1cm; }\n".formatted(pageSize(orientation)) + """
+            /* Multi-page document container */
+            .multi-page-document {
+                width: 100%;
+            }
+
+            /* Individual template pages */
+            .template-page {
+                min-height: 100vh;
+                height: auto;
+                width: 100%;
+                box-sizing: border-box;
+                page-break-inside: avoid;
+                page-break-after: auto;
+                position: relative;
+                overflow: visible;
+            }
+
+            /* Force page breaks between template pages */
+            .template-page:not(:first-child) {
+                page-break-before: always !important;
+            }
+
+            /* Explicit page break elements */
+            .explicit-page-break,
+            .page-break {
+                page-break-before: always !important;
+                page-break-after: avoid !important;
+                height: 0 !important;
+                margin: 0 !important;
+                padding: 0 !important;
+                border: none !important;
+                display: block !important;
+                clear: both !important;
+                visibility: hidden;
+            }
+
+            """;
+    }
+}
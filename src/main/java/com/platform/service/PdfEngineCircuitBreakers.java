@@ -0,0 +1,265 @@
+package com.platform.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-engine circuit breakers and rolling health statistics for PDF engines.
+ *
+ * Each engine keeps its last {@code window-size} calls. A breaker opens when the failure rate
+ * or the slow-call rate in that window crosses its threshold; while open, the engine is skipped
+ * instead of making every request wait out its timeout. After {@code open-duration} a limited
+ * number of probe calls are let through (half-open) and their outcome closes or reopens it.
+ */
+@Component
+@Slf4j
+public class PdfEngineCircuitBreakers {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @Value("${pdf.circuit-breaker.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pdf.circuit-breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${pdf.circuit-breaker.minimum-calls:5}")
+    private int minimumCalls;
+
+    @Value("${pdf.circuit-breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${pdf.circuit-breaker.slow-call-threshold:15000}")
+    private long slowCallThresholdMs;
+
+    @Value("${pdf.circuit-breaker.slow-call-rate-threshold:80}")
+    private int slowCallRateThreshold;
+
+    @Value("${pdf.circuit-breaker.open-duration:30000}")
+    private long openDurationMs;
+
+    @Value("${pdf.circuit-breaker.half-open-calls:1}")
+    private int halfOpenCalls;
+
+    private final Map<PdfGenerationService.PdfEngine, Breaker> breakers =
+        new EnumMap<>(PdfGenerationService.PdfEngine.class);
+
+    private synchronized Breaker breaker(PdfGenerationService.PdfEngine engine) {
+        return breakers.computeIfAbsent(engine, e -> new Breaker(e, Math.max(1, windowSize)));
+    }
+
+    /**
+     * Whether a call to the engine may proceed now. A permitted half-open probe must be
+     * followed by {@link #recordSuccess} or {@link #recordFailure}.
+     */
+    public boolean tryAcquire(PdfGenerationService.PdfEngine engine) {
+        return !enabled || breaker(engine).tryAcquire();
+    }
+
+    public void recordSuccess(PdfGenerationService.PdfEngine engine, long durationMs) {
+        breaker(engine).record(false, durationMs);
+    }
+
+    public void recordFailure(PdfGenerationService.PdfEngine engine, long durationMs) {
+        breaker(engine).record(true, durationMs);
+    }
+
+    /**
+     * Open the breaker of an engine known to be down, e.g. one that failed its start-up health
+     * check; it is probed again once the open duration has elapsed
+     */
+    public void open(PdfGenerationService.PdfEngine engine, String reason) {
+        if (enabled) {
+            breaker(engine).forceOpen(reason);
+        }
+    }
+
+    /**
+     * Reorder engines by live health, keeping the configured preference among equally healthy
+     * engines: healthy first, then degraded or half-open, then open
+     */
+    public List<PdfGenerationService.PdfEngine> rank(List<PdfGenerationService.PdfEngine> engines) {
+        if (!enabled) {
+            return engines;
+        }
+        List<PdfGenerationService.PdfEngine> ranked = new ArrayList<>(engines);
+        ranked.sort(Comparator.comparingInt(engine -> breaker(engine).healthTier()));
+        return ranked;
+    }
+
+    public State getState(PdfGenerationService.PdfEngine engine) {
+        return breaker(engine).currentState();
+    }
+
+    /**
+     * Breaker state and rolling statistics of one engine
+     */
+    public Map<String, Object> getStatus(PdfGenerationService.PdfEngine engine) {
+        return breaker(engine).status();
+    }
+
+    private final class Breaker {
+        private final PdfGenerationService.PdfEngine engine;
+
+        // Ring buffer of the last calls; guarded by "this"
+        private final boolean[] failures;
+        private final boolean[] slowCalls;
+        private final long[] durations;
+        private int next;
+        private int recorded;
+
+        private State state = State.CLOSED;
+        private long openedAt;
+        private int probesInFlight;
+        private long totalCalls;
+        private long totalFailures;
+        private long rejectedCalls;
+
+        private Breaker(PdfGenerationService.PdfEngine engine, int size) {
+            this.engine = engine;
+            this.failures = new boolean[size];
+            this.slowCalls = new boolean[size];
+            this.durations = new long[size];
+        }
+
+        private synchronized boolean tryAcquire() {
+            State current = currentState();
+            if (current == State.CLOSED) {
+                return true;
+            }
+            if (current == State.HALF_OPEN && probesInFlight < Math.max(1, halfOpenCalls)) {
+                state = State.HALF_OPEN;
+                probesInFlight++;
+                return true;
+            }
+            rejectedCalls++;
+            return false;
+        }
+
+        private synchronized void record(boolean failed, long durationMs) {
+            boolean slow = durationMs > slowCallThresholdMs;
+            totalCalls++;
+            if (failed) {
+                totalFailures++;
+            }
+
+            failures[next] = failed;
+            slowCalls[next] = slow;
+            durations[next] = durationMs;
+            next = (next + 1) % failures.length;
+            recorded = Math.min(recorded + 1, failures.length);
+
+            if (state == State.HALF_OPEN) {
+                probesInFlight = Math.max(0, probesInFlight - 1);
+                if (failed || slow) {
+                    open("half-open probe " + (failed ? "failed" : "was slow"));
+                } else {
+                    close();
+                }
+                return;
+            }
+
+            if (state == State.CLOSED && recorded >= minimumCalls) {
+                if (failureRate() >= failureRateThreshold) {
+                    open(String.format("failure rate %.0f%%", failureRate()));
+                } else if (slowCallRate() >= slowCallRateThreshold) {
+                    open(String.format("slow call rate %.0f%%", slowCallRate()));
+                }
+            }
+        }
+
+        private synchronized void forceOpen(String reason) {
+            open(reason);
+        }
+
+        private void open(String reason) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            probesInFlight = 0;
+            log.warn("🔌 Circuit breaker for {} opened: {}", engine.getDisplayName(), reason);
+        }
+
+        private void close() {
+            state = State.CLOSED;
+            probesInFlight = 0;
+            next = 0;
+            recorded = 0;
+            log.info("✅ Circuit breaker for {} closed", engine.getDisplayName());
+        }
+
+        /**
+         * State with the open duration applied (OPEN turns into HALF_OPEN once it has elapsed)
+         */
+        private synchronized State currentState() {
+            if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+                return State.HALF_OPEN;
+            }
+            return state;
+        }
+
+        private synchronized int healthTier() {
+            State current = currentState();
+            if (current == State.OPEN) {
+                return 2;
+            }
+            if (current == State.HALF_OPEN) {
+                return 1;
+            }
+            boolean degraded = recorded >= minimumCalls
+                && (failureRate() >= failureRateThreshold / 2.0 || slowCallRate() >= slowCallRateThreshold / 2.0);
+            return degraded ? 1 : 0;
+        }
+
+        private double failureRate() {
+            return rate(failures);
+        }
+
+        private double slowCallRate() {
+            return rate(slowCalls);
+        }
+
+        private double rate(boolean[] outcomes) {
+            if (recorded == 0) {
+                return 0;
+            }
+            int count = 0;
+            for (int i = 0; i < recorded; i++) {
+                if (outcomes[i]) {
+                    count++;
+                }
+            }
+            return count * 100.0 / recorded;
+        }
+
+        private synchronized Map<String, Object> status() {
+            Map<String, Object> status = new HashMap<>();
+            long totalDuration = 0;
+            long maxDuration = 0;
+            for (int i = 0; i < recorded; i++) {
+                totalDuration += durations[i];
+                maxDuration = Math.max(maxDuration, durations[i]);
+            }
+
+            status.put("state", enabled ? currentState().name() : "DISABLED");
+            status.put("windowCalls", recorded);
+            status.put("failureRate", failureRate());
+            status.put("slowCallRate", slowCallRate());
+            status.put("avgLatencyMs", recorded > 0 ? totalDuration / recorded : 0);
+            status.put("maxLatencyMs", maxDuration);
+            status.put("totalCalls", totalCalls);
+            status.put("totalFailures", totalFailures);
+            status.put("rejectedCalls", rejectedCalls);
+            return status;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.platform.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared HTTP client for external PDF engines (Gotenberg, external Playwright service).
+ *
+ * All RestTemplates created here share one JDK HttpClient, so connections to an engine are
+ * kept alive and reused across requests instead of being opened per call. Requests stream
+ * their bodies, and concurrent requests per host are capped so a slow engine cannot tie up
+ * every request thread.
+ *
+ * The idle timeout of pooled connections is the JDK-wide {@code jdk.httpclient.keepalive.timeout}
+ * (seconds, default 30). Set it on the JVM command line, e.g.
+ * {@code -Djdk.httpclient.keepalive.timeout=20}, below the engines' server-side idle timeout.
+ */
+@Component
+@Slf4j
+public class PdfEngineHttpClient {
+
+    @Value("${pdf.http.connect-timeout:5000}")
+    private int connectTimeout;
+
+    @Value("${pdf.http.max-connections-per-host:20}")
+    private int maxConnectionsPerHost;
+
+    @Value("${pdf.http.acquire-timeout:30000}")
+    private long acquireTimeout;
+
+    private HttpClient httpClient;
+
+    private final Map<String, HostLimiter> hosts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(connectTimeout))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+        log.info("🔧 PDF engine HTTP client configured: max {} connections per host", maxConnectionsPerHost);
+    }
+
+    /**
+     * RestTemplate on the shared connection pool with the given response timeout
+     */
+    public RestTemplate createRestTemplate(int readTimeoutMs) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(requestFactory);
+    }
+
+    /**
+     * Execute a request while holding one of the target host's connection permits.
+     * The response extractor runs before the permit is released, so a streamed
+     * response body counts against the limit until it has been read.
+     */
+    public <T> T execute(RestTemplate restTemplate, String url, HttpMethod method,
+                         RequestCallback requestCallback, ResponseExtractor<T> responseExtractor) {
+        HostLimiter limiter = hosts.computeIfAbsent(hostKey(url), host -> new HostLimiter(maxConnectionsPerHost));
+
+        try {
+            if (!limiter.permits.tryAcquire(acquireTimeout, TimeUnit.MILLISECONDS)) {
+                limiter.rejected.incrementAndGet();
+                throw new RuntimeException("Timed out after " + acquireTimeout
+                    + " ms waiting for a connection to " + hostKey(url));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a connection to " + hostKey(url), e);
+        }
+
+        try {
+            limiter.requests.incrementAndGet();
+            return restTemplate.execute(url, method, requestCallback, responseExtractor);
+        } finally {
+            limiter.permits.release();
+        }
+    }
+
+    private String hostKey(String url) {
+        URI uri = URI.create(url);
+        return uri.getHost() + ":" + uri.getPort();
+    }
+
+    /**
+     * Per-host in-flight requests, totals and permit timeouts
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("maxConnectionsPerHost", maxConnectionsPerHost);
+        // JVM flag, not a bean property; null means the JDK default of 30 seconds
+        stats.put("keepAliveTimeoutSeconds", System.getProperty("jdk.httpclient.keepalive.timeout"));
+
+        Map<String, Object> hostStats = new HashMap<>();
+        hosts.forEach((host, limiter) -> hostStats.put(host, Map.of(
+            "inFlight", maxConnectionsPerHost - limiter.permits.availablePermits(),
+            "queued", limiter.permits.getQueueLength(),
+            "requests", limiter.requests.get(),
+            "rejected", limiter.rejected.get()
+        )));
+        stats.put("hosts", hostStats);
+        return stats;
+    }
+
+    private static final class HostLimiter {
+        private final Semaphore permits;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        private HostLimiter(int maxConnections) {
+            this.permits = new Semaphore(Math.max(1, maxConnections), true);
+        }
+    }
+}
@@ -1,13 +1,31 @@
 package com.platform.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Comprehensive PDF Generation Service with multiple engines and fallback logic
@@ -26,6 +44,11 @@ public class PdfGenerationService {
     private final GotenbergPdfService gotenbergPdfService;
     private final FlyingSaucerPdfService flyingSaucerPdfService;
     private final TemplateRenderService templateRenderService;
+    private final PdfEngineHttpClient pdfEngineHttpClient;
+    private final PdfOutputCache pdfOutputCache;
+    private final PdfEngineCircuitBreakers circuitBreakers;
+    private final PdfPostProcessor pdfPostProcessor;
+    private final PdfHtmlPipeline pdfHtmlPipeline;
 
     // Constructor with optional PDF services
     public PdfGenerationService(
@@ -33,12 +56,22 @@ public class PdfGenerationService {
             @Autowired(required = false) PlaywrightPdfService playwrightPdfService,
             @Autowired(required = false) GotenbergPdfService gotenbergPdfService,
             FlyingSaucerPdfService flyingSaucerPdfService,
-            TemplateRenderService templateRenderService) {
+            TemplateRenderService templateRenderService,
+            PdfEngineHttpClient pdfEngineHttpClient,
+            PdfOutputCache pdfOutputCache,
+            PdfEngineCircuitBreakers circuitBreakers,
+            PdfPostProcessor pdfPostProcessor,
+            PdfHtmlPipeline pdfHtmlPipeline) {
         this.ironPdfService = ironPdfService;
         this.playwrightPdfService = playwrightPdfService;
         this.gotenbergPdfService = gotenbergPdfService;
         this.flyingSaucerPdfService = flyingSaucerPdfService;
         this.templateRenderService = templateRenderService;
+        this.pdfEngineHttpClient = pdfEngineHttpClient;
+        this.pdfOutputCache = pdfOutputCache;
+        this.circuitBreakers = circuitBreakers;
+        this.pdfPostProcessor = pdfPostProcessor;
+        this.pdfHtmlPipeline = pdfHtmlPipeline;
         
         // Log available services
         StringBuilder availableServices = new StringBuilder("📊 Available PDF engines: ");
@@ -63,6 +96,36 @@ public class PdfGenerationService {
     @Value("${pdf.engine:auto}")
     private String preferredEngine;
 
+    @Value("${pdf.batch.threads:4}")
+    private int batchThreads;
+
+    private ThreadPoolExecutor batchExecutor;
+
+    @PostConstruct
+    public void initializeBatchExecutor() {
+        int poolSize = Math.max(1, batchThreads);
+        AtomicInteger threadCounter = new AtomicInteger();
+
+        // Each batch keeps at most poolSize renders in flight, so the queue only overflows under many
+        // concurrent batches; the overflow then renders on the request thread
+        batchExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(poolSize * 16),
+            runnable -> {
+                Thread thread = new Thread(runnable, "pdf-batch-render-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        batchExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdownBatchExecutor() {
+        if (batchExecutor != null) {
+            batchExecutor.shutdownNow();
+        }
+    }
+
     public enum PdfEngine {
         IRON_PDF("ironpdf", "IronPDF"),
         PLAYWRIGHT("playwright", "Playwright"),
@@ -108,53 +171,117 @@ public class PdfGenerationService {
      */
     public byte[] generatePdf(Long templateId, java.util.Map<String, Object> parameters, 
                              Integer pageNumber, com.platform.enums.PageOrientation orientation) {
+        return generatePdf(templateRenderService.getRenderBundle(templateId), parameters, pageNumber, orientation);
+    }
+
+    /**
+     * Generate PDF from an already loaded render bundle (template, pages, fonts and CSS)
+     */
+    public byte[] generatePdf(TemplateRenderBundle bundle, java.util.Map<String, Object> parameters, 
+                             Integer pageNumber, com.platform.enums.PageOrientation orientation) {
+        return generatePdfResult(PdfEngine.AUTO, bundle, parameters, pageNumber, orientation).pdf();
+    }
+
+    /**
+     * Generate PDF with the given engine (AUTO for fallback across engines), serving identical
+     * requests from the PDF output cache. The result tells whether the PDF came from the cache.
+     */
+    public GeneratedPdf generatePdfResult(PdfEngine engine, TemplateRenderBundle bundle, 
+                                          java.util.Map<String, Object> parameters, 
+                                          Integer pageNumber, com.platform.enums.PageOrientation orientation) {
+        return generatePdfResult(engine, bundle, parameters, PdfPageRange.of(pageNumber), orientation);
+    }
+
+    /**
+     * Generate PDF for a range of pages (null for all pages). Templates with pages render only
+     * the template pages in the range; templates without pages are rendered whole and the PDF
+     * pages are cut out afterwards, the same way for every engine.
+     */
+    public GeneratedPdf generatePdfResult(PdfEngine engine, TemplateRenderBundle bundle, 
+                                          java.util.Map<String, Object> parameters, 
+                                          PdfPageRange pageRange, com.platform.enums.PageOrientation orientation) {
+        String cacheKey = pdfOutputCache.key(bundle, parameters, pageRange, orientation, engine.getCode());
+        byte[] cached = pdfOutputCache.get(cacheKey, bundle.getTemplateId());
+        if (cached != null) {
+            log.info("📦 PDF for template {} served from output cache - Size: {} bytes", bundle.getTemplateId(), cached.length);
+            return new GeneratedPdf(cached, true);
+        }
+
+        RenderedPdf rendered = renderPdf(engine, bundle, parameters, pageRange, orientation);
+        // Output of a fallback engine is not cached, so it is not served once the preferred engine recovers
+        if (engine != PdfEngine.AUTO || rendered.engine() == determineConfiguredEngineOrder().get(0)) {
+            pdfOutputCache.put(cacheKey, bundle.getTemplateId(), rendered.pdf());
+        }
+        return new GeneratedPdf(rendered.pdf(), false);
+    }
+
+    /**
+     * Render and post-process a PDF without the output cache
+     */
+    private RenderedPdf renderPdf(PdfEngine engine, TemplateRenderBundle bundle,
+                                  java.util.Map<String, Object> parameters,
+                                  PdfPageRange pageRange, com.platform.enums.PageOrientation orientation) {
+        RenderedPdf rendered = engine == PdfEngine.AUTO
+            ? renderPdfWithFallback(bundle, parameters, pageRange, orientation)
+            : new RenderedPdf(renderPdfWithEngine(engine, bundle, parameters, pageRange, orientation), engine);
+        return new RenderedPdf(pdfPostProcessor.process(rendered.pdf(), bundle.hasPages() ? null : pageRange), rendered.engine());
+    }
+
+    /**
+     * Generated PDF bytes and whether they were served from the PDF output cache
+     */
+    public record GeneratedPdf(byte[] pdf, boolean cacheHit) {
+    }
+
+    /**
+     * Rendered PDF bytes and the engine that rendered them
+     */
+    private record RenderedPdf(byte[] pdf, PdfEngine engine) {
+    }
+
+    private RenderedPdf renderPdfWithFallback(TemplateRenderBundle bundle, java.util.Map<String, Object> parameters, 
+                                         PdfPageRange pageRange, com.platform.enums.PageOrientation orientation) {
+        Long templateId = bundle.getTemplateId();
+
+        // First, render HTML content
+        String html = renderHtmlContent(bundle, parameters, pageRange);
         
-        // Store template ID in thread-local for context
-        currentTemplateId.set(templateId);
+        // Parse once and enhance for PDF generation; every engine attempt reuses the parsed document
+        PdfHtmlPipeline.PdfHtml enhancedHtml = pdfHtmlPipeline.prepare(html, bundle.getCssStyles(), orientation);
         
-        try {
-            // First, render HTML content
-            String html = renderHtmlContent(templateId, parameters, pageNumber);
-            
-            // Enhance HTML for PDF generation
-            String enhancedHtml = enhanceHtmlForPdf(html, templateId, orientation);
-            
-            // Determine engine order based on configuration
-            List<PdfEngine> engineOrder = determineEngineOrder();
-            
-            log.info("🔄 Starting PDF generation for template {} with engines: {}", 
-                templateId, engineOrder.stream().map(PdfEngine::getDisplayName).toList());
+        // Determine engine order based on configuration
+        List<PdfEngine> engineOrder = determineEngineOrder();
+        
+        log.info("🔄 Starting PDF generation for template {} with engines: {}", 
+            templateId, engineOrder.stream().map(PdfEngine::getDisplayName).toList());
 
-            Exception lastException = null;
-            
-            // Try each engine in order
-            for (PdfEngine engine : engineOrder) {
-                try {
-                    byte[] pdf = generateWithEngine(engine, enhancedHtml, pageNumber, orientation);
-                    if (pdf != null && pdf.length > 0) {
-                        log.info("✅ PDF generated successfully with {} - Size: {} bytes, Pages: {}", 
-                            engine.getDisplayName(), pdf.length, pageNumber != null ? "page " + pageNumber : "all");
-                        return pdf;
-                    }
-                } catch (Exception e) {
-                    lastException = e;
-                    log.warn("⚠️ {} failed: {} - Trying next engine...", engine.getDisplayName(), e.getMessage());
+        PdfEngine lastResort = lastResortEngine(engineOrder);
+        Exception lastException = null;
+        
+        // Try each engine in order, skipping engines whose circuit breaker is open
+        for (PdfEngine engine : engineOrder) {
+            if (!acquireEngine(engine, lastResort)) {
+                continue;
+            }
+            try {
+                byte[] pdf = callEngine(engine, enhancedHtml, orientation, bundle.getFonts());
+                if (pdf != null && pdf.length > 0) {
+                    log.info("✅ PDF generated successfully with {} - Size: {} bytes, Pages: {}", 
+                        engine.getDisplayName(), pdf.length, pageRange != null ? pageRange : "all");
+                    return new RenderedPdf(pdf, engine);
                 }
+            } catch (Exception e) {
+                lastException = e;
+                log.warn("⚠️ {} failed: {} - Trying next engine...", engine.getDisplayName(), e.getMessage());
             }
-
-            // All engines failed
-            String errorMsg = "All PDF engines failed. Last error: " + 
-                (lastException != null ? lastException.getMessage() : "Unknown error");
-            log.error("❌ PDF generation completely failed for template {}: {}", templateId, errorMsg);
-            throw new RuntimeException(errorMsg, lastException);
-        } finally {
-            // Clean up thread-local
-            currentTemplateId.remove();
         }
-    }
 
-    // Thread-local to store current template ID for context
-    private final ThreadLocal<Long> currentTemplateId = new ThreadLocal<>();
+        // All engines failed
+        String errorMsg = "All PDF engines failed. Last error: " + 
+            (lastException != null ? lastException.getMessage() : "Unknown error");
+        log.error("❌ PDF generation completely failed for template {}: {}", templateId, errorMsg);
+        throw new RuntimeException(errorMsg, lastException);
+    }
 
     /**
      * Generate PDF using specific engine (for testing/debugging)
@@ -163,21 +290,160 @@ public class PdfGenerationService {
                                        java.util.Map<String, Object> parameters, 
                                        Integer pageNumber, 
                                        com.platform.enums.PageOrientation orientation) {
+        return generatePdfWithEngine(engine, templateRenderService.getRenderBundle(templateId), parameters, pageNumber, orientation);
+    }
+
+    public byte[] generatePdfWithEngine(PdfEngine engine, TemplateRenderBundle bundle, 
+                                       java.util.Map<String, Object> parameters, 
+                                       Integer pageNumber, 
+                                       com.platform.enums.PageOrientation orientation) {
+        return generatePdfResult(engine, bundle, parameters, pageNumber, orientation).pdf();
+    }
+
+    private byte[] renderPdfWithEngine(PdfEngine engine, TemplateRenderBundle bundle, 
+                                       java.util.Map<String, Object> parameters, 
+                                       PdfPageRange pageRange, 
+                                       com.platform.enums.PageOrientation orientation) {
+        String html = renderHtmlContent(bundle, parameters, pageRange);
+        PdfHtmlPipeline.PdfHtml enhancedHtml = pdfHtmlPipeline.prepare(html, bundle.getCssStyles(), orientation);
         
-        // Store template ID in thread-local for context
-        currentTemplateId.set(templateId);
-        
+        return callEngine(engine, enhancedHtml, orientation, bundle.getFonts());
+    }
+
+    /**
+     * Run one small document through every available engine so the first real request does not
+     * pay for browser start-up, connection setup or font loading. Returns per-engine results.
+     */
+    public java.util.Map<String, Object> warmUpEngines() {
+        java.util.Map<String, Object> results = new java.util.LinkedHashMap<>();
+        PdfHtmlPipeline.PdfHtml html = pdfHtmlPipeline.of(
+            "<html><head><title>Warm-up</title></head><body><p>PDF engine warm-up</p></body></html>",
+            com.platform.enums.PageOrientation.PORTRAIT);
+
+        for (PdfEngine engine : determineEngineOrder()) {
+            long start = System.currentTimeMillis();
+            try {
+                byte[] pdf = callEngine(engine, html, com.platform.enums.PageOrientation.PORTRAIT, List.of());
+                long elapsed = System.currentTimeMillis() - start;
+                results.put(engine.getCode(), java.util.Map.of("success", true, "durationMs", elapsed, "size", pdf.length));
+                log.info("🔥 {} warmed up in {} ms", engine.getDisplayName(), elapsed);
+            } catch (Exception e) {
+                results.put(engine.getCode(), java.util.Map.of("success", false, "error", String.valueOf(e.getMessage())));
+                log.warn("⚠️ {} warm-up failed: {}", engine.getDisplayName(), e.getMessage());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Render one template for many parameter sets and write a ZIP with one PDF per parameter set
+     * to {@code out}, in input order. A parameter set that fails to render is written as a
+     * {@code .error.txt} entry instead of aborting the whole batch.
+     */
+    public void writeBatchZip(TemplateRenderBundle bundle, List<java.util.Map<String, Object>> parameterSets,
+                              PdfPageRange pageRange, com.platform.enums.PageOrientation orientation,
+                              PdfEngine engine, OutputStream out) throws IOException {
+        String baseName = bundle.getName().replaceAll("[^a-zA-Z0-9._-]", "_");
+        int digits = String.valueOf(parameterSets.size()).length();
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        renderBatch(bundle, parameterSets, pageRange, orientation, engine, (index, pdf, error) -> {
+            String entryName = baseName + "_" + String.format("%0" + digits + "d", index + 1);
+            if (error != null) {
+                zip.putNextEntry(new ZipEntry(entryName + ".error.txt"));
+                zip.write(String.valueOf(error.getMessage()).getBytes(StandardCharsets.UTF_8));
+            } else {
+                zip.putNextEntry(new ZipEntry(entryName + ".pdf"));
+                zip.write(pdf);
+            }
+            zip.closeEntry();
+            zip.flush();
+        });
+        zip.finish();
+    }
+
+    /**
+     * Render one template for many parameter sets and write a single merged PDF to {@code out}.
+     * Rendered documents are spooled to temporary files and merged with a temp-file stream cache,
+     * so the batch is never held in memory as a whole. Any failed parameter set fails the batch.
+     */
+    public void writeBatchMerged(TemplateRenderBundle bundle, List<java.util.Map<String, Object>> parameterSets,
+                                 PdfPageRange pageRange, com.platform.enums.PageOrientation orientation,
+                                 PdfEngine engine, OutputStream out) throws IOException {
+        Path spoolDir = Files.createTempDirectory("pdf-batch-");
         try {
-            String html = renderHtmlContent(templateId, parameters, pageNumber);
-            String enhancedHtml = enhanceHtmlForPdf(html, templateId, orientation);
-            
-            return generateWithEngine(engine, enhancedHtml, pageNumber, orientation);
+            List<File> spooled = new ArrayList<>(parameterSets.size());
+            renderBatch(bundle, parameterSets, pageRange, orientation, engine, (index, pdf, error) -> {
+                if (error != null) {
+                    throw new IOException("Parameter set " + (index + 1) + " failed: " + error.getMessage(), error);
+                }
+                Path file = spoolDir.resolve(index + ".pdf");
+                Files.write(file, pdf);
+                spooled.add(file.toFile());
+            });
+
+            pdfPostProcessor.merge(spooled, out);
         } finally {
-            // Clean up thread-local
-            currentTemplateId.remove();
+            FileSystemUtils.deleteRecursively(spoolDir);
         }
     }
 
+    /**
+     * Receives batch results in input order
+     */
+    @FunctionalInterface
+    private interface BatchResultHandler {
+        void accept(int index, byte[] pdf, Exception error) throws IOException;
+    }
+
+    /**
+     * Render all parameter sets on the batch pool with at most {@code batchThreads} renders in
+     * flight per batch, handing results over in input order as soon as each is ready. The bundle
+     * is shared, so the template is loaded and compiled once for the whole batch. Batch documents
+     * bypass the PDF output cache so one large batch does not flush it.
+     */
+    private void renderBatch(TemplateRenderBundle bundle, List<java.util.Map<String, Object>> parameterSets,
+                             PdfPageRange pageRange, com.platform.enums.PageOrientation orientation,
+                             PdfEngine engine, BatchResultHandler handler) throws IOException {
+        int window = Math.max(1, batchThreads);
+        ArrayDeque<Future<byte[]>> inFlight = new ArrayDeque<>();
+        int submitted = 0;
+        int completed = 0;
+        long start = System.currentTimeMillis();
+
+        log.info("🔄 Starting batch PDF generation for template {}: {} documents", bundle.getTemplateId(), parameterSets.size());
+
+        try {
+            while (completed < parameterSets.size()) {
+                while (submitted < parameterSets.size() && inFlight.size() < window) {
+                    java.util.Map<String, Object> parameters = parameterSets.get(submitted++);
+                    inFlight.addLast(batchExecutor.submit(() ->
+                        renderPdf(engine, bundle, parameters, pageRange, orientation).pdf()));
+                }
+
+                Future<byte[]> next = inFlight.pollFirst();
+                byte[] pdf = null;
+                Exception error = null;
+                try {
+                    pdf = next.get();
+                } catch (ExecutionException e) {
+                    error = e.getCause() instanceof Exception cause ? cause : e;
+                    log.warn("⚠️ Batch document {} of template {} failed: {}", completed + 1, bundle.getTemplateId(), error.getMessage());
+                }
+                handler.accept(completed++, pdf, error);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch PDF generation interrupted", e);
+        } finally {
+            // Client disconnects or failures stop the renders that are still queued
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        log.info("✅ Batch PDF generation for template {} completed: {} documents in {} ms",
+            bundle.getTemplateId(), completed, System.currentTimeMillis() - start);
+    }
+
     /**
      * Get available PDF engines status
      */
@@ -187,27 +453,35 @@ public class PdfGenerationService {
         status.put("ironpdf", java.util.Map.of(
             "available", ironPdfService != null && ironPdfService.isAvailable(),
             "description", ironPdfService != null ? "Premium PDF engine with best quality" : "IronPDF service disabled",
-            "priority", 1
+            "priority", 1,
+            "circuitBreaker", circuitBreakers.getStatus(PdfEngine.IRON_PDF)
         ));
         
         status.put("playwright", java.util.Map.of(
             "available", playwrightPdfService != null && playwrightPdfService.isAvailable(),
             "description", playwrightPdfService != null ? "Modern PDF engine with full CSS support" : "Playwright service disabled",
-            "priority", 2
+            "priority", 2,
+            "circuitBreaker", circuitBreakers.getStatus(PdfEngine.PLAYWRIGHT),
+            "pool", playwrightPdfService != null ? playwrightPdfService.getPoolStatistics() : java.util.Map.of()
         ));
         
         status.put("gotenberg", java.util.Map.of(
             "available", gotenbergPdfService != null && gotenbergPdfService.isAvailable(),
             "description", gotenbergPdfService != null ? "Free Docker-based PDF engine with high quality" : "Gotenberg service disabled",
-            "priority", 3
+            "priority", 3,
+            "circuitBreaker", circuitBreakers.getStatus(PdfEngine.GOTENBERG)
         ));
         
         status.put("flyingsaucer", java.util.Map.of(
             "available", flyingSaucerPdfService.isAvailable(),
             "description", "Reliable fallback PDF engine",
-            "priority", 4
+            "priority", 4,
+            "circuitBreaker", circuitBreakers.getStatus(PdfEngine.FLYING_SAUCER),
+            "renderers", flyingSaucerPdfService.getRendererStatistics()
         ));
         
+        status.put("httpClient", pdfEngineHttpClient.getStatistics());
+        status.put("htmlPipeline", pdfHtmlPipeline.getStatistics());
         status.put("preferredEngine", preferredEngine);
         status.put("engineOrder", determineEngineOrder().stream()
             .map(PdfEngine::getDisplayName).toList());
@@ -215,34 +489,29 @@ public class PdfGenerationService {
         return status;
     }
 
-    private String renderHtmlContent(Long templateId, java.util.Map<String, Object> parameters, Integer pageNumber) {
+    private String renderHtmlContent(TemplateRenderBundle bundle, java.util.Map<String, Object> parameters, PdfPageRange pageRange) {
         try {
-            if (pageNumber != null) {
-                return templateRenderService.renderSpecificPage(templateId, pageNumber, parameters);
+            if (pageRange != null) {
+                return templateRenderService.renderPageRange(bundle, pageRange, parameters);
             } else {
-                return templateRenderService.renderHtml(templateId, parameters);
+                return templateRenderService.renderHtml(bundle, parameters);
             }
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("❌ Failed to render HTML for template {}: {}", templateId, e.getMessage());
+            log.error("❌ Failed to render HTML for template {}: {}", bundle.getTemplateId(), e.getMessage());
             throw new RuntimeException("Failed to render template HTML", e);
         }
     }
 
-    private String enhanceHtmlForPdf(String html, Long templateId, com.platform.enums.PageOrientation orientation) {
-        try {
-            // Get template for CSS styles
-            com.platform.entity.Template template = templateRenderService.templateRepository.findById(templateId)
-                .orElseThrow(() -> new RuntimeException("Template not found"));
-            
-            // Use existing enhancement logic from TemplateRenderService
-            return templateRenderService.enhanceHtmlForPdf(html, template.getCssStyles(), orientation);
-        } catch (Exception e) {
-            log.warn("⚠️ Failed to enhance HTML, using original: {}", e.getMessage());
-            return html;
-        }
+    /**
+     * Configured engine order, re-ranked by live engine health (circuit breaker state and rolling error/latency rates)
+     */
+    private List<PdfEngine> determineEngineOrder() {
+        return circuitBreakers.rank(determineConfiguredEngineOrder());
     }
 
-    private List<PdfEngine> determineEngineOrder() {
+    private List<PdfEngine> determineConfiguredEngineOrder() {
         PdfEngine preferred = PdfEngine.fromCode(preferredEngine);
         
         if (preferred != PdfEngine.AUTO) {
@@ -289,17 +558,17 @@ public class PdfGenerationService {
     private List<PdfEngine> buildEngineOrder(PdfEngine first, PdfEngine second, PdfEngine third, PdfEngine fourth) {
         List<PdfEngine> engines = new ArrayList<>();
         
-        // Add engines only if their services are available
-        if (isEngineServiceAvailable(first)) {
+        // Add every configured engine; whether it can take calls right now is up to its circuit breaker
+        if (isEngineConfigured(first)) {
             engines.add(first);
         }
-        if (isEngineServiceAvailable(second)) {
+        if (isEngineConfigured(second)) {
             engines.add(second);
         }
-        if (isEngineServiceAvailable(third)) {
+        if (isEngineConfigured(third)) {
             engines.add(third);
         }
-        if (isEngineServiceAvailable(fourth)) {
+        if (isEngineConfigured(fourth)) {
             engines.add(fourth);
         }
         
@@ -311,53 +580,128 @@ public class PdfGenerationService {
         return engines;
     }
     
+    private boolean isEngineConfigured(PdfEngine engine) {
+        return switch (engine) {
+            case IRON_PDF -> ironPdfService != null;
+            case PLAYWRIGHT -> playwrightPdfService != null;
+            case GOTENBERG -> gotenbergPdfService != null;
+            case FLYING_SAUCER -> true;
+            default -> false;
+        };
+    }
+
     private boolean isEngineServiceAvailable(PdfEngine engine) {
         return switch (engine) {
             case IRON_PDF -> ironPdfService != null && ironPdfService.isAvailable();
             case PLAYWRIGHT -> playwrightPdfService != null && playwrightPdfService.isAvailable();
             case GOTENBERG -> gotenbergPdfService != null && gotenbergPdfService.isAvailable();
-            case FLYING_SAUCER -> flyingSaucerPdfService != null && flyingSaucerPdfService.isAvailable();
+            case FLYING_SAUCER -> flyingSaucerPdfService.isAvailable();
             default -> false;
         };
     }
 
-    private byte[] generateWithEngine(PdfEngine engine, String html, Integer pageNumber, 
-                                     com.platform.enums.PageOrientation orientation) {
+    /**
+     * Engines that are configured but failed to start begin with an open circuit breaker, so they
+     * are skipped at first and probed again once the breaker half-opens
+     */
+    @PostConstruct
+    public void openBreakersOfUnavailableEngines() {
+        for (PdfEngine engine : List.of(PdfEngine.IRON_PDF, PdfEngine.PLAYWRIGHT, PdfEngine.GOTENBERG)) {
+            if (isEngineConfigured(engine) && !isEngineServiceAvailable(engine)) {
+                circuitBreakers.open(engine, "not available at startup");
+            }
+        }
+    }
+
+    /**
+     * Last available engine in the order, tried even when its circuit breaker is open
+     */
+    private PdfEngine lastResortEngine(List<PdfEngine> engineOrder) {
+        for (int i = engineOrder.size() - 1; i >= 0; i--) {
+            if (isEngineServiceAvailable(engineOrder.get(i))) {
+                return engineOrder.get(i);
+            }
+        }
+        throw new RuntimeException("No PDF engine is available: none of "
+            + engineOrder.stream().map(PdfEngine::getDisplayName).toList() + " initialized successfully");
+    }
+
+    /**
+     * Whether the engine may be tried now. The last-resort engine is always tried, so a request
+     * never fails only because every breaker is open.
+     */
+    private boolean acquireEngine(PdfEngine engine, PdfEngine lastResort) {
+        if (circuitBreakers.tryAcquire(engine)) {
+            return true;
+        }
+        if (engine == lastResort) {
+            log.warn("⚠️ All PDF engines have open circuit breakers, trying {} as last resort", engine.getDisplayName());
+            return true;
+        }
+        log.info("⏭️ Skipping {} - circuit breaker is open", engine.getDisplayName());
+        return false;
+    }
+
+    /**
+     * Generate with one engine and record the outcome and latency in its circuit breaker
+     */
+    private byte[] callEngine(PdfEngine engine, PdfHtmlPipeline.PdfHtml html, 
+                              com.platform.enums.PageOrientation orientation,
+                              List<TemplateRenderBundle.Font> fonts) {
+        long start = System.currentTimeMillis();
+        try {
+            byte[] pdf = generateWithEngine(engine, html, orientation, fonts);
+            long elapsed = System.currentTimeMillis() - start;
+            if (pdf == null || pdf.length == 0) {
+                circuitBreakers.recordFailure(engine, elapsed);
+            } else {
+                circuitBreakers.recordSuccess(engine, elapsed);
+            }
+            return pdf;
+        } catch (RuntimeException e) {
+            circuitBreakers.recordFailure(engine, System.currentTimeMillis() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Render the whole HTML document with one engine; page selection is done before (template pages)
+     * or after (PDF post-processing) the engine call, never by the engine itself
+     */
+    private byte[] generateWithEngine(PdfEngine engine, PdfHtmlPipeline.PdfHtml html, 
+                                     com.platform.enums.PageOrientation orientation,
+                                     List<TemplateRenderBundle.Font> fonts) {
         return switch (engine) {
             case IRON_PDF -> {
                 if (ironPdfService == null || !ironPdfService.isAvailable()) {
                     throw new RuntimeException("IronPDF is not available (service disabled or not initialized)");
                 }
-                yield ironPdfService.generatePdfFromHtml(html, pageNumber, orientation);
+                yield ironPdfService.generatePdfFromHtml(html.html(), null, orientation);
             }
             case PLAYWRIGHT -> {
                 if (playwrightPdfService == null || !playwrightPdfService.isAvailable()) {
                     throw new RuntimeException("Playwright is not available (service disabled or not initialized)");
                 }
-                yield playwrightPdfService.generatePdfFromHtml(html, pageNumber, orientation);
+                yield playwrightPdfService.generatePdfFromHtml(html.html(), null, orientation);
             }
             case GOTENBERG -> {
                 if (gotenbergPdfService == null || !gotenbergPdfService.isAvailable()) {
                     throw new RuntimeException("Gotenberg is not available (service disabled or not initialized)");
                 }
-                yield gotenbergPdfService.generatePdfFromHtml(html, pageNumber, orientation);
+                // Gotenberg's own CSS is applied as a pipeline stage
+                yield gotenbergPdfService.generatePdf(html.forEngine(PdfEngine.GOTENBERG), orientation);
             }
             case FLYING_SAUCER -> {
                 if (!flyingSaucerPdfService.isAvailable()) {
                     throw new RuntimeException("Flying Saucer is not available");
                 }
-                // Extract template ID from the HTML rendering context if needed
-                Long templateId = extractTemplateIdFromContext();
-                yield flyingSaucerPdfService.generatePdfFromHtml(html, pageNumber, orientation, templateId);
+                // Fonts come from the template's render bundle (none for direct HTML)
+                yield flyingSaucerPdfService.generatePdf(html.forEngine(PdfEngine.FLYING_SAUCER), orientation, fonts);
             }
             default -> throw new RuntimeException("Unsupported PDF engine: " + engine);
         };
     }
 
-    private Long extractTemplateIdFromContext() {
-        return currentTemplateId.get();
-    }
-
     /**
      * Generate PDF directly from HTML content (for testing purposes)
      */
@@ -367,21 +711,25 @@ public class PdfGenerationService {
                 pageNumber != null ? pageNumber : "all", orientation);
 
             // Enhance HTML for PDF generation
-            String enhancedHtml = enhanceHtmlForPdfDirect(html, orientation);
+            PdfHtmlPipeline.PdfHtml enhancedHtml = pdfHtmlPipeline.prepareDirect(html, orientation);
             
             // Determine engine order based on configuration
             List<PdfEngine> engineOrder = determineEngineOrder();
             
+            PdfEngine lastResort = lastResortEngine(engineOrder);
             Exception lastException = null;
             
-            // Try each engine in order
+            // Try each engine in order, skipping engines whose circuit breaker is open
             for (PdfEngine engine : engineOrder) {
+                if (!acquireEngine(engine, lastResort)) {
+                    continue;
+                }
                 try {
-                    byte[] pdf = generateWithEngine(engine, enhancedHtml, pageNumber, orientation);
+                    byte[] pdf = callEngine(engine, enhancedHtml, orientation, List.of());
                     if (pdf != null && pdf.length > 0) {
                         log.info("✅ PDF generated successfully with {} - Size: {} bytes", 
                             engine.getDisplayName(), pdf.length);
-                        return pdf;
+                        return pdfPostProcessor.process(pdf, PdfPageRange.of(pageNumber));
                     }
                 } catch (Exception e) {
                     lastException = e;
@@ -409,8 +757,9 @@ public class PdfGenerationService {
         try {
             log.info("🔄 Generating PDF directly with {} - HTML length: {}", engine.getDisplayName(), html.length());
             
-            String enhancedHtml = enhanceHtmlForPdfDirect(html, orientation);
-            return generateWithEngine(engine, enhancedHtml, pageNumber, orientation);
+            PdfHtmlPipeline.PdfHtml enhancedHtml = pdfHtmlPipeline.prepareDirect(html, orientation);
+            byte[] pdf = callEngine(engine, enhancedHtml, orientation, List.of());
+            return pdfPostProcessor.process(pdf, PdfPageRange.of(pageNumber));
             
         } catch (Exception e) {
             log.error("❌ Direct PDF generation with {} failed: {}", engine.getDisplayName(), e.getMessage(), e);
@@ -418,64 +767,4 @@ public class PdfGenerationService {
         }
     }
 
-    /**
-     * Enhance HTML for PDF generation (direct mode - no template context)
-     */
-    private String enhanceHtmlForPdfDirect(String html, com.platform.enums.PageOrientation orientation) {
-        try {
-            // Add basic PDF-friendly CSS if not present
-            if (!html.toLowerCase().contains("<style>") && !html.toLowerCase().contains("stylesheet")) {
-                String pdfCss = """
-                    <style>
-                        @page {
-                            size: %s;
-                            margin: 20mm;
-                        }
-                        body {
-                            font-family: Arial, sans-serif;
-                            font-size: 12pt;
-                            line-height: 1.4;
-                            color: #333;
-                            margin: 0;
-                            padding: 20px;
-                        }
-                        h1, h2, h3, h4, h5, h6 {
-                            color: #333;
-                            margin-top: 0;
-                        }
-                        table {
-                            border-collapse: collapse;
-                            width: 100%%;
-                        }
-                        th, td {
-                            border: 1px solid #ddd;
-                            padding: 8px;
-                            text-align: left;
-                        }
-                        th {
-                            background-color: #f2f2f2;
-                        }
-                        @media print {
-                            body { margin: 0; }
-                            .no-print { display: none; }
-                        }
-                    </style>
-                    """.formatted(orientation.isLandscape() ? "A4 landscape" : "A4 portrait");
-                
-                // Insert CSS after <head> tag or at the beginning
-                if (html.toLowerCase().contains("<head>")) {
-                    html = html.replaceFirst("(?i)<head>", "<head>" + pdfCss);
-                } else if (html.toLowerCase().contains("<html>")) {
-                    html = html.replaceFirst("(?i)<html>", "<html><head>" + pdfCss + "</head>");
-                } else {
-                    html = "<html><head>" + pdfCss + "</head><body>" + html + "</body></html>";
-                }
-            }
-            
-            return html;
-        } catch (Exception e) {
-            log.warn("⚠️ Failed to enhance HTML for PDF, using original: {}", e.getMessage());
-            return html;
-        }
-    }
 }
\ No newline at end of file
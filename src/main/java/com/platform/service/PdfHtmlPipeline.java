@@ -0,0 +1,244 @@
+package com.platform.service;
+
+import com.platform.enums.PageOrientation;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * HTML post-processing for the PDF engines.
+ *
+ * Rendered HTML is parsed once into a DOM and given the common PDF enhancements. Engines that need
+ * their own transforms (Gotenberg CSS, Flying Saucer XHTML) register them as stages and get a copy
+ * of the prepared DOM with their stages applied; the other engines share one serialization of it.
+ * So each engine attempt serializes the document exactly once and nothing is parsed twice.
+ * Time spent in parsing, serialization and every stage is recorded per stage name.
+ */
+@Component
+@Slf4j
+public class PdfHtmlPipeline {
+
+    /**
+     * Transform applied to a document before it is handed to an engine
+     */
+    @FunctionalInterface
+    public interface Stage {
+        void apply(Document document, PageOrientation orientation);
+    }
+
+    private record NamedStage(String name, Stage stage) {
+    }
+
+    private static final Map<PageOrientation, String> DIRECT_CSS = PdfCss.byOrientation(orientation -> """
+        @page {
+            size: %s;
+            margin: 20mm;
+        }
+        body {
+            font-family: Arial, sans-serif;
+            font-size: 12pt;
+            line-height: 1.4;
+            color: #333;
+            margin: 0;
+            padding: 20px;
+        }
+        h1, h2, h3, h4, h5, h6 {
+            color: #333;
+            margin-top: 0;
+        }
+        table {
+            border-collapse: collapse;
+            width: 100%%;
+        }
+        th, td {
+            border: 1px solid #ddd;
+            padding: 8px;
+            text-align: left;
+        }
+        th {
+            background-color: #f2f2f2;
+        }
+        @media print {
+            body { margin: 0; }
+            .no-print { display: none; }
+        }
+        """.formatted(orientation.isLandscape() ? "A4 landscape" : "A4 portrait"));
+
+    private final Map<PdfGenerationService.PdfEngine, List<NamedStage>> engineStages =
+        new EnumMap<>(PdfGenerationService.PdfEngine.class);
+    private final Map<String, StageTimer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Register a transform applied to the documents handed to the given engine, in registration order
+     */
+    public synchronized void registerStage(PdfGenerationService.PdfEngine engine, String name, Stage stage) {
+        engineStages.computeIfAbsent(engine, e -> new ArrayList<>()).add(new NamedStage(name, stage));
+        log.debug("Registered PDF HTML stage '{}' for {}", name, engine.getDisplayName());
+    }
+
+    private synchronized List<NamedStage> stagesFor(PdfGenerationService.PdfEngine engine) {
+        return List.copyOf(engineStages.getOrDefault(engine, List.of()));
+    }
+
+    /**
+     * Parse rendered template HTML and apply the common PDF enhancements (template CSS, print CSS)
+     */
+    public PdfHtml prepare(String html, String css, PageOrientation orientation) {
+        Document document = parse(html);
+        runStage("enhance", () -> enhanceForPdf(document, css, orientation));
+        return new PdfHtml(document, orientation);
+    }
+
+    /**
+     * Parse HTML that did not come from a template, adding basic PDF CSS when it has no styles of its own
+     */
+    public PdfHtml prepareDirect(String html, PageOrientation orientation) {
+        Document document = parse(html);
+        runStage("direct-css", () -> {
+            if (document.select("style, link[rel=stylesheet]").isEmpty()) {
+                document.head().prependElement("style").text(DIRECT_CSS.get(orientation));
+            }
+        });
+        return new PdfHtml(document, orientation);
+    }
+
+    /**
+     * Parse HTML as-is, without enhancements
+     */
+    public PdfHtml of(String html, PageOrientation orientation) {
+        return new PdfHtml(parse(html), orientation);
+    }
+
+    private Document parse(String html) {
+        return time("parse", () -> Jsoup.parse(html));
+    }
+
+    /**
+     * Common PDF enhancements: viewport, template CSS (unless the HTML has its own styles) and print CSS
+     */
+    public static void enhanceForPdf(Document document, String css, PageOrientation orientation) {
+        Element head = document.head();
+
+        // Add viewport meta tag for better rendering
+        if (document.select("meta[name=viewport]").isEmpty()) {
+            head.appendElement("meta")
+                .attr("name", "viewport")
+                .attr("content", "width=device-width, initial-scale=1.0");
+        }
+
+        // Add CSS if not already present
+        if (css != null && !css.trim().isEmpty() && document.select("style").isEmpty()) {
+            head.appendElement("style")
+                .attr("type", "text/css")
+                .text(css);
+        }
+
+        // Add print-friendly CSS with orientation (built once per orientation)
+        head.appendElement("style")
+            .attr("type", "text/css")
+            .attr("media", "print")
+            .text(PdfCss.printCss(orientation));
+    }
+
+    private void runStage(String name, Runnable stage) {
+        time(name, () -> {
+            try {
+                stage.run();
+            } catch (RuntimeException e) {
+                // A failed transform leaves the document as it was; rendering continues without it
+                log.warn("⚠️ PDF HTML stage '{}' failed, continuing without it: {}", name, e.getMessage());
+            }
+            return null;
+        });
+    }
+
+    private <T> T time(String name, Supplier<T> step) {
+        long start = System.nanoTime();
+        try {
+            return step.get();
+        } finally {
+            timers.computeIfAbsent(name, n -> new StageTimer()).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Invocation count and timing per stage (parse, enhance, engine stages, serialize)
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        timers.forEach((name, timer) -> stats.put(name, timer.toMap()));
+        return stats;
+    }
+
+    /**
+     * A parsed and enhanced document, shared by all engine attempts of one request
+     */
+    public final class PdfHtml {
+        private final Document document;
+        private final PageOrientation orientation;
+        private String html;
+
+        private PdfHtml(Document document, PageOrientation orientation) {
+            this.document = document;
+            this.orientation = orientation;
+        }
+
+        /**
+         * The prepared document serialized once, for engines without stages of their own
+         */
+        public synchronized String html() {
+            if (html == null) {
+                html = time("serialize", document::outerHtml);
+            }
+            return html;
+        }
+
+        /**
+         * A copy of the prepared document with the engine's stages applied; the engine serializes it
+         */
+        public Document forEngine(PdfGenerationService.PdfEngine engine) {
+            Document copy = time("clone", document::clone);
+            for (NamedStage stage : stagesFor(engine)) {
+                runStage(stage.name(), () -> stage.stage().apply(copy, orientation));
+            }
+            return copy;
+        }
+
+        public PageOrientation getOrientation() {
+            return orientation;
+        }
+    }
+
+    private static final class StageTimer {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private Map<String, Object> toMap() {
+            long calls = count.get();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", calls);
+            stats.put("totalMs", totalNanos.get() / 1_000_000);
+            stats.put("avgMs", calls > 0 ? totalNanos.get() / 1_000_000.0 / calls : 0.0);
+            stats.put("maxMs", maxNanos.get() / 1_000_000.0);
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.platform.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An asynchronous document generation request (PDF or Word) and its outcome.
+ *
+ * Request fields are fixed at submission; state fields are written by the worker that
+ * runs the job and published to pollers through {@link #getCompletion()}.
+ */
+public class PdfJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    public enum Format {
+        PDF("pdf", "application/pdf", "pdf-jobs"),
+        DOCX("docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document", "word-jobs");
+
+        private final String extension;
+        private final String mimeType;
+        private final String folder;
+
+        Format(String extension, String mimeType, String folder) {
+            this.extension = extension;
+            this.mimeType = mimeType;
+            this.folder = folder;
+        }
+
+        public String getExtension() { return extension; }
+        public String getMimeType() { return mimeType; }
+        public String getFolder() { return folder; }
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Format format;
+    private final Long templateId;
+    private final Long corporateId;
+    private final Long appId;
+    private final Map<String, Object> parameters;
+    private final PdfPageRange pageRange;
+    private final PdfGenerationService.PdfEngine engine;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final long submittedNanos = System.nanoTime();
+    private final CompletableFuture<PdfJob> completion = new CompletableFuture<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile long queueWaitMs;
+    private volatile long renderTimeMs;
+    private volatile String fileName;
+    private volatile Long fileSize;
+    private volatile boolean cacheHit;
+    private volatile String providerKey;
+    private volatile String resultUrl;
+    private volatile String error;
+
+    public PdfJob(Long templateId, Long corporateId, Long appId, Map<String, Object> parameters,
+                  PdfPageRange pageRange, PdfGenerationService.PdfEngine engine) {
+        this(Format.PDF, templateId, corporateId, appId, parameters, pageRange, engine);
+    }
+
+    /**
+     * Job for the given output format; Word jobs have no page range or engine
+     */
+    public PdfJob(Format format, Long templateId, Long corporateId, Long appId, Map<String, Object> parameters,
+                  PdfPageRange pageRange, PdfGenerationService.PdfEngine engine) {
+        this.format = format;
+        this.templateId = templateId;
+        this.corporateId = corporateId;
+        this.appId = appId;
+        this.parameters = parameters;
+        this.pageRange = pageRange;
+        this.engine = engine;
+    }
+
+    void markRunning() {
+        queueWaitMs = (System.nanoTime() - submittedNanos) / 1_000_000;
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void markCompleted(String fileName, long fileSize, boolean cacheHit, String providerKey, String resultUrl, long renderTimeMs) {
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+        this.cacheHit = cacheHit;
+        this.providerKey = providerKey;
+        this.resultUrl = resultUrl;
+        this.renderTimeMs = renderTimeMs;
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+        completion.complete(this);
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+        completion.complete(this);
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public String getId() { return id; }
+    public Format getFormat() { return format; }
+    public Long getTemplateId() { return templateId; }
+    public Long getCorporateId() { return corporateId; }
+    public Long getAppId() { return appId; }
+    public Map<String, Object> getParameters() { return parameters; }
+    public PdfPageRange getPageRange() { return pageRange; }
+    public PdfGenerationService.PdfEngine getEngine() { return engine; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public Status getStatus() { return status; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public long getQueueWaitMs() { return queueWaitMs; }
+    public long getRenderTimeMs() { return renderTimeMs; }
+    public String getFileName() { return fileName; }
+    public Long getFileSize() { return fileSize; }
+    public boolean isCacheHit() { return cacheHit; }
+    public String getProviderKey() { return providerKey; }
+    public String getResultUrl() { return resultUrl; }
+    public String getError() { return error; }
+
+    /**
+     * Completes (with this job) when the job finishes, successfully or not
+     */
+    public CompletableFuture<PdfJob> getCompletion() { return completion; }
+}
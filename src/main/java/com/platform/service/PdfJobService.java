@@ -0,0 +1,286 @@
+package com.platform.service;
+
+import com.platform.dto.PdfJobResponse;
+import com.platform.media.model.AccessType;
+import com.platform.media.model.FilePayload;
+import com.platform.media.model.UploadResult;
+import com.platform.media.provider.MediaProvider;
+import com.platform.media.provider.MediaProviderFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs PDF and Word generation as background jobs so request threads are not held for the whole
+ * engine call or conversion.
+ *
+ * Jobs are queued per tenant (corporate) and taken round-robin by a fixed set of worker threads.
+ * Finished documents are stored through the default media provider; jobs and their files are removed
+ * once they are older than the configured TTL. Job state is held in memory, so a job can only be
+ * polled on the instance that accepted it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PdfJobService {
+
+    private final TemplateRenderService templateRenderService;
+    private final PdfGenerationService pdfGenerationService;
+    private final WordGenerationService wordGenerationService;
+    private final MediaProviderFactory mediaProviderFactory;
+
+    @Value("${pdf.jobs.workers:4}")
+    private int workerCount;
+
+    @Value("${pdf.jobs.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${pdf.jobs.tenant-queue-capacity:100}")
+    private int tenantQueueCapacity;
+
+    @Value("${pdf.jobs.ttl:3600000}")
+    private long ttl;
+
+    private TenantFairQueue<Long, PdfJob> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Map<String, PdfJob> jobs = new ConcurrentHashMap<>();
+
+    private final AtomicInteger runningJobs = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalQueueWaitMs = new AtomicLong();
+    private final AtomicLong maxQueueWaitMs = new AtomicLong();
+    private final AtomicLong totalRenderTimeMs = new AtomicLong();
+    private final AtomicLong maxRenderTimeMs = new AtomicLong();
+
+    @PostConstruct
+    public void initialize() {
+        queue = new TenantFairQueue<>(queueCapacity, tenantQueueCapacity);
+        running = true;
+
+        for (int i = 1; i <= Math.max(1, workerCount); i++) {
+            Thread worker = new Thread(this::runWorker, "pdf-job-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        log.info("PDF job workers started: {} threads, queue capacity {} ({} per tenant)",
+            workers.size(), queueCapacity, tenantQueueCapacity);
+    }
+
+    /**
+     * Queue a PDF generation job for a template the caller has already been authorized for
+     */
+    public PdfJob submit(TemplateRenderBundle bundle, Map<String, Object> parameters, PdfPageRange pageRange,
+                         PdfGenerationService.PdfEngine engine) {
+        return enqueue(new PdfJob(bundle.getTemplateId(), bundle.getCorporateId(), bundle.getAppId(),
+            parameters, pageRange, engine), bundle);
+    }
+
+    /**
+     * Queue a Word export job for a template the caller has already been authorized for
+     */
+    public PdfJob submitWord(TemplateRenderBundle bundle, Map<String, Object> parameters) {
+        return enqueue(new PdfJob(PdfJob.Format.DOCX, bundle.getTemplateId(), bundle.getCorporateId(),
+            bundle.getAppId(), parameters, null, null), bundle);
+    }
+
+    private PdfJob enqueue(PdfJob job, TemplateRenderBundle bundle) {
+        Long tenant = bundle.getCorporateId() != null ? bundle.getCorporateId() : 0L;
+        jobs.put(job.getId(), job);
+        if (!running || !queue.offer(tenant, job)) {
+            jobs.remove(job.getId());
+            rejected.incrementAndGet();
+            throw new IllegalStateException("Job queue is full, please retry later");
+        }
+
+        submitted.incrementAndGet();
+        log.info("Queued {} job {} for template {} (queue depth {})",
+            job.getFormat(), job.getId(), job.getTemplateId(), queue.size());
+        return job;
+    }
+
+    public PdfJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    private void runWorker() {
+        try {
+            while (running) {
+                PdfJob job = queue.poll(1, TimeUnit.SECONDS);
+                if (job != null) {
+                    execute(job);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void execute(PdfJob job) {
+        job.markRunning();
+        runningJobs.incrementAndGet();
+        totalQueueWaitMs.addAndGet(job.getQueueWaitMs());
+        maxQueueWaitMs.accumulateAndGet(job.getQueueWaitMs(), Math::max);
+
+        long start = System.currentTimeMillis();
+        try {
+            TemplateRenderBundle bundle = templateRenderService.getRenderBundle(job.getTemplateId());
+            byte[] output;
+            boolean cacheHit;
+            if (job.getFormat() == PdfJob.Format.DOCX) {
+                WordGenerationService.GeneratedWord generated = wordGenerationService.generateWord(bundle, job.getParameters());
+                output = generated.docx();
+                cacheHit = generated.cacheHit();
+            } else {
+                PdfGenerationService.GeneratedPdf generated = pdfGenerationService.generatePdfResult(job.getEngine(),
+                    bundle, job.getParameters(), job.getPageRange(), bundle.getOrientation());
+                output = generated.pdf();
+                cacheHit = generated.cacheHit();
+            }
+            if (output == null || output.length == 0) {
+                throw new RuntimeException("Failed to generate " + job.getFormat() + " - empty result");
+            }
+
+            String fileName = bundle.getName().replaceAll("[^a-zA-Z0-9._-]", "_")
+                + (job.getPageRange() != null ? "_page_" + job.getPageRange() : "") + "." + job.getFormat().getExtension();
+
+            MediaProvider provider = mediaProviderFactory.getDefaultProvider();
+            UploadResult upload = provider.upload(FilePayload.builder()
+                .filename(fileName)
+                .mimeType(job.getFormat().getMimeType())
+                .fileSize((long) output.length)
+                .inputStream(new ByteArrayInputStream(output))
+                .folderPath(job.getFormat().getFolder() + "/" + job.getCorporateId())
+                .isPublic(false)
+                .corporateId(String.valueOf(job.getCorporateId()))
+                .appId(String.valueOf(job.getAppId()))
+                .build());
+            if (!upload.isSuccess()) {
+                throw new RuntimeException("Failed to store " + job.getFormat() + ": " + upload.getErrorMessage());
+            }
+
+            String resultUrl = provider.generateUrl(upload.getProviderKey(), AccessType.SIGNED).getUrl();
+            long renderTime = System.currentTimeMillis() - start;
+            totalRenderTimeMs.addAndGet(renderTime);
+            maxRenderTimeMs.accumulateAndGet(renderTime, Math::max);
+            completed.incrementAndGet();
+
+            job.markCompleted(fileName, output.length, cacheHit, upload.getProviderKey(), resultUrl, renderTime);
+            log.info("{} job {} completed in {} ms (queued {} ms), size: {} bytes",
+                job.getFormat(), job.getId(), renderTime, job.getQueueWaitMs(), output.length);
+
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            job.markFailed(e.getMessage());
+            log.error("{} job {} for template {} failed: {}",
+                job.getFormat(), job.getId(), job.getTemplateId(), e.getMessage(), e);
+        } finally {
+            runningJobs.decrementAndGet();
+        }
+    }
+
+    /**
+     * Remove finished jobs older than the TTL together with their stored documents
+     */
+    @Scheduled(fixedDelayString = "${pdf.jobs.cleanup-interval:300000}")
+    public void cleanupExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(ttl * 1_000_000);
+        int removed = 0;
+
+        for (PdfJob job : jobs.values()) {
+            if (!job.isFinished() || job.getCompletedAt().isAfter(cutoff)) {
+                continue;
+            }
+            if (job.getProviderKey() != null) {
+                try {
+                    mediaProviderFactory.getDefaultProvider().delete(job.getProviderKey());
+                } catch (Exception e) {
+                    log.warn("Failed to delete output of expired job {}: {}", job.getId(), e.getMessage());
+                }
+            }
+            jobs.remove(job.getId());
+            removed++;
+        }
+
+        if (removed > 0) {
+            log.info("Removed {} expired jobs", removed);
+        }
+    }
+
+    public PdfJobResponse toResponse(PdfJob job) {
+        return PdfJobResponse.builder()
+            .jobId(job.getId())
+            .templateId(job.getTemplateId())
+            .status(job.getStatus().name())
+            .format(job.getFormat().name())
+            .engine(job.getEngine() != null ? job.getEngine().getCode() : null)
+            .pageRange(job.getPageRange() != null ? job.getPageRange().toString() : null)
+            .submittedAt(job.getSubmittedAt())
+            .startedAt(job.getStartedAt())
+            .completedAt(job.getCompletedAt())
+            .queueWaitMs(job.getStartedAt() != null ? job.getQueueWaitMs() : null)
+            .renderTimeMs(job.getStatus() == PdfJob.Status.COMPLETED ? job.getRenderTimeMs() : null)
+            .fileName(job.getFileName())
+            .fileSize(job.getFileSize())
+            .cacheHit(job.getStatus() == PdfJob.Status.COMPLETED ? job.isCacheHit() : null)
+            .resultUrl(job.getResultUrl())
+            .error(job.getError())
+            .build();
+    }
+
+    /**
+     * Queue depth, running jobs, totals and queue wait / render time metrics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long completedCount = completed.get();
+        long startedCount = completedCount + failed.get();
+
+        stats.put("workers", workers.size());
+        stats.put("runningJobs", runningJobs.get());
+        stats.put("queueDepth", queue.size());
+        stats.put("queuedTenants", queue.tenantCount());
+        stats.put("queueCapacity", queue.getCapacity());
+        stats.put("trackedJobs", jobs.size());
+        stats.put("submitted", submitted.get());
+        stats.put("completed", completedCount);
+        stats.put("failed", failed.get());
+        stats.put("rejected", rejected.get());
+        stats.put("avgQueueWaitMs", startedCount > 0 ? totalQueueWaitMs.get() / startedCount : 0);
+        stats.put("maxQueueWaitMs", maxQueueWaitMs.get());
+        stats.put("avgRenderTimeMs", completedCount > 0 ? totalRenderTimeMs.get() / completedCount : 0);
+        stats.put("maxRenderTimeMs", maxRenderTimeMs.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (PdfJob job : queue.drain()) {
+            job.markFailed("Server is shutting down");
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.platform.service;
+
+import com.platform.enums.PageOrientation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Output cache of generated PDFs, keyed additionally by page range, orientation and engine,
+ * with an optional disk tier.
+ */
+@Component
+public class PdfOutputCache extends TemplateOutputCache {
+
+    public PdfOutputCache(@Value("${pdf.output-cache.enabled:false}") boolean enabled,
+                          @Value("${pdf.output-cache.max-memory-mb:64}") long maxMemoryMb,
+                          @Value("${pdf.output-cache.max-entry-kb:4096}") long maxEntryKb,
+                          @Value("${pdf.output-cache.disk.enabled:false}") boolean diskEnabled,
+                          @Value("${pdf.output-cache.disk.ttl:86400000}") long diskTtl,
+                          @Value("${media.local.base-path:uploads/media}") String mediaBasePath) {
+        super("pdf", enabled, maxMemoryMb, maxEntryKb, diskEnabled, diskTtl, mediaBasePath);
+    }
+
+    /**
+     * Cache key for a render request, or null when caching is disabled or the parameters
+     * cannot be serialized canonically
+     */
+    public String key(TemplateRenderBundle bundle, Map<String, Object> parameters, PdfPageRange pageRange,
+                      PageOrientation orientation, String engine) {
+        return buildKey(bundle, parameters, pageRange, orientation, engine);
+    }
+
+    @Scheduled(fixedDelayString = "${pdf.output-cache.disk.cleanup-interval:3600000}")
+    public void cleanupDisk() {
+        removeExpiredFiles();
+    }
+}
@@ -0,0 +1,46 @@
+package com.platform.service;
+
+/**
+ * Inclusive, 1-based range of pages, e.g. {@code 3} or {@code 2-5}
+ */
+public record PdfPageRange(int from, int to) {
+
+    public PdfPageRange {
+        if (from < 1 || to < from) {
+            throw new IllegalArgumentException("Invalid page range: " + from + "-" + to);
+        }
+    }
+
+    /**
+     * Range of a single page, or null when no page number is given
+     */
+    public static PdfPageRange of(Integer pageNumber) {
+        return pageNumber != null ? new PdfPageRange(pageNumber, pageNumber) : null;
+    }
+
+    /**
+     * Parse "3" or "2-5"; null or blank means all pages (null)
+     */
+    public static PdfPageRange parse(String range) {
+        if (range == null || range.isBlank()) {
+            return null;
+        }
+        try {
+            String[] bounds = range.trim().split("\\s*-\\s*", 2);
+            int from = Integer.parseInt(bounds[0]);
+            int to = bounds.length > 1 ? Integer.parseInt(bounds[1]) : from;
+            return new PdfPageRange(from, to);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page range: " + range);
+        }
+    }
+
+    public boolean isSinglePage() {
+        return from == to;
+    }
+
+    @Override
+    public String toString() {
+        return isSinglePage() ? String.valueOf(from) : from + "-" + to;
+    }
+}
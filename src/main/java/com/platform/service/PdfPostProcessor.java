@@ -0,0 +1,103 @@
+package com.platform.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.apache.pdfbox.pdfwriter.compress.CompressParameters;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * PDFBox post-processing shared by all PDF engines: page extraction, merging and
+ * optional output optimization.
+ *
+ * PDFBox has no linearization (fast web view) writer, so "optimize" rewrites the document
+ * with compressed object streams instead, which shrinks engine output before it is sent.
+ */
+@Component
+@Slf4j
+public class PdfPostProcessor {
+
+    @Value("${pdf.post-process.optimize:false}")
+    private boolean optimize;
+
+    /**
+     * Engine output after post-processing: pages outside {@code extract} are dropped (when given)
+     * and the document is optimized (when enabled)
+     */
+    public byte[] process(byte[] pdf, PdfPageRange extract) {
+        if (extract == null && !optimize) {
+            return pdf;
+        }
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            PDDocument output = document;
+            try {
+                if (extract != null) {
+                    output = extractPages(document, extract);
+                }
+                return save(output);
+            } finally {
+                if (output != document) {
+                    output.close();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("PDF post-processing failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Keep only the pages in the range (1-based, inclusive)
+     */
+    public byte[] extractPages(byte[] pdf, PdfPageRange range) {
+        try (PDDocument document = Loader.loadPDF(pdf);
+             PDDocument extracted = extractPages(document, range)) {
+            return save(extracted);
+        } catch (IOException e) {
+            throw new RuntimeException("PDF page extraction failed: " + e.getMessage(), e);
+        }
+    }
+
+    private PDDocument extractPages(PDDocument document, PdfPageRange range) throws IOException {
+        int pageCount = document.getNumberOfPages();
+        if (range.from() > pageCount) {
+            throw new IllegalArgumentException("Invalid page number: " + range + ". Document has " + pageCount + " pages.");
+        }
+
+        PDDocument extracted = new PDDocument();
+        for (int page = range.from(); page <= Math.min(range.to(), pageCount); page++) {
+            extracted.importPage(document.getPage(page - 1));
+        }
+        log.debug("Extracted pages {} of {}", range, pageCount);
+        return extracted;
+    }
+
+    /**
+     * Merge PDF files into one document written to {@code out}, buffering through temp files
+     * rather than memory
+     */
+    public void merge(List<File> sources, OutputStream out) throws IOException {
+        PDFMergerUtility merger = new PDFMergerUtility();
+        for (File source : sources) {
+            merger.addSource(source);
+        }
+        merger.setDestinationStream(out);
+        merger.mergeDocuments(IOUtils.createTempFileOnlyStreamCache());
+    }
+
+    private byte[] save(PDDocument document) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // PDFBox 3 writes compressed object streams by default
+        document.save(out, CompressParameters.DEFAULT_COMPRESSION);
+        return out.toByteArray();
+    }
+}
@@ -2,6 +2,7 @@ package com.platform.service;
 
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.LoadState;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -14,11 +15,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(name = "playwright.enabled", havingValue = "true", matchIfMissing = false)
 @ConditionalOnClass(name = "com.microsoft.playwright.Playwright")
 public class PlaywrightPdfService {
     
+    private final PdfEngineHttpClient pdfEngineHttpClient;
+    private final PdfEngineCircuitBreakers circuitBreakers;
+    
     @Value("${playwright.enabled:true}")
     private boolean enabled;
     
@@ -50,11 +55,23 @@ public class PlaywrightPdfService {
     @Value("${playwright.service.timeout:60000}")
     private int serviceTimeout;
     
+    // Embedded worker pool configuration
+    @Value("${playwright.pool.size:2}")
+    private int poolSize;
+    
+    @Value("${playwright.pool.queue-capacity:50}")
+    private int poolQueueCapacity;
+    
+    @Value("${playwright.pool.queue-timeout:30000}")
+    private long poolQueueTimeout;
+    
+    @Value("${playwright.pool.context-max-uses:100}")
+    private int poolContextMaxUses;
+    
     // HTTP client for external service communication
     private org.springframework.web.client.RestTemplate restTemplate;
     
-    private Playwright playwright;
-    private Browser browser;
+    private PlaywrightWorkerPool workerPool;
     private boolean isAvailable = false;
     
     @PostConstruct
@@ -82,15 +99,8 @@ public class PlaywrightPdfService {
     
     private void initializeExternalService() {
         try {
-            // Initialize REST template for external service communication
-            restTemplate = new org.springframework.web.client.RestTemplate();
-            
-            // Configure timeout for external service calls
-            org.springframework.http.client.SimpleClientHttpRequestFactory factory = 
-                new org.springframework.http.client.SimpleClientHttpRequestFactory();
-            factory.setConnectTimeout(serviceTimeout);
-            factory.setReadTimeout(serviceTimeout);
-            restTemplate.setRequestFactory(factory);
+            // REST template on the shared keep-alive connection pool
+            restTemplate = pdfEngineHttpClient.createRestTemplate(serviceTimeout);
             
             log.info("✅ External Playwright service configured: {}", serviceUrl);
             log.info("🚫 Local Playwright dependencies disabled - using external service only");
@@ -118,10 +128,13 @@ public class PlaywrightPdfService {
                 log.info("✅ External Playwright service health check passed");
             } else {
                 log.warn("⚠️ External Playwright service health check returned: {}", response.getStatusCode());
+                circuitBreakers.open(PdfGenerationService.PdfEngine.PLAYWRIGHT, "health check returned " + response.getStatusCode());
             }
         } catch (Exception e) {
             log.warn("⚠️ External Playwright service health check failed (service may not be ready yet): {}", e.getMessage());
-            // Don't fail initialization - service might not be ready during startup
+            // Don't fail initialization - service might not be ready during startup; the circuit breaker
+            // keeps it out of the way until a later probe succeeds
+            circuitBreakers.open(PdfGenerationService.PdfEngine.PLAYWRIGHT, "health check failed");
         }
     }
     
@@ -137,20 +150,23 @@ public class PlaywrightPdfService {
             log.info("🔍 Initializing embedded Playwright on {} {} (Linux: {}, Windows: {}, Mac: {})", 
                 osName, osArch, isLinux, isWindows, isMac);
             
-            // Create Playwright instance
-            playwright = Playwright.create();
-            
             // Configure browser launch options based on platform
             BrowserType.LaunchOptions launchOptions = configureLaunchOptions(isLinux, isWindows, isMac);
             
-            // Launch browser
-            browser = playwright.chromium().launch(launchOptions);
+            // Each worker launches its own Playwright and browser on its own thread
+            workerPool = new PlaywrightWorkerPool(poolSize, poolQueueCapacity, poolQueueTimeout,
+                poolContextMaxUses, launchOptions, this::configureContextOptions);
+            int startedWorkers = workerPool.start(timeout * 2L);
+            if (startedWorkers == 0) {
+                throw new RuntimeException("No Playwright worker could launch a browser");
+            }
             
             // Test browser functionality
             testBrowserFunctionality();
             
             isAvailable = true;
-            log.info("✅ Embedded Playwright service initialized successfully on {} {}", osName, osArch);
+            log.info("✅ Embedded Playwright service initialized successfully on {} {} with {} workers", 
+                osName, osArch, startedWorkers);
             
         } catch (Exception e) {
             log.error("❌ Failed to initialize embedded Playwright service: {}", e.getMessage());
@@ -258,44 +274,29 @@ public class PlaywrightPdfService {
         return options;
     }
     
-    private void testBrowserFunctionality() throws Exception {
+    private void testBrowserFunctionality() {
         log.info("🔄 Testing Playwright browser functionality...");
         
-        BrowserContext testContext = null;
-        Page testPage = null;
+        // Test basic HTML rendering
+        String testHtml = "<html><head><title>Playwright Test</title></head><body><h1>Test Page</h1><p>Platform: " + 
+            System.getProperty("os.name") + " " + System.getProperty("os.arch") + "</p></body></html>";
         
-        try {
-            testContext = browser.newContext();
-            testPage = testContext.newPage();
-            
-            // Test basic HTML rendering
-            String testHtml = "<html><head><title>Playwright Test</title></head><body><h1>Test Page</h1><p>Platform: " + 
-                System.getProperty("os.name") + " " + System.getProperty("os.arch") + "</p></body></html>";
-            
-            testPage.setContent(testHtml);
-            testPage.waitForLoadState(LoadState.NETWORKIDLE);
+        byte[] testPdf = workerPool.render(com.platform.enums.PageOrientation.PORTRAIT, page -> {
+            page.setContent(testHtml);
+            page.waitForLoadState(LoadState.NETWORKIDLE);
             
             // Test PDF generation
             Page.PdfOptions pdfOptions = new Page.PdfOptions();
             pdfOptions.setFormat("A4");
             pdfOptions.setPrintBackground(true);
-            
-            byte[] testPdf = testPage.pdf(pdfOptions);
-            
-            if (testPdf == null || testPdf.length == 0) {
-                throw new RuntimeException("Test PDF generation failed - empty result");
-            }
-            
-            log.info("✅ Playwright browser test successful - Generated test PDF: {} bytes", testPdf.length);
-            
-        } finally {
-            if (testPage != null) {
-                try { testPage.close(); } catch (Exception e) { log.warn("Failed to close test page", e); }
-            }
-            if (testContext != null) {
-                try { testContext.close(); } catch (Exception e) { log.warn("Failed to close test context", e); }
-            }
+            return page.pdf(pdfOptions);
+        }, timeout);
+        
+        if (testPdf == null || testPdf.length == 0) {
+            throw new RuntimeException("Test PDF generation failed - empty result");
         }
+        
+        log.info("✅ Playwright browser test successful - Generated test PDF: {} bytes", testPdf.length);
     }
     
     private void provideTroubleshootingHints(Exception e) {
@@ -326,9 +327,24 @@ public class PlaywrightPdfService {
     }
     
     public boolean isAvailable() {
+        if (workerPool != null && !workerPool.isRunning()) {
+            return false;
+        }
         return isAvailable && enabled;
     }
     
+    /**
+     * Worker pool utilization, queue depth and render times (embedded mode only)
+     */
+    public java.util.Map<String, Object> getPoolStatistics() {
+        if (workerPool == null) {
+            return java.util.Map.of("mode", useExternalService ? "external" : "disabled");
+        }
+        java.util.Map<String, Object> stats = new java.util.HashMap<>(workerPool.getStatistics());
+        stats.put("mode", "embedded");
+        return stats;
+    }
+    
     public byte[] generatePdfFromHtml(String html) {
         return generatePdfFromHtml(html, null, com.platform.enums.PageOrientation.PORTRAIT);
     }
@@ -369,8 +385,10 @@ public class PlaywrightPdfService {
             
             // Call external Playwright service
             String pdfUrl = serviceUrl + "/pdf";
-            org.springframework.http.ResponseEntity<byte[]> response = 
-                restTemplate.postForEntity(pdfUrl, entity, byte[].class);
+            org.springframework.http.ResponseEntity<byte[]> response = pdfEngineHttpClient.execute(
+                restTemplate, pdfUrl, org.springframework.http.HttpMethod.POST,
+                restTemplate.httpEntityCallback(entity, byte[].class),
+                restTemplate.responseEntityExtractor(byte[].class));
             
             if (!response.getStatusCode().is2xxSuccessful()) {
                 throw new RuntimeException("External Playwright service returned error: " + response.getStatusCode());
@@ -391,46 +409,27 @@ public class PlaywrightPdfService {
     }
     
     private byte[] generatePdfWithEmbeddedService(String html, Integer pageNumber, com.platform.enums.PageOrientation orientation) {
-        BrowserContext context = null;
-        Page page = null;
-        
         try {
             log.info("🔄 Generating PDF with embedded Playwright - Page: {}, Orientation: {}", 
                 pageNumber != null ? pageNumber : "all", orientation);
             
-            // Create isolated browser context with optimized settings
-            Browser.NewContextOptions contextOptions = new Browser.NewContextOptions();
-            
-            // Set viewport for consistent rendering based on orientation
-            if (orientation.isLandscape()) {
-                contextOptions.setViewportSize(1123, 794); // A4 landscape in pixels at 96 DPI
-            } else {
-                contextOptions.setViewportSize(794, 1123); // A4 portrait in pixels at 96 DPI
-            }
-            
-            // Optimize for PDF generation
-            contextOptions.setJavaScriptEnabled(true);
-            contextOptions.setIgnoreHTTPSErrors(true);
-            
-            context = browser.newContext(contextOptions);
-            page = context.newPage();
-            
-            // Configure page for optimal PDF rendering
-            configurePage(page);
-            
-            // Set content with timeout
-            page.setContent(html, new Page.SetContentOptions().setTimeout(timeout));
-            
-            // Wait for content to be fully loaded
-            page.waitForLoadState(LoadState.NETWORKIDLE, new Page.WaitForLoadStateOptions().setTimeout(timeout));
-            
-            // Additional wait for CSS animations and dynamic content
-            page.waitForTimeout(1500);
-            
-            // Generate PDF with enhanced options
-            Page.PdfOptions pdfOptions = configurePdfOptions(orientation);
-            
-            byte[] pdf = page.pdf(pdfOptions);
+            // Runs on a pool worker, in a fresh page of that worker's pre-warmed context for this orientation
+            byte[] pdf = workerPool.render(orientation, page -> {
+                // Configure page for optimal PDF rendering
+                configurePage(page);
+                
+                // Set content with timeout
+                page.setContent(html, new Page.SetContentOptions().setTimeout(timeout));
+                
+                // Wait for content to be fully loaded
+                page.waitForLoadState(LoadState.NETWORKIDLE, new Page.WaitForLoadStateOptions().setTimeout(timeout));
+                
+                // Additional wait for CSS animations and dynamic content
+                page.waitForTimeout(1500);
+                
+                // Generate PDF with enhanced options
+                return page.pdf(configurePdfOptions(orientation));
+            }, timeout * 2L);
             
             if (pdf == null || pdf.length == 0) {
                 throw new RuntimeException("PDF generation failed - empty result");
@@ -444,25 +443,26 @@ public class PlaywrightPdfService {
         } catch (Exception e) {
             log.error("❌ Embedded Playwright PDF generation failed: {}", e.getMessage(), e);
             throw new RuntimeException("Embedded Playwright PDF generation failed: " + e.getMessage(), e);
-        } finally {
-            // Always cleanup resources
-            if (page != null) {
-                try { 
-                    page.close(); 
-                } catch (Exception e) { 
-                    log.warn("Failed to close page: {}", e.getMessage()); 
-                }
-            }
-            if (context != null) {
-                try { 
-                    context.close(); 
-                } catch (Exception e) { 
-                    log.warn("Failed to close context: {}", e.getMessage()); 
-                }
-            }
         }
     }
     
+    private Browser.NewContextOptions configureContextOptions(com.platform.enums.PageOrientation orientation) {
+        Browser.NewContextOptions contextOptions = new Browser.NewContextOptions();
+        
+        // Set viewport for consistent rendering based on orientation
+        if (orientation.isLandscape()) {
+            contextOptions.setViewportSize(1123, 794); // A4 landscape in pixels at 96 DPI
+        } else {
+            contextOptions.setViewportSize(794, 1123); // A4 portrait in pixels at 96 DPI
+        }
+        
+        // Optimize for PDF generation
+        contextOptions.setJavaScriptEnabled(true);
+        contextOptions.setIgnoreHTTPSErrors(true);
+        
+        return contextOptions;
+    }
+    
     private java.util.Map<String, Object> createPdfOptionsMap(com.platform.enums.PageOrientation orientation) {
         java.util.Map<String, Object> options = new java.util.HashMap<>();
         options.put("format", "A4");
@@ -529,15 +529,10 @@ public class PlaywrightPdfService {
     
     private void cleanup() {
         try {
-            if (browser != null) {
-                log.info("🔄 Closing Playwright browser...");
-                browser.close();
-                browser = null;
-            }
-            if (playwright != null) {
-                log.info("🔄 Closing Playwright instance...");
-                playwright.close();
-                playwright = null;
+            if (workerPool != null) {
+                log.info("🔄 Closing Playwright workers...");
+                workerPool.shutdown();
+                workerPool = null;
             }
             log.info("✅ Playwright service shutdown completed");
         } catch (Exception e) {
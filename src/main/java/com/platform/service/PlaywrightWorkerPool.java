@@ -0,0 +1,366 @@
+package com.platform.service;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.platform.enums.PageOrientation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Fixed pool of Playwright workers for embedded PDF rendering.
+ *
+ * Playwright's Java client is not thread-safe, so each worker thread owns its own Playwright
+ * instance and Browser and is the only thread that ever touches them. Workers keep one
+ * pre-warmed browser context per page orientation (recycled after a number of renders) and
+ * take jobs from a bounded queue; a job that waits longer than the queue timeout fails
+ * instead of piling up behind slow renders.
+ */
+@Slf4j
+public class PlaywrightWorkerPool {
+
+    /**
+     * Renders one document in a fresh page of a pre-warmed context, on the worker's thread
+     */
+    @FunctionalInterface
+    public interface PageRenderer {
+        byte[] render(Page page);
+    }
+
+    private final int size;
+    private final int queueCapacity;
+    private final long queueTimeoutMs;
+    private final int contextMaxUses;
+    private final BrowserType.LaunchOptions launchOptions;
+    private final Function<PageOrientation, Browser.NewContextOptions> contextOptions;
+
+    private final BlockingQueue<RenderJob> queue;
+    private final List<Worker> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong totalRenderTimeMs = new AtomicLong();
+    private final AtomicLong maxRenderTimeMs = new AtomicLong();
+    private final AtomicLong totalQueueWaitMs = new AtomicLong();
+    private final AtomicLong browserRestarts = new AtomicLong();
+
+    public PlaywrightWorkerPool(int size, int queueCapacity, long queueTimeoutMs, int contextMaxUses,
+                                BrowserType.LaunchOptions launchOptions,
+                                Function<PageOrientation, Browser.NewContextOptions> contextOptions) {
+        this.size = Math.max(1, size);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.contextMaxUses = contextMaxUses;
+        this.launchOptions = launchOptions;
+        this.contextOptions = contextOptions;
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+    }
+
+    /**
+     * Start all workers and wait for them to launch their browsers
+     *
+     * @return number of workers with a running browser
+     */
+    public int start(long startupTimeoutMs) throws InterruptedException {
+        running = true;
+        CountDownLatch started = new CountDownLatch(size);
+        for (int i = 1; i <= size; i++) {
+            Worker worker = new Worker(i, started);
+            workers.add(worker);
+            worker.thread.start();
+        }
+
+        if (!started.await(startupTimeoutMs, TimeUnit.MILLISECONDS)) {
+            log.warn("⚠️ Not all Playwright workers started within {} ms", startupTimeoutMs);
+        }
+
+        int ready = getReadyWorkers();
+        if (ready == 0) {
+            shutdown();
+        }
+        return ready;
+    }
+
+    /**
+     * Queue a render and wait for a worker to complete it
+     *
+     * @param renderTimeoutMs time allowed for the render itself, on top of the queue timeout
+     */
+    public byte[] render(PageOrientation orientation, PageRenderer renderer, long renderTimeoutMs) {
+        if (!running) {
+            throw new RuntimeException("Playwright worker pool is not running");
+        }
+
+        RenderJob job = new RenderJob(orientation != null ? orientation : PageOrientation.PORTRAIT, renderer);
+        if (!queue.offer(job)) {
+            rejected.incrementAndGet();
+            throw new RuntimeException("Playwright render queue is full (" + queueCapacity + " pending renders)");
+        }
+
+        try {
+            return job.future.get(queueTimeoutMs + renderTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The worker skips jobs whose future is already done
+            job.future.cancel(false);
+            timedOut.incrementAndGet();
+            throw new RuntimeException("Playwright render timed out after " + (queueTimeoutMs + renderTimeoutMs) + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.future.cancel(false);
+            throw new RuntimeException("Interrupted while waiting for Playwright render", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+
+    public boolean isRunning() {
+        return running && getReadyWorkers() > 0;
+    }
+
+    /**
+     * Stop accepting renders, let workers close their browsers and fail anything still queued
+     */
+    public void shutdown() {
+        running = false;
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        RenderJob job;
+        while ((job = queue.poll()) != null) {
+            job.future.completeExceptionally(new RuntimeException("Playwright worker pool shut down"));
+        }
+    }
+
+    private int getReadyWorkers() {
+        return (int) workers.stream().filter(worker -> worker.ready).count();
+    }
+
+    /**
+     * Pool utilization, queue depth and render time metrics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        int busy = busyWorkers.get();
+        long completedCount = completed.get();
+        long queuedCount = completedCount + failed.get();
+
+        stats.put("workers", size);
+        stats.put("readyWorkers", getReadyWorkers());
+        stats.put("busyWorkers", busy);
+        stats.put("utilization", (double) busy / size);
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("completed", completedCount);
+        stats.put("failed", failed.get());
+        stats.put("rejected", rejected.get());
+        stats.put("timedOut", timedOut.get());
+        stats.put("browserRestarts", browserRestarts.get());
+        stats.put("avgRenderTimeMs", completedCount > 0 ? totalRenderTimeMs.get() / completedCount : 0);
+        stats.put("maxRenderTimeMs", maxRenderTimeMs.get());
+        stats.put("avgQueueWaitMs", queuedCount > 0 ? totalQueueWaitMs.get() / queuedCount : 0);
+        return stats;
+    }
+
+    private static final class RenderJob {
+        private final PageOrientation orientation;
+        private final PageRenderer renderer;
+        private final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        private final long enqueuedAt = System.currentTimeMillis();
+
+        private RenderJob(PageOrientation orientation, PageRenderer renderer) {
+            this.orientation = orientation;
+            this.renderer = renderer;
+        }
+    }
+
+    /**
+     * One render thread with its own Playwright, Browser and per-orientation contexts.
+     * Everything except {@code ready} is confined to the worker thread.
+     */
+    private final class Worker implements Runnable {
+        private final int id;
+        private final CountDownLatch started;
+        private final Thread thread;
+        private final Map<PageOrientation, BrowserContext> contexts = new EnumMap<>(PageOrientation.class);
+        private final Map<PageOrientation, Integer> contextUses = new EnumMap<>(PageOrientation.class);
+
+        private Playwright playwright;
+        private Browser browser;
+        private volatile boolean ready;
+
+        private Worker(int id, CountDownLatch started) {
+            this.id = id;
+            this.started = started;
+            this.thread = new Thread(this, "playwright-worker-" + id);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                launch();
+            } catch (Exception e) {
+                log.error("❌ Playwright worker {} failed to launch browser: {}", id, e.getMessage());
+                close();
+            } finally {
+                started.countDown();
+            }
+
+            try {
+                while (running) {
+                    RenderJob job = queue.poll(1, TimeUnit.SECONDS);
+                    if (job != null) {
+                        execute(job);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        private void execute(RenderJob job) {
+            if (job.future.isDone()) {
+                return; // Caller gave up waiting
+            }
+
+            long waited = System.currentTimeMillis() - job.enqueuedAt;
+            totalQueueWaitMs.addAndGet(waited);
+            if (waited > queueTimeoutMs) {
+                timedOut.incrementAndGet();
+                job.future.completeExceptionally(new RuntimeException(
+                    "Timed out after " + waited + " ms waiting for a Playwright worker"));
+                return;
+            }
+
+            busyWorkers.incrementAndGet();
+            long start = System.currentTimeMillis();
+            Page page = null;
+            try {
+                ensureBrowser();
+                page = context(job.orientation).newPage();
+                byte[] pdf = job.renderer.render(page);
+
+                long duration = System.currentTimeMillis() - start;
+                completed.incrementAndGet();
+                totalRenderTimeMs.addAndGet(duration);
+                maxRenderTimeMs.accumulateAndGet(duration, Math::max);
+                job.future.complete(pdf);
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                // A failed render may leave its context unusable; start the next one with a fresh context
+                closeContext(job.orientation);
+                job.future.completeExceptionally(e);
+            } finally {
+                if (page != null) {
+                    try {
+                        page.close();
+                    } catch (Exception e) {
+                        log.warn("Failed to close page: {}", e.getMessage());
+                    }
+                }
+                busyWorkers.decrementAndGet();
+            }
+        }
+
+        private void launch() {
+            playwright = Playwright.create();
+            browser = playwright.chromium().launch(launchOptions);
+            for (PageOrientation orientation : PageOrientation.values()) {
+                context(orientation);
+            }
+            ready = true;
+            log.info("✅ Playwright worker {} started", id);
+        }
+
+        private void ensureBrowser() {
+            if (browser != null && browser.isConnected()) {
+                return;
+            }
+            log.warn("⚠️ Playwright worker {} lost its browser, relaunching", id);
+            ready = false;
+            close();
+            browserRestarts.incrementAndGet();
+            launch();
+        }
+
+        private BrowserContext context(PageOrientation orientation) {
+            BrowserContext context = contexts.get(orientation);
+            int uses = contextUses.getOrDefault(orientation, 0);
+            if (context != null && (contextMaxUses <= 0 || uses < contextMaxUses)) {
+                contextUses.put(orientation, uses + 1);
+                return context;
+            }
+
+            closeContext(orientation);
+            context = browser.newContext(contextOptions.apply(orientation));
+            contexts.put(orientation, context);
+            contextUses.put(orientation, 0);
+            return context;
+        }
+
+        private void closeContext(PageOrientation orientation) {
+            BrowserContext context = contexts.remove(orientation);
+            contextUses.remove(orientation);
+            if (context != null) {
+                try {
+                    context.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close context: {}", e.getMessage());
+                }
+            }
+        }
+
+        private void close() {
+            ready = false;
+            for (PageOrientation orientation : PageOrientation.values()) {
+                closeContext(orientation);
+            }
+            try {
+                if (browser != null) {
+                    browser.close();
+                }
+                if (playwright != null) {
+                    playwright.close();
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ Error closing Playwright worker {}: {}", id, e.getMessage());
+            } finally {
+                browser = null;
+                playwright = null;
+            }
+        }
+    }
+}
@@ -22,6 +22,8 @@ public class TemplateBulkOperationService {
     
     private final TemplateRepository templateRepository;
     private final TemplateFolderRepository folderRepository;
+    private final TemplateRenderBundleService templateRenderBundleService;
+    private final ContentReadModelService contentReadModelService;
     
     @Transactional
     public BulkOperationResponse performBulkOperation(BulkOperationRequest request, Long applicationId) {
@@ -142,6 +144,7 @@ public class TemplateBulkOperationService {
                 .build();
             
             templateRepository.save(copy);
+            contentReadModelService.invalidateTemplate(copy);
             return true;
         } catch (Exception e) {
             log.error("Failed to copy template {}: {}", template.getId(), e.getMessage());
@@ -152,10 +155,12 @@ public class TemplateBulkOperationService {
     private boolean deleteTemplate(Template template) {
         try {
             templateRepository.delete(template);
+            templateRenderBundleService.invalidateTemplate(template.getId());
+            contentReadModelService.invalidateTemplate(template);
             return true;
         } catch (Exception e) {
             log.error("Failed to delete template {}: {}", template.getId(), e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,284 @@
+package com.platform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed cache of documents generated from templates, shared by the output formats.
+ *
+ * The key is a SHA-256 hash of the template version (template and page timestamps, fonts), the
+ * canonicalized parameters (map keys sorted) and the format's own request options, so an identical
+ * request is served without rendering. Documents are kept in a memory tier bounded by total size
+ * and optionally on disk under the media base path. Template and page edits evict the template's
+ * entries from both tiers.
+ */
+@Slf4j
+public abstract class TemplateOutputCache {
+
+    private final String format;
+    private final boolean enabled;
+    private final long maxMemoryBytes;
+    private final long maxEntryBytes;
+    private final boolean diskEnabled;
+    private final long diskTtl;
+    private final Path diskRoot;
+
+    // Map keys sorted so parameter order never changes the key
+    private final ObjectMapper canonicalMapper = JsonMapper.builder()
+        .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+        .findAndAddModules()
+        .build();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Guarded by "this"
+    private long memoryBytes;
+
+    // Access-ordered map gives LRU eviction by total size; guarded by "this"
+    private final LinkedHashMap<String, CachedOutput> memory = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * @param format file extension of the cached documents, also naming the disk directory
+     */
+    protected TemplateOutputCache(String format, boolean enabled, long maxMemoryMb, long maxEntryKb,
+                                  boolean diskEnabled, long diskTtl, String mediaBasePath) {
+        this.format = format;
+        this.enabled = enabled;
+        this.maxMemoryBytes = maxMemoryMb * 1024 * 1024;
+        this.maxEntryBytes = maxEntryKb * 1024;
+        this.diskEnabled = diskEnabled;
+        this.diskTtl = diskTtl;
+        this.diskRoot = Paths.get(mediaBasePath, format + "-cache");
+    }
+
+    /**
+     * Cache key for a request, or null when caching is disabled or the parameters cannot be
+     * serialized canonically
+     *
+     * @param options format-specific request options that change the output
+     */
+    protected String buildKey(TemplateRenderBundle bundle, Map<String, Object> parameters, Object... options) {
+        if (!enabled || bundle.getTemplateId() == null) {
+            return null;
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, bundle.getTemplateId());
+            update(digest, bundle.getVersion());
+            for (TemplateRenderBundle.Page page : bundle.getPages()) {
+                update(digest, page.id());
+                update(digest, page.updatedAt());
+            }
+            for (TemplateRenderBundle.Font font : bundle.getFonts()) {
+                update(digest, font.filePath());
+            }
+            digest.update(canonicalMapper.writeValueAsBytes(parameters != null ? parameters : Map.of()));
+            for (Object option : options) {
+                update(digest, option);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException e) {
+            log.debug("{} output of template {} not cacheable, parameters cannot be serialized: {}",
+                format, bundle.getTemplateId(), e.getMessage());
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void update(MessageDigest digest, Object value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Cached document for the key, checking memory first and then disk
+     */
+    public byte[] get(String key, Long templateId) {
+        if (key == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            CachedOutput cached = memory.get(key);
+            if (cached != null) {
+                memoryHits.incrementAndGet();
+                return cached.content();
+            }
+        }
+
+        if (diskEnabled) {
+            Path file = diskPath(templateId, key);
+            try {
+                if (Files.exists(file)) {
+                    byte[] content = Files.readAllBytes(file);
+                    diskHits.incrementAndGet();
+                    putInMemory(key, templateId, content);
+                    return content;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to read cached {} {}: {}", format, file, e.getMessage());
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String key, Long templateId, byte[] content) {
+        if (key == null || content == null || content.length == 0) {
+            return;
+        }
+
+        putInMemory(key, templateId, content);
+
+        if (diskEnabled) {
+            Path file = diskPath(templateId, key);
+            try {
+                Files.createDirectories(file.getParent());
+                // Write then move so readers never see a partial file
+                Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+                Files.write(temp, content);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.warn("Failed to write cached {} {}: {}", format, file, e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void putInMemory(String key, Long templateId, byte[] content) {
+        if (content.length > maxEntryBytes) {
+            return;
+        }
+
+        CachedOutput previous = memory.put(key, new CachedOutput(templateId, content));
+        if (previous != null) {
+            memoryBytes -= previous.content().length;
+        }
+        memoryBytes += content.length;
+
+        Iterator<CachedOutput> eldest = memory.values().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            memoryBytes -= eldest.next().content().length;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drop every cached document of a template from both tiers
+     */
+    public void invalidateTemplate(Long templateId) {
+        if (!enabled || templateId == null) {
+            return;
+        }
+
+        synchronized (this) {
+            Iterator<CachedOutput> entries = memory.values().iterator();
+            while (entries.hasNext()) {
+                CachedOutput cached = entries.next();
+                if (templateId.equals(cached.templateId())) {
+                    memoryBytes -= cached.content().length;
+                    entries.remove();
+                }
+            }
+        }
+
+        if (diskEnabled) {
+            try {
+                FileSystemUtils.deleteRecursively(diskRoot.resolve(String.valueOf(templateId)));
+            } catch (IOException e) {
+                log.warn("Failed to delete cached {} files of template {}: {}", format, templateId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Remove disk entries older than the TTL (entries of outdated versions are never read again)
+     */
+    protected void removeExpiredFiles() {
+        if (!enabled || !diskEnabled || !Files.isDirectory(diskRoot)) {
+            return;
+        }
+
+        FileTime cutoff = FileTime.fromMillis(System.currentTimeMillis() - diskTtl);
+        try (Stream<Path> files = Files.walk(diskRoot)) {
+            long removed = files.filter(Files::isRegularFile)
+                .filter(file -> {
+                    try {
+                        return Files.getLastModifiedTime(file).compareTo(cutoff) < 0;
+                    } catch (IOException e) {
+                        return false;
+                    }
+                })
+                .filter(file -> file.toFile().delete())
+                .count();
+            if (removed > 0) {
+                log.info("Removed {} expired cached {} files", removed, format);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clean up {} cache directory: {}", format, e.getMessage());
+        }
+    }
+
+    private Path diskPath(Long templateId, String key) {
+        return diskRoot.resolve(String.valueOf(templateId)).resolve(key + "." + format);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get cache statistics (hits per tier, misses, memory usage)
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long memoryHitCount = memoryHits.get();
+        long diskHitCount = diskHits.get();
+        long missCount = misses.get();
+        long total = memoryHitCount + diskHitCount + missCount;
+
+        stats.put("enabled", enabled);
+        stats.put("diskEnabled", diskEnabled);
+        stats.put("maxMemoryMb", maxMemoryBytes / (1024 * 1024));
+        synchronized (this) {
+            stats.put("size", memory.size());
+            stats.put("memoryBytes", memoryBytes);
+        }
+        stats.put("memoryHits", memoryHitCount);
+        stats.put("diskHits", diskHitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRatio", total > 0 ? (double) (memoryHitCount + diskHitCount) / total : 0.0);
+        return stats;
+    }
+
+    private record CachedOutput(Long templateId, byte[] content) {
+    }
+}
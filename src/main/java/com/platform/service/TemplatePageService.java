@@ -15,6 +15,7 @@ import java.util.Optional;
 public class TemplatePageService {
     
     private final TemplatePageRepository pageRepository;
+    private final TemplateRenderBundleService templateRenderBundleService;
     
     @Transactional(readOnly = true)
     public List<TemplatePage> getAllByTemplate(Long templateId) {
@@ -33,16 +34,19 @@ public class TemplatePageService {
             Integer maxOrder = pageRepository.findMaxPageOrderByTemplateId(template.getId());
             page.setPageOrder(maxOrder != null ? maxOrder + 1 : 0);
         }
+        templateRenderBundleService.invalidateTemplate(template.getId());
         return pageRepository.save(page);
     }
     
     @Transactional
     public TemplatePage update(TemplatePage page) {
+        templateRenderBundleService.invalidateTemplate(page.getTemplate().getId());
         return pageRepository.save(page);
     }
     
     @Transactional
     public void delete(Long id) {
+        templateRenderBundleService.invalidatePage(id);
         pageRepository.deleteById(id);
     }
     
@@ -51,10 +55,12 @@ public class TemplatePageService {
         for (int i = 0; i < pageIds.size(); i++) {
             pageRepository.updatePageOrder(pageIds.get(i), i);
         }
+        templateRenderBundleService.invalidateTemplate(templateId);
     }
     
     @Transactional
     public void deleteAllByTemplate(Long templateId) {
+        templateRenderBundleService.invalidateTemplate(templateId);
         pageRepository.deleteByTemplateId(templateId);
     }
     
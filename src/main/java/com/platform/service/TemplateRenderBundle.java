@@ -0,0 +1,190 @@
+package com.platform.service;
+
+import com.platform.entity.Template;
+import com.platform.entity.TemplateAsset;
+import com.platform.entity.TemplatePage;
+import com.platform.enums.PageOrientation;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable snapshot of everything needed to render a template: the template itself,
+ * its pages in pageOrder, font assets, CSS and page orientation.
+ *
+ * Loaded once per template version and passed through the HTML and PDF pipeline so a
+ * single request does not reload the template, its pages or its fonts at every stage.
+ */
+public final class TemplateRenderBundle {
+
+    private final Long templateId;
+    private final Long corporateId;
+    private final Long appId;
+    private final String name;
+    private final String htmlContent;
+    private final String cssStyles;
+    private final PageOrientation orientation;
+    private final LocalDateTime version;
+    private final List<Page> pages;
+    private final List<Page> nonEmptyPages;
+    private final List<Font> fonts;
+    // Template CSS rewritten for Flying Saucer, computed on first use
+    private volatile String flyingSaucerCss;
+
+    private TemplateRenderBundle(Template template, List<Page> pages, List<Font> fonts) {
+        this.templateId = template.getId();
+        this.corporateId = template.getCorporate() != null ? template.getCorporate().getId() : null;
+        this.appId = template.getApp() != null ? template.getApp().getId() : null;
+        this.name = template.getName();
+        this.htmlContent = template.getHtmlContent();
+        this.cssStyles = template.getCssStyles();
+        this.orientation = template.getPageOrientation() != null ? template.getPageOrientation() : PageOrientation.PORTRAIT;
+        this.version = template.getUpdatedAt();
+        this.pages = pages;
+        this.nonEmptyPages = pages.stream().filter(Page::hasContent).toList();
+        this.fonts = fonts;
+    }
+
+    /**
+     * Build a bundle from a template whose pages are already loaded and its font assets
+     */
+    public static TemplateRenderBundle of(Template template, Collection<TemplatePage> pages, Collection<TemplateAsset> fontAssets) {
+        List<Page> pageSnapshots = pages.stream()
+            .sorted(Comparator.comparing(TemplatePage::getPageOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+            .map(Page::of)
+            .toList();
+        List<Font> fontSnapshots = fontAssets.stream()
+            .map(asset -> new Font(asset.getId(), asset.getName(), asset.getFilePath()))
+            .toList();
+        return new TemplateRenderBundle(template, pageSnapshots, fontSnapshots);
+    }
+
+    public Long getTemplateId() {
+        return templateId;
+    }
+
+    public Long getCorporateId() {
+        return corporateId;
+    }
+
+    public Long getAppId() {
+        return appId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHtmlContent() {
+        return htmlContent;
+    }
+
+    public String getCssStyles() {
+        return cssStyles;
+    }
+
+    /**
+     * Template CSS rewritten for Flying Saucer, computed once per bundle (template version)
+     */
+    public String getFlyingSaucerCss() {
+        String css = flyingSaucerCss;
+        if (css == null) {
+            css = PdfCss.rewriteForFlyingSaucer(cssStyles);
+            flyingSaucerCss = css;
+        }
+        return css;
+    }
+
+    public PageOrientation getOrientation() {
+        return orientation;
+    }
+
+    public LocalDateTime getVersion() {
+        return version;
+    }
+
+    /**
+     * All pages in pageOrder, including empty ones
+     */
+    public List<Page> getPages() {
+        return pages;
+    }
+
+    /**
+     * Pages with meaningful text content, in pageOrder
+     */
+    public List<Page> getNonEmptyPages() {
+        return nonEmptyPages;
+    }
+
+    public List<Font> getFonts() {
+        return fonts;
+    }
+
+    public boolean hasPages() {
+        return !pages.isEmpty();
+    }
+
+    public boolean hasTemplateContent() {
+        return htmlContent != null && !htmlContent.trim().isEmpty();
+    }
+
+    /**
+     * Number of pages whose content is not null or whitespace only, but never less than 1: a template
+     * without pages, or whose pages are all blank, still renders as one page
+     */
+    public int getPageCount() {
+        if (pages.isEmpty()) {
+            return 1;
+        }
+        return (int) Math.max(1, getNonBlankPageCount());
+    }
+
+    /**
+     * Number of pages whose content is not null or whitespace only; 0 when every page is blank, and
+     * 1 when the template has no pages (its own content is the single page)
+     */
+    public int getNonEmptyPageCount() {
+        if (pages.isEmpty()) {
+            return 1;
+        }
+        return (int) getNonBlankPageCount();
+    }
+
+    private long getNonBlankPageCount() {
+        return pages.stream().filter(page -> !page.blank()).count();
+    }
+
+    /**
+     * Rendering-relevant state of a template page
+     *
+     * @param blank      content is null or whitespace only
+     * @param hasContent content still has text after stripping tags and non-breaking spaces
+     */
+    public record Page(Long id, String name, String content, Integer pageOrder, LocalDateTime updatedAt,
+                       boolean blank, boolean hasContent) {
+
+        static Page of(TemplatePage page) {
+            String content = page.getContent();
+            boolean blank = content == null || content.trim().isEmpty();
+            return new Page(page.getId(), page.getName(), content, page.getPageOrder(), page.getUpdatedAt(),
+                blank, !blank && hasTextContent(content));
+        }
+
+        private static boolean hasTextContent(String content) {
+            // Check if content is just whitespace, HTML tags with no text, or common empty patterns
+            String textContent = content.trim().replaceAll("<[^>]*>", "").trim(); // Remove HTML tags
+            textContent = textContent.replaceAll("&nbsp;", "").trim(); // Remove non-breaking spaces
+            textContent = textContent.replaceAll("\\s+", "").trim(); // Remove all whitespace
+            return !textContent.isEmpty();
+        }
+    }
+
+    /**
+     * Font asset registered with PDF engines that embed fonts; the id is null for fonts that are not assets
+     */
+    public record Font(Long id, String name, String filePath) {
+    }
+}
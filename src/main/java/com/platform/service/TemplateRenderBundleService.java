@@ -0,0 +1,174 @@
+package com.platform.service;
+
+import com.platform.entity.Template;
+import com.platform.entity.TemplateAsset;
+import com.platform.enums.AssetType;
+import com.platform.repository.TemplateAssetRepository;
+import com.platform.repository.TemplateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads and caches {@link TemplateRenderBundle}s.
+ *
+ * A bundle is loaded with one fetch-join query for the template and its pages plus one query
+ * for font assets, then cached until the template or one of its pages changes. Invalidation
+ * also evicts the compiled FreeMarker templates and cached PDF and Word output of the same template.
+ */
+@Service
+@Slf4j
+public class TemplateRenderBundleService {
+
+    private final TemplateRepository templateRepository;
+    private final TemplateAssetRepository templateAssetRepository;
+    private final CompiledTemplateCache compiledTemplateCache;
+    private final PdfOutputCache pdfOutputCache;
+    private final WordOutputCache wordOutputCache;
+
+    @Value("${template.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${template.bundle-cache.max-entries:200}")
+    private int maxEntries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // Per template, so a load racing with an edit of the same template is not cached
+    private final CacheGenerations<Long> generations = new CacheGenerations<>();
+
+    // Access-ordered map gives LRU eviction; guarded by "this"
+    private final LinkedHashMap<Long, TemplateRenderBundle> bundles =
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TemplateRenderBundle> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+    public TemplateRenderBundleService(TemplateRepository templateRepository,
+                                       TemplateAssetRepository templateAssetRepository,
+                                       CompiledTemplateCache compiledTemplateCache,
+                                       PdfOutputCache pdfOutputCache,
+                                       WordOutputCache wordOutputCache) {
+        this.templateRepository = templateRepository;
+        this.templateAssetRepository = templateAssetRepository;
+        this.compiledTemplateCache = compiledTemplateCache;
+        this.pdfOutputCache = pdfOutputCache;
+        this.wordOutputCache = wordOutputCache;
+    }
+
+    /**
+     * Get the render bundle of a template, loading it only when not cached
+     */
+    @Transactional(readOnly = true)
+    public TemplateRenderBundle getBundle(Long templateId) {
+        if (!enabled) {
+            return load(templateId);
+        }
+
+        CacheGenerations.Stamp stamp;
+        synchronized (this) {
+            TemplateRenderBundle cached = bundles.get(templateId);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            stamp = generations.stamp(templateId);
+        }
+
+        misses.incrementAndGet();
+        TemplateRenderBundle bundle = load(templateId);
+
+        synchronized (this) {
+            if (generations.isCurrent(templateId, stamp)) {
+                bundles.put(templateId, bundle);
+            }
+        }
+        return bundle;
+    }
+
+    private TemplateRenderBundle load(Long templateId) {
+        Template template = templateRepository.findByIdWithPages(templateId)
+            .orElseThrow(() -> new IllegalArgumentException("Template not found with id: " + templateId));
+        List<TemplateAsset> fonts = templateAssetRepository.findByTemplateIdAndAssetType(templateId, AssetType.FONT);
+
+        TemplateRenderBundle bundle = TemplateRenderBundle.of(template, template.getPages(), fonts);
+        log.debug("Loaded render bundle for template {}: {} pages, {} fonts",
+            templateId, bundle.getPages().size(), bundle.getFonts().size());
+        return bundle;
+    }
+
+    /**
+     * Evict the bundle and compiled templates of a template after it or its pages changed
+     */
+    public void invalidateTemplate(Long templateId) {
+        if (templateId == null) {
+            return;
+        }
+        generations.invalidate(templateId, () -> evictTemplate(templateId));
+    }
+
+    /**
+     * Evict the bundle containing a page and the page's compiled template
+     */
+    public void invalidatePage(Long pageId) {
+        if (pageId == null) {
+            return;
+        }
+        // The page's template is only known for cached bundles, so loads of any template back off
+        generations.invalidateAll(() -> evictPage(pageId));
+    }
+
+    private void evictTemplate(Long templateId) {
+        synchronized (this) {
+            bundles.remove(templateId);
+        }
+        compiledTemplateCache.invalidateTemplate(templateId);
+        pdfOutputCache.invalidateTemplate(templateId);
+        wordOutputCache.invalidateTemplate(templateId);
+    }
+
+    private void evictPage(Long pageId) {
+        List<Long> templateIds;
+        synchronized (this) {
+            templateIds = bundles.values().stream()
+                .filter(bundle -> bundle.getPages().stream().anyMatch(page -> pageId.equals(page.id())))
+                .map(TemplateRenderBundle::getTemplateId)
+                .toList();
+            bundles.keySet().removeAll(templateIds);
+        }
+        compiledTemplateCache.invalidatePage(pageId);
+        // Cache keys include page timestamps, so outputs of templates whose bundle was not cached can no longer be hit
+        templateIds.forEach(pdfOutputCache::invalidateTemplate);
+        templateIds.forEach(wordOutputCache::invalidateTemplate);
+    }
+
+    /**
+     * Get cache statistics (hits, misses, size)
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+
+        stats.put("enabled", enabled);
+        stats.put("maxEntries", maxEntries);
+        synchronized (this) {
+            stats.put("size", bundles.size());
+        }
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total > 0 ? (double) hitCount / total : 0.0);
+        return stats;
+    }
+}
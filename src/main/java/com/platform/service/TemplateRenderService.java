@@ -1,29 +1,19 @@
 package com.platform.service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.stereotype.Service;
-import org.xhtmlrenderer.pdf.ITextRenderer;
 
 import com.lowagie.text.DocumentException;
-import com.lowagie.text.pdf.BaseFont;
-import com.platform.entity.Template;
-import com.platform.entity.TemplateAsset;
-import com.platform.entity.TemplatePage;
-import com.platform.enums.AssetType;
-import com.platform.repository.TemplateAssetRepository;
-import com.platform.repository.TemplateRepository;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -32,23 +22,29 @@ import org.springframework.beans.factory.annotation.Qualifier;
 @Slf4j
 public class TemplateRenderService {
 
-	public final TemplateRepository templateRepository;
-	private final TemplateAssetRepository templateAssetRepository;
+	private final TemplateRenderBundleService templateRenderBundleService;
 	private final PlaywrightPdfService playwrightPdfService;
 	private final freemarker.template.Configuration freemarkerConfig;
-	private final TemplatePageService templatePageService;
+	private final CompiledTemplateCache compiledTemplateCache;
+	private final PageRenderExecutor pageRenderExecutor;
+	private final TemplateRenderStatsService templateRenderStatsService;
+	private final FlyingSaucerRendererFactory flyingSaucerRendererFactory;
 	private PdfGenerationService pdfGenerationService; // Lazy injection to avoid circular dependency
 
 	public TemplateRenderService(
-			TemplateRepository templateRepository,
-			TemplateAssetRepository templateAssetRepository,
+			TemplateRenderBundleService templateRenderBundleService,
 			PlaywrightPdfService playwrightPdfService,
-			TemplatePageService templatePageService,
+			CompiledTemplateCache compiledTemplateCache,
+			PageRenderExecutor pageRenderExecutor,
+			TemplateRenderStatsService templateRenderStatsService,
+			FlyingSaucerRendererFactory flyingSaucerRendererFactory,
 			@Qualifier("templateFreemarkerConfiguration") freemarker.template.Configuration freemarkerConfig) {
-		this.templateRepository = templateRepository;
-		this.templateAssetRepository = templateAssetRepository;
+		this.templateRenderBundleService = templateRenderBundleService;
 		this.playwrightPdfService = playwrightPdfService;
-		this.templatePageService = templatePageService;
+		this.compiledTemplateCache = compiledTemplateCache;
+		this.pageRenderExecutor = pageRenderExecutor;
+		this.templateRenderStatsService = templateRenderStatsService;
+		this.flyingSaucerRendererFactory = flyingSaucerRendererFactory;
 		this.freemarkerConfig = freemarkerConfig;
 	}
 
@@ -57,80 +53,199 @@ public class TemplateRenderService {
 		this.pdfGenerationService = pdfGenerationService;
 	}
 
+	/**
+	 * Load (or get the cached) render bundle: template, ordered pages, fonts, CSS and orientation
+	 */
+	public TemplateRenderBundle getRenderBundle(Long templateId) {
+		return templateRenderBundleService.getBundle(templateId);
+	}
+
 	public String renderHtml(Long templateId, Map<String, Object> parameters) {
-		Template templateEntity = templateRepository.findById(templateId)
-				.orElseThrow(() -> new IllegalArgumentException("Template not found with id: " + templateId));
+		return renderHtml(getRenderBundle(templateId), parameters);
+	}
+
+	public String renderHtml(TemplateRenderBundle bundle, Map<String, Object> parameters) {
+		StringWriter writer = new StringWriter();
+		renderHtml(bundle, parameters, writer);
+		return writer.toString();
+	}
+
+	public void renderHtml(Long templateId, Map<String, Object> parameters, Writer out) {
+		renderHtml(getRenderBundle(templateId), parameters, out);
+	}
+
+	/**
+	 * Render all pages of a template straight into the given writer.
+	 * Wrapper divs and each page's FreeMarker output are written as they are produced, so no
+	 * intermediate copy of the full document is built. The writer is flushed but not closed;
+	 * on failure it may already contain partial output.
+	 */
+	public void renderHtml(TemplateRenderBundle bundle, Map<String, Object> parameters, Writer out) {
+		Long templateId = bundle.getTemplateId();
+		templateRenderStatsService.recordRender(bundle);
 
 		try {
-			// Get all pages for this template, ordered by pageOrder
-			List<TemplatePage> pages = templatePageService.getAllByTemplate(templateId);
+			// Pages are already ordered by pageOrder in the bundle
+			List<TemplateRenderBundle.Page> pages = bundle.getPages();
 			
 			if (pages.isEmpty()) {
 				// Fallback to template's own HTML content if no pages exist
 				log.info("No pages found for template {}, using template's own HTML content", templateId);
-				return renderSingleContent(templateEntity.getHtmlContent(), templateEntity.getName(), parameters);
+				renderTemplateContent(bundle, parameters, out);
+				out.flush();
+				return;
 			}
 
 			log.info("Page size:{}",pages.size());
 			// Prepare model
 			Map<String, Object> model = parameters != null ? parameters : new HashMap<>();
 			
-			// Filter out empty pages before rendering
-			List<TemplatePage> nonEmptyPages = pages.stream()
-				.filter(this::hasContent)
-				.collect(java.util.stream.Collectors.toList());
+			// Empty pages were filtered out when the bundle was loaded
+			List<TemplateRenderBundle.Page> nonEmptyPages = bundle.getNonEmptyPages();
 			
 			if (nonEmptyPages.isEmpty()) {
 				log.warn("All pages of template {} are empty, returning empty document", templateId);
-				return "<html><head><title>Empty Document</title></head><body><p>No content available</p></body></html>";
+				out.write("<html><head><title>Empty Document</title></head><body><p>No content available</p></body></html>");
+				out.flush();
+				return;
 			}
 			
-			// If there's only one page, return it directly without multi-page wrapper and page breaks
+			boolean parallel = writePages(templateId, nonEmptyPages, model, out);
 			if (nonEmptyPages.size() == 1) {
-				TemplatePage singlePage = nonEmptyPages.get(0);
-				String renderedContent = renderSingleContent(singlePage.getContent(), singlePage.getName(), model);
 				log.info("Rendered single page for template {} without page breaks", templateId);
-				return renderedContent;
+				return;
 			}
-			
-			// Render multiple non-empty pages and combine them with proper page breaks
-			StringBuilder combinedHtml = new StringBuilder();
-			
+
+			log.info("Rendered {} non-empty pages out of {} total pages for template {} (multi-page mode{})", 
+				nonEmptyPages.size(), pages.size(), templateId, parallel ? ", parallel" : "");
+
+		} catch (Exception e) {
+			log.error("Failed to render template {}: {}", templateId, e.getMessage(), e);
+			throw new RuntimeException("Failed to render template", e);
+		}
+	}
+
+	/**
+	 * Write the given non-empty pages in order: a single page as-is, several pages inside the
+	 * multi-page wrapper with page breaks between them
+	 *
+	 * @return whether the pages were rendered in parallel
+	 */
+	private boolean writePages(Long templateId, List<TemplateRenderBundle.Page> nonEmptyPages,
+			Map<String, Object> model, Writer out) throws IOException {
+		// If there's only one page, write it directly without multi-page wrapper and page breaks
+		if (nonEmptyPages.size() == 1) {
+			renderPageContent(templateId, nonEmptyPages.get(0), model, out);
+			out.flush();
+			return false;
+		}
+		
+		// Long templates render their pages concurrently; output is still written in pageOrder
+		boolean parallel = pageRenderExecutor.shouldRenderInParallel(nonEmptyPages.size());
+		List<CompletableFuture<String>> renderedPages = parallel
+			? submitPageRenders(templateId, nonEmptyPages, model)
+			: List.of();
+		
+		try {
 			// Start with a wrapper div for all pages
-			combinedHtml.append("<div class=\"multi-page-document\">");
+			out.write("<div class=\"multi-page-document\">");
 			
 			for (int i = 0; i < nonEmptyPages.size(); i++) {
-				TemplatePage page = nonEmptyPages.get(i);
-				
-				// Render this page's content
-				String renderedPageContent = renderSingleContent(page.getContent(), page.getName(), model);
+				TemplateRenderBundle.Page page = nonEmptyPages.get(i);
 				
 				// Wrap each page in a container with minimal styling
-				combinedHtml.append("<div class=\"template-page template-page-").append(i + 1).append("\"");
+				out.write("<div class=\"template-page template-page-" + (i + 1) + "\"");
 				
 				// Only add page break for pages after the first one
 				if (i > 0) {
-					combinedHtml.append(" style=\"page-break-before: always;\"");
+					out.write(" style=\"page-break-before: always;\"");
 				}
-				combinedHtml.append(">");
+				out.write(">");
 				
-				// Add page content
-				combinedHtml.append(renderedPageContent);
-				combinedHtml.append("</div>");
+				// Add page content, rendering directly into the output when not parallel
+				if (parallel) {
+					out.write(awaitPage(renderedPages.get(i)));
+				} else {
+					renderPageContent(templateId, page, model, out);
+				}
+				out.write("</div>");
 				
 				// No explicit page break divs - CSS handles page breaks
 			}
 			
 			// Close wrapper div
-			combinedHtml.append("</div>");
+			out.write("</div>");
+			out.flush();
+		} finally {
+			// Stop outstanding page renders if writing failed midway
+			renderedPages.forEach(future -> future.cancel(false));
+		}
+		return parallel;
+	}
+
+	/**
+	 * Render only the template pages in the given range (1-based, inclusive).
+	 * Templates without pages render their own content; callers then cut the PDF pages out.
+	 */
+	public String renderPageRange(TemplateRenderBundle bundle, PdfPageRange range, Map<String, Object> parameters) {
+		if (range.isSinglePage()) {
+			return renderSpecificPage(bundle, range.from(), parameters);
+		}
+
+		Long templateId = bundle.getTemplateId();
+		templateRenderStatsService.recordRender(bundle);
+
+		try {
+			List<TemplateRenderBundle.Page> pages = bundle.getPages();
+			if (pages.isEmpty()) {
+				return renderTemplateContent(bundle, parameters);
+			}
+
+			if (range.to() > pages.size()) {
+				throw new IllegalArgumentException("Invalid page range: " + range + 
+					". Template has " + pages.size() + " pages.");
+			}
 
-			log.info("Rendered {} non-empty pages out of {} total pages for template {} (multi-page mode)", 
-				nonEmptyPages.size(), pages.size(), templateId);
-			return combinedHtml.toString();
+			List<TemplateRenderBundle.Page> selected = pages.subList(range.from() - 1, range.to()).stream()
+				.filter(TemplateRenderBundle.Page::hasContent)
+				.toList();
+			if (selected.isEmpty()) {
+				return "<html><head><title>Empty Pages</title></head><body><p>Pages " + range + " are empty</p></body></html>";
+			}
 
+			StringWriter writer = new StringWriter();
+			writePages(templateId, selected, parameters != null ? parameters : new HashMap<>(), writer);
+			log.info("Rendered pages {} of template {}", range, templateId);
+			return writer.toString();
+
+		} catch (IllegalArgumentException e) {
+			throw e;
 		} catch (Exception e) {
-			log.error("Failed to render template {}: {}", templateId, e.getMessage(), e);
-			throw new RuntimeException("Failed to render template", e);
+			log.error("Failed to render pages {} of template {}: {}", range, templateId, e.getMessage(), e);
+			throw new RuntimeException("Failed to render pages " + range + " of template", e);
+		}
+	}
+
+	/**
+	 * Render each page on the page render executor; the shared model is only read
+	 */
+	private List<CompletableFuture<String>> submitPageRenders(Long templateId, List<TemplateRenderBundle.Page> pages,
+			Map<String, Object> model) {
+		List<CompletableFuture<String>> futures = new ArrayList<>(pages.size());
+		for (TemplateRenderBundle.Page page : pages) {
+			futures.add(pageRenderExecutor.submit(() -> renderPageContent(templateId, page, model)));
+		}
+		return futures;
+	}
+
+	private String awaitPage(CompletableFuture<String> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
 		}
 	}
 
@@ -138,17 +253,21 @@ public class TemplateRenderService {
 	 * Render a specific page of a template
 	 */
 	public String renderSpecificPage(Long templateId, Integer pageNumber, Map<String, Object> parameters) {
-		Template templateEntity = templateRepository.findById(templateId)
-				.orElseThrow(() -> new IllegalArgumentException("Template not found with id: " + templateId));
+		return renderSpecificPage(getRenderBundle(templateId), pageNumber, parameters);
+	}
+
+	public String renderSpecificPage(TemplateRenderBundle bundle, Integer pageNumber, Map<String, Object> parameters) {
+		Long templateId = bundle.getTemplateId();
+		templateRenderStatsService.recordRender(bundle);
 
 		try {
-			// Get all pages for this template, ordered by pageOrder
-			List<TemplatePage> pages = templatePageService.getAllByTemplate(templateId);
+			// Pages are already ordered by pageOrder in the bundle
+			List<TemplateRenderBundle.Page> pages = bundle.getPages();
 			
 			if (pages.isEmpty()) {
 				// Fallback to template's own HTML content if no pages exist
 				log.info("No pages found for template {}, using template's own HTML content", templateId);
-				return renderSingleContent(templateEntity.getHtmlContent(), templateEntity.getName(), parameters);
+				return renderTemplateContent(bundle, parameters);
 			}
 
 			// Validate page number
@@ -158,9 +277,9 @@ public class TemplateRenderService {
 			}
 
 			// Get the specific page (pageNumber is 1-based, list is 0-based)
-			TemplatePage page = pages.get(pageNumber - 1);
+			TemplateRenderBundle.Page page = pages.get(pageNumber - 1);
 			
-			if (!hasContent(page)) {
+			if (!page.hasContent()) {
 				log.warn("Page {} of template {} has no content, returning empty page message", pageNumber, templateId);
 				return "<html><head><title>Empty Page</title></head><body><p>Page " + pageNumber + " is empty</p></body></html>";
 			}
@@ -169,11 +288,13 @@ public class TemplateRenderService {
 			Map<String, Object> model = parameters != null ? parameters : new HashMap<>();
 			
 			// Render the specific page
-			String renderedContent = renderSingleContent(page.getContent(), page.getName(), model);
+			String renderedContent = renderPageContent(templateId, page, model);
 			
 			log.info("Rendered page {} of template {}", pageNumber, templateId);
 			return renderedContent;
 
+		} catch (IllegalArgumentException e) {
+			throw e;
 		} catch (Exception e) {
 			log.error("Failed to render page {} of template {}: {}", pageNumber, templateId, e.getMessage(), e);
 			throw new RuntimeException("Failed to render page " + pageNumber + " of template", e);
@@ -184,241 +305,82 @@ public class TemplateRenderService {
 	 * Get the number of pages in a template
 	 */
 	public int getPageCount(Long templateId) {
-		List<TemplatePage> pages = templatePageService.getAllByTemplate(templateId);
-		if (pages.isEmpty()) {
-			return 1; // Return 1 if no pages (template has its own content)
-		}
-		
-		// Count only non-empty pages
-		long nonEmptyPageCount = pages.stream()
-			.filter(page -> page.getContent() != null && !page.getContent().trim().isEmpty())
-			.count();
-		
-		return (int) Math.max(1, nonEmptyPageCount); // Return at least 1 page
+		return getRenderBundle(templateId).getPageCount();
 	}
 
 	/**
 	 * Get the number of non-empty pages in a template
 	 */
 	public int getNonEmptyPageCount(Long templateId) {
-		List<TemplatePage> pages = templatePageService.getAllByTemplate(templateId);
-		if (pages.isEmpty()) {
-			return 1; // Return 1 if no pages (template has its own content)
-		}
-		
-		// Count only non-empty pages
-		long nonEmptyPageCount = pages.stream()
-			.filter(page -> page.getContent() != null && !page.getContent().trim().isEmpty())
-			.count();
-		
-		return (int) nonEmptyPageCount;
+		return getRenderBundle(templateId).getNonEmptyPageCount();
 	}
 
 	/**
-	 * Check if a page has meaningful content
+	 * Load a template's bundle and compile all of its content into the compiled template cache
+	 * without rendering it. Returns the number of compiled pages (or 1 for template content).
 	 */
-	private boolean hasContent(TemplatePage page) {
-		if (page == null || page.getContent() == null) {
-			return false;
+	public int warmUp(Long templateId) throws IOException {
+		TemplateRenderBundle bundle = getRenderBundle(templateId);
+
+		if (!bundle.hasPages()) {
+			compiledTemplateCache.getOrCompile(templateId, null, bundle.getVersion(),
+					bundle.getName(), bundle.getHtmlContent(), freemarkerConfig);
+			return 1;
 		}
-		
-		String content = page.getContent().trim();
-		if (content.isEmpty()) {
-			return false;
+
+		for (TemplateRenderBundle.Page page : bundle.getNonEmptyPages()) {
+			compiledTemplateCache.getOrCompile(templateId, page.id(), page.updatedAt(),
+					page.name(), page.content(), freemarkerConfig);
 		}
-		
-		// Check if content is just whitespace, HTML tags with no text, or common empty patterns
-		String textContent = content.replaceAll("<[^>]*>", "").trim(); // Remove HTML tags
-		textContent = textContent.replaceAll("&nbsp;", "").trim(); // Remove non-breaking spaces
-		textContent = textContent.replaceAll("\\s+", "").trim(); // Remove all whitespace
-		
-		return !textContent.isEmpty();
+		return bundle.getNonEmptyPages().size();
 	}
 
 	/**
-	 * Render a single piece of content (either template content or page content)
+	 * Render a template page, reusing its compiled FreeMarker template when cached
 	 */
-	private String renderSingleContent(String content, String name, Map<String, Object> model) {
-		try {
-			// Extract all variables from content and provide defaults for missing ones
-			Map<String, Object> enhancedModel = enhanceModelWithDefaults(content, model);
-			
-			// Protect critical variables from being overridden by loop variables
-			Map<String, Object> protectedModel = protectVariablesFromOverride(content, enhancedModel);
-			
-			// Create FreeMarker template from content string
-			freemarker.template.Template freemarkerTemplate = new freemarker.template.Template(
-					name, new StringReader(content), freemarkerConfig);
-
-			// Render
-			StringWriter writer = new StringWriter();
-			freemarkerTemplate.process(protectedModel, writer);
-
-			return writer.toString();
-
-		} catch (Exception e) {
-			log.error("Failed to render content for {}: {}", name, e.getMessage());
-			throw new RuntimeException("Failed to render content for " + name, e);
-		}
+	private String renderPageContent(Long templateId, TemplateRenderBundle.Page page, Map<String, Object> model) {
+		StringWriter writer = new StringWriter();
+		renderPageContent(templateId, page, model, writer);
+		return writer.toString();
 	}
 
-	/**
-	 * Enhance the model by providing default empty values for any missing variables
-	 */
-	private Map<String, Object> enhanceModelWithDefaults(String content, Map<String, Object> originalModel) {
-		Map<String, Object> enhancedModel = new HashMap<>(originalModel != null ? originalModel : new HashMap<>());
-		
-		log.debug("Original model contains: {}", originalModel != null ? originalModel.keySet() : "null");
-		
-		// Extract all variables from the content
-		Map<String, Object> extractedVars = extractParameters(content);
-		log.debug("Extracted variables: {}", extractedVars.keySet());
-		
-		// For each extracted variable, provide a default empty value if not present in the model
-		// or if the existing value is incompatible with its usage pattern
-		for (String varName : extractedVars.keySet()) {
-			Object currentValue = enhancedModel.get(varName);
-			
-			if (currentValue == null || !isValueCompatibleWithUsage(varName, currentValue, content)) {
-				log.debug("Variable '{}' needs default value (current: {})", varName, currentValue);
-				Object defaultValue = determineDefaultValue(varName, content);
-				enhancedModel.put(varName, defaultValue);
-				log.debug("Providing default value for variable '{}': {}", varName, defaultValue);
-			} else {
-				log.debug("Variable '{}' already exists with compatible value: {}", varName, currentValue);
-			}
-		}
-		
-		log.debug("Enhanced model contains: {}", enhancedModel.keySet());
-		return enhancedModel;
+	private void renderPageContent(Long templateId, TemplateRenderBundle.Page page, Map<String, Object> model, Writer out) {
+		renderSingleContent(templateId, page.id(), page.updatedAt(), page.content(), page.name(), model, out);
 	}
 
 	/**
-	 * Check if the current value is compatible with how the variable is used in the template
+	 * Render the template's own HTML content (used when the template has no pages)
 	 */
-	private boolean isValueCompatibleWithUsage(String varName, Object currentValue, String content) {
-		// Check if variable is used as an object
-		Pattern objectPattern = Pattern.compile("\\$\\{" + Pattern.quote(varName) + "\\.(\\w+)\\}");
-		if (objectPattern.matcher(content).find()) {
-			// Variable is used as object, current value should be a Map
-			boolean isCompatible = currentValue instanceof Map;
-			log.debug("Variable '{}' used as object, current value compatible: {} (type: {})", 
-				varName, isCompatible, currentValue != null ? currentValue.getClass().getSimpleName() : "null");
-			return isCompatible;
-		}
-		
-		// Check if variable is used in a list iteration
-		Pattern listPattern = Pattern.compile("<#list\\s+" + Pattern.quote(varName) + "\\s+as\\s+\\w+>");
-		if (listPattern.matcher(content).find()) {
-			// Variable is used as array, current value should be a List
-			boolean isCompatible = currentValue instanceof List;
-			log.debug("Variable '{}' used as array, current value compatible: {} (type: {})", 
-				varName, isCompatible, currentValue != null ? currentValue.getClass().getSimpleName() : "null");
-			return isCompatible;
-		}
-		
-		// For simple variables, any non-null value is compatible
-		return currentValue != null;
+	private String renderTemplateContent(TemplateRenderBundle bundle, Map<String, Object> model) {
+		StringWriter writer = new StringWriter();
+		renderTemplateContent(bundle, model, writer);
+		return writer.toString();
 	}
 
-	/**
-	 * Determine appropriate default value based on how the variable is used in the template
-	 */
-	private Object determineDefaultValue(String varName, String content) {
-		log.debug("Determining default value for variable '{}' in content", varName);
-		
-		// Check if variable is used as an object (has property access)
-		Pattern objectPattern = Pattern.compile("\\$\\{" + Pattern.quote(varName) + "\\.(\\w+)\\}");
-		Matcher objectMatcher = objectPattern.matcher(content);
-		
-		Map<String, Object> objectValue = new HashMap<>();
-		boolean isObject = false;
-		
-		// Find all properties accessed on this object
-		while (objectMatcher.find()) {
-			isObject = true;
-			String property = objectMatcher.group(1);
-			objectValue.put(property, ""); // Default property value
-			log.debug("Found property '{}' for variable '{}'", property, varName);
-		}
-		
-		if (isObject) {
-			log.debug("Creating object default for '{}' with properties: {}", varName, objectValue.keySet());
-			return objectValue;
-		}
-		
-		// Check if variable is used in a list iteration
-		Pattern listPattern = Pattern.compile("<#list\\s+" + Pattern.quote(varName) + "\\s+as\\s+\\w+>");
-		if (listPattern.matcher(content).find()) {
-			log.debug("Creating empty list default for '{}'", varName);
-			return new ArrayList<>();
-		}
-		
-		// Default to empty string for simple variables
-		log.debug("Creating string default for '{}'", varName);
-		return "";
+	private void renderTemplateContent(TemplateRenderBundle bundle, Map<String, Object> model, Writer out) {
+		renderSingleContent(bundle.getTemplateId(), null, bundle.getVersion(), bundle.getHtmlContent(), bundle.getName(), model, out);
 	}
 
 	/**
-	 * Protect variables from being overridden by loop variables or other template constructs
+	 * Render a single piece of content (either template content or page content) into the writer
 	 */
-	private Map<String, Object> protectVariablesFromOverride(String content, Map<String, Object> model) {
-		Map<String, Object> protectedModel = new HashMap<>(model);
-		
-		// Find variables that are used as objects (e.g., exp.role)
-		Pattern objectUsagePattern = Pattern.compile("\\$\\{(\\w+)\\.(\\w+)\\}");
-		Matcher objectMatcher = objectUsagePattern.matcher(content);
-		
-		Set<String> objectVariables = new HashSet<>();
-		while (objectMatcher.find()) {
-			String varName = objectMatcher.group(1);
-			objectVariables.add(varName);
-		}
-		
-		// Find loop variables that might override object variables
-		Pattern loopPattern = Pattern.compile("<#list\\s+(\\w+)\\s+as\\s+(\\w+)>");
-		Matcher loopMatcher = loopPattern.matcher(content);
-		
-		while (loopMatcher.find()) {
-			String arrayVar = loopMatcher.group(1);
-			String loopVar = loopMatcher.group(2);
-			
-			// If a loop variable has the same name as an object variable, it will override it
-			if (objectVariables.contains(loopVar)) {
-				Object originalValue = protectedModel.get(loopVar);
-				if (originalValue != null && originalValue instanceof Map) {
-					// Store the original object under a protected name
-					String protectedName = loopVar + "_original";
-					protectedModel.put(protectedName, originalValue);
-					log.warn("Variable '{}' is used both as object and loop variable. Original stored as '{}'", 
-						loopVar, protectedName);
-				}
-			}
-		}
-		
-		// For the specific case we're seeing, ensure exp is always an object if used as one
-		if (objectVariables.contains("exp")) {
-			Object expValue = protectedModel.get("exp");
-			if (expValue == null || !(expValue instanceof Map)) {
-				// Force exp to be an object with the properties we detected
-				Map<String, Object> expObject = new HashMap<>();
-				
-				// Extract all exp properties from the template
-				Pattern expPropsPattern = Pattern.compile("\\$\\{exp\\.(\\w+)\\}");
-				Matcher expPropsMatcher = expPropsPattern.matcher(content);
-				while (expPropsMatcher.find()) {
-					String prop = expPropsMatcher.group(1);
-					expObject.put(prop, "");
-				}
-				
-				if (!expObject.isEmpty()) {
-					protectedModel.put("exp", expObject);
-					log.debug("Forced 'exp' to be object with properties: {}", expObject.keySet());
-				}
-			}
+	private void renderSingleContent(Long templateId, Long pageId, LocalDateTime version,
+			String content, String name, Map<String, Object> model, Writer out) {
+		try {
+			// Get compiled FreeMarker template and its variable analysis (computed once per content version)
+			CompiledTemplateCache.CompiledTemplate compiled = compiledTemplateCache.getOrCompile(
+					templateId, pageId, version, name, content, freemarkerConfig);
+
+			// Provide defaults for missing variables and protect objects shadowed by loop variables
+			Map<String, Object> renderModel = compiled.analysis().applyTo(model);
+
+			// Render
+			compiled.template().process(renderModel, out);
+
+		} catch (Exception e) {
+			log.error("Failed to render content for {}: {}", name, e.getMessage());
+			throw new RuntimeException("Failed to render content for " + name, e);
 		}
-		
-		return protectedModel;
 	}
 
 	public byte[] renderToPdf(Long templateId, Map<String, Object> parameters) throws DocumentException, IOException {
@@ -426,16 +388,37 @@ public class TemplateRenderService {
 	}
 
 	public byte[] renderToPdf(Long templateId, Map<String, Object> parameters, Integer pageNumber) throws DocumentException, IOException {
+		return renderToPdf(getRenderBundle(templateId), parameters, pageNumber);
+	}
+
+	public byte[] renderToPdf(TemplateRenderBundle bundle, Map<String, Object> parameters, Integer pageNumber) throws DocumentException, IOException {
+		return renderPdf(bundle, parameters, pageNumber).pdf();
+	}
+
+	/**
+	 * Render to PDF, also reporting whether the PDF was served from the PDF output cache
+	 */
+	public PdfGenerationService.GeneratedPdf renderPdf(TemplateRenderBundle bundle, Map<String, Object> parameters, Integer pageNumber) throws DocumentException, IOException {
+		return renderPdf(bundle, parameters, PdfPageRange.of(pageNumber));
+	}
 
-		Template template = templateRepository.findById(templateId)
-				.orElseThrow(() -> new RuntimeException("Template not found"));
+	/**
+	 * Render a range of pages (null for all pages) to PDF
+	 */
+	public PdfGenerationService.GeneratedPdf renderPdf(TemplateRenderBundle bundle, Map<String, Object> parameters, PdfPageRange pageRange) throws DocumentException, IOException {
+
+		Long templateId = bundle.getTemplateId();
+		com.platform.enums.PageOrientation orientation = bundle.getOrientation();
 
-		log.info("Generating PDF for template {} with orientation: {}", templateId, template.getPageOrientation());
+		log.info("Generating PDF for template {} with orientation: {}", templateId, orientation);
 
 		// Use new PdfGenerationService if available, otherwise fallback to legacy implementation
 		if (pdfGenerationService != null) {
 			try {
-				return pdfGenerationService.generatePdf(templateId, parameters, pageNumber, template.getPageOrientation());
+				return pdfGenerationService.generatePdfResult(PdfGenerationService.PdfEngine.AUTO, bundle, parameters, pageRange, orientation);
+			} catch (IllegalArgumentException e) {
+				// Invalid page range; the legacy path would ignore it for templates without pages
+				throw e;
 			} catch (Exception e) {
 				log.warn("PdfGenerationService failed, falling back to legacy implementation: {}", e.getMessage());
 			}
@@ -444,36 +427,37 @@ public class TemplateRenderService {
 		// Legacy implementation (Flying Saucer only)
 		log.info("Using legacy PDF generation (Flying Saucer only)");
 		
-		// Render HTML with parameters - either specific page or all pages
+		// Render HTML with parameters - either the requested pages or all pages
 		String processedHtml;
-		if (pageNumber != null) {
-			// Render specific page
-			processedHtml = renderSpecificPage(templateId, pageNumber, parameters);
-			log.info("Rendering PDF for page {} of template {}", pageNumber, templateId);
+		if (pageRange != null) {
+			// Render requested pages
+			processedHtml = renderPageRange(bundle, pageRange, parameters);
+			log.info("Rendering PDF for pages {} of template {}", pageRange, templateId);
 		} else {
 			// Render all pages
-			processedHtml = renderHtml(templateId, parameters);
+			processedHtml = renderHtml(bundle, parameters);
 			log.info("Rendering PDF for all pages of template {}", templateId);
 		}
 
-		// Enhance HTML for better PDF rendering with page orientation
-		String enhancedHtml = enhanceHtmlForPdf(processedHtml, template.getCssStyles(), template.getPageOrientation());
+		// Parse once and enhance for better PDF rendering with page orientation; both engines reuse the document
+		org.jsoup.nodes.Document document = org.jsoup.Jsoup.parse(processedHtml);
+		PdfHtmlPipeline.enhanceForPdf(document, bundle.getCssStyles(), orientation);
 
 		// Try Playwright first (best quality), fallback to Flying Saucer if unavailable
 		try {
-			byte[] pdf = playwrightPdfService.generatePdfFromHtml(enhancedHtml, pageNumber, template.getPageOrientation());
+			byte[] pdf = playwrightPdfService.generatePdfFromHtml(document.outerHtml(), null, orientation);
 			log.info("PDF generated using Playwright (high quality) - {} pages, orientation: {}", 
-				pageNumber != null ? "page " + pageNumber : "all", template.getPageOrientation());
-			return pdf;
+				pageRange != null ? pageRange : "all", orientation);
+			return new PdfGenerationService.GeneratedPdf(pdf, false);
 		} catch (Exception e) {
 			log.warn("Playwright PDF generation failed, falling back to Flying Saucer: {}", e.getMessage());
 
 			// Fallback to Flying Saucer
-			String xhtml = buildXhtmlDocument(enhancedHtml, template.getCssStyles(), template.getPageOrientation());
-			byte[] pdf = convertToPdf(xhtml, templateId);
+			String xhtml = buildXhtmlDocument(document, bundle.getFlyingSaucerCss(), orientation);
+			byte[] pdf = convertToPdf(xhtml, bundle.getFonts());
 			log.info("PDF generated using Flying Saucer (fallback) - {} pages, orientation: {}", 
-				pageNumber != null ? "page " + pageNumber : "all", template.getPageOrientation());
-			return pdf;
+				pageRange != null ? pageRange : "all", orientation);
+			return new PdfGenerationService.GeneratedPdf(pdf, false);
 		}
 	}
 
@@ -481,39 +465,7 @@ public class TemplateRenderService {
 		try {
 			// Parse HTML with JSoup for better handling
 			org.jsoup.nodes.Document doc = org.jsoup.Jsoup.parse(html);
-			
-			// Ensure proper page structure
-			if (doc.head() == null) {
-				doc.prependElement("head");
-			}
-			
-			// Add viewport meta tag for better rendering
-			if (doc.select("meta[name=viewport]").isEmpty()) {
-				doc.head().appendElement("meta")
-					.attr("name", "viewport")
-					.attr("content", "width=device-width, initial-scale=1.0");
-			}
-			
-			// Add CSS if not already present
-			if (css != null && !css.trim().isEmpty() && doc.select("style").isEmpty()) {
-				doc.head().appendElement("style")
-					.attr("type", "text/css")
-					.text(css);
-			}
-			
-			// Ensure body has proper structure
-			if (doc.body() == null) {
-				doc.appendElement("body");
-			}
-			
-			// Add print-friendly CSS with orientation
-			String printCss = generatePrintFriendlyCss(orientation);
-			log.info("Adding print CSS for orientation {}: {}", orientation, printCss.substring(0, Math.min(200, printCss.length())) + "...");
-			doc.head().appendElement("style")
-				.attr("type", "text/css")
-				.attr("media", "print")
-				.text(printCss);
-			
+			PdfHtmlPipeline.enhanceForPdf(doc, css, orientation);
 			return doc.outerHtml();
 			
 		} catch (Exception e) {
@@ -522,70 +474,11 @@ public class TemplateRenderService {
 		}
 	}
 
-	private String generatePrintFriendlyCss(com.platform.enums.PageOrientation orientation) {
-		String pageSize = orientation.isLandscape() ? "A4 landscape" : "A4 portrait";
-		
-		log.info("Generating print CSS with page size: {} for orientation: {}", pageSize, orientation);
-		
-		return String.format("""
-			@page {
-				size: %s;
-				margin: 1cm;
-			}
-			
-			/* Multi-page document container */
-			.multi-page-document {
-				width: 100%%;
-			}
-			
-			/* Individual template pages */
-			.template-page {
-				width: 100%%;
-				box-sizing: border-box;
-				page-break-inside: avoid;
-				page-break-after: auto;
-				margin-bottom: 0;
-				padding-bottom: 0;
-			}
-			
-			/* Force page breaks between template pages */
-			.template-page:not(:first-child) {
-				page-break-before: always !important;
-			}
-			
-			/* Prevent page breaks inside certain elements */
-			.no-page-break {
-				page-break-inside: avoid;
-			}
-			
-			/* Print-specific styles */
-			@media print {
-				.no-print {
-					display: none !important;
-				}
-				
-				.multi-page-document {
-					width: 100%%;
-				}
-				
-				.template-page {
-					width: 100%%;
-					margin: 0;
-					padding: 0;
-				}
-				
-				.template-page:not(:first-child) {
-					page-break-before: always !important;
-				}
-			}
-		""", pageSize);
-	}
-
-	private String buildXhtmlDocument(String content, String css, com.platform.enums.PageOrientation orientation) {
+	/**
+	 * Build the Flying Saucer XHTML document; {@code flyingSaucerCss} is the bundle's already rewritten CSS
+	 */
+	private String buildXhtmlDocument(org.jsoup.nodes.Document doc, String flyingSaucerCss, com.platform.enums.PageOrientation orientation) {
 		try {
-			// Use JSoup to parse and clean HTML
-			org.jsoup.nodes.Document doc = org.jsoup.Jsoup.parse(content);
-
 			// Configure for XHTML output
 			doc.outputSettings().syntax(org.jsoup.nodes.Document.OutputSettings.Syntax.xml)
 					.escapeMode(org.jsoup.nodes.Entities.EscapeMode.xhtml);
@@ -594,7 +487,7 @@ public class TemplateRenderService {
 			org.jsoup.nodes.Element body = doc.body();
 
 			// Process CSS to make it PDF-friendly with orientation
-			String processedCss = processCssForPdf(css, orientation);
+			String processedCss = processCssForPdf(flyingSaucerCss, orientation);
 
 			// Build a simple, valid XHTML document
 			StringBuilder xhtml = new StringBuilder();
@@ -615,10 +508,8 @@ public class TemplateRenderService {
 			xhtml.append("</head>\n");
 			xhtml.append("<body>\n");
 
-			// Add body content - JSoup ensures it's well-formed XML
-			for (org.jsoup.nodes.Node child : body.childNodes()) {
-				xhtml.append(child.outerHtml());
-			}
+			// Add body content - JSoup ensures it's well-formed XML; serialized straight into the builder
+			body.html(xhtml);
 
 			xhtml.append("\n</body>\n");
 			xhtml.append("</html>");
@@ -638,151 +529,28 @@ public class TemplateRenderService {
 		}
 	}
 
-	private String processCssForPdf(String css, com.platform.enums.PageOrientation orientation) {
-		String pageSize = orientation.isLandscape() ? "A4 landscape" : "A4 portrait";
-		
-		StringBuilder processed = new StringBuilder();
-		
-		// Add page configuration first
-		processed.append(String.format("@page { size: %s; margin: 1cm; }\n", pageSize));
-		
-		// Add multi-page support CSS
-		processed.append("""
-			/* Multi-page document container */
-			.multi-page-document {
-				width: 100%;
-			}
-			
-			/* Individual template pages */
-			.template-page {
-				min-height: 100vh;
-				height: auto;
-				width: 100%;
-				box-sizing: border-box;
-				page-break-inside: avoid;
-				page-break-after: auto;
-				position: relative;
-				overflow: visible;
-			}
-			
-			/* Force page breaks between template pages */
-			.template-page:not(:first-child) {
-				page-break-before: always !important;
-			}
-			
-			/* Explicit page break elements */
-			.explicit-page-break,
-			.page-break {
-				page-break-before: always !important;
-				page-break-after: avoid !important;
-				height: 0 !important;
-				margin: 0 !important;
-				padding: 0 !important;
-				border: none !important;
-				display: block !important;
-				clear: both !important;
-				visibility: hidden;
-			}
-			
-			""");
-		
-		if (css == null || css.isEmpty()) {
-			processed.append("body { font-family: Arial, sans-serif; font-size: 10pt; line-height: 1.4; margin: 0; padding: 0; }\n");
-		} else {
-			// Process existing CSS for PDF compatibility
-			String existingCss = css;
-
-			// Replace flexbox with table-based layout for PDF compatibility
-			existingCss = existingCss.replaceAll("display:\\s*flex", "display: table");
-			existingCss = existingCss.replaceAll("display:\\s*inline-flex", "display: inline-table");
-
-			// Remove flex-specific properties that aren't supported
-			existingCss = existingCss.replaceAll("flex-wrap:\\s*[^;]+;", "");
-			existingCss = existingCss.replaceAll("flex-direction:\\s*[^;]+;", "");
-			existingCss = existingCss.replaceAll("justify-content:\\s*[^;]+;", "");
-			existingCss = existingCss.replaceAll("align-items:\\s*[^;]+;", "");
-			existingCss = existingCss.replaceAll("gap:\\s*[^;]+;", "");
-
-			// Ensure min-height is converted to height for PDF
-			existingCss = existingCss.replaceAll("min-height:\\s*100%", "height: auto");
-
-			processed.append(existingCss);
-		}
-
-		// Add Flying Saucer specific page break control
-		processed.append("\n* { -fs-table-paginate: paginate; }\n");
-		processed.append(".resume { page-break-inside: avoid; }\n");
-
-		log.debug("Processed CSS for PDF compatibility with multi-page support");
-
-		return processed.toString();
+	String processCssForPdf(String flyingSaucerCss, com.platform.enums.PageOrientation orientation) {
+		String preamble = PdfCss.flyingSaucerPreamble(orientation);
+		return new StringBuilder(preamble.length() + flyingSaucerCss.length() + PdfCss.FLYING_SAUCER_FOOTER.length())
+			.append(preamble)
+			.append(flyingSaucerCss)
+			.append(PdfCss.FLYING_SAUCER_FOOTER)
+			.toString();
 	}
 
-	private byte[] convertToPdf(String xhtml, Long templateId) throws DocumentException, IOException {
-
-		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		ITextRenderer renderer = new ITextRenderer();
-
-		// Register custom fonts
-		List<TemplateAsset> fonts = templateAssetRepository.findByTemplateIdAndAssetType(templateId, AssetType.FONT);
-
-		for (TemplateAsset font : fonts) {
-			try {
-				renderer.getFontResolver().addFont(font.getFilePath(), BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
-				log.info("Registered font: {}", font.getName());
-			} catch (Exception e) {
-				log.error("Failed to register font: {}", font.getName(), e);
-			}
-		}
-
-		renderer.setDocumentFromString(xhtml);
-		renderer.layout();
-		renderer.createPDF(outputStream);
-
-		return outputStream.toByteArray();
+	private byte[] convertToPdf(String xhtml, List<TemplateRenderBundle.Font> fonts) throws DocumentException, IOException {
+		// Reuses a renderer that already has the bundle's fonts registered
+		return flyingSaucerRendererFactory.render(xhtml, fonts);
 	}
 
 	public Map<String, Object> extractParameters(String htmlContent) {
 		// Extract ${parameter} placeholders from FreeMarker templates
-		java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("\\$\\{([^}]+)\\}");
-		java.util.regex.Matcher matcher = pattern.matcher(htmlContent);
-
-		Map<String, Object> parameters = new java.util.HashMap<>();
-		while (matcher.find()) {
-			String fullExpression = matcher.group(1).trim();
-			// Extract the base variable name (before any dots or brackets)
-			String paramName = extractVariableName(fullExpression);
-			if (paramName != null && !paramName.isEmpty()) {
-				parameters.put(paramName, "");
-				log.debug("Extracted FreeMarker parameter: {} from expression: {}", paramName, fullExpression);
-			}
+		Map<String, Object> parameters = new HashMap<>();
+		for (String paramName : TemplateVariableAnalysis.extractVariableNames(htmlContent)) {
+			parameters.put(paramName, "");
 		}
 
+		log.debug("Extracted FreeMarker parameters: {}", parameters.keySet());
 		return parameters;
 	}
-
-	/**
-	 * Extract the base variable name from a FreeMarker expression
-	 * Examples: "user.name" -> "user", "items[0]" -> "items", "count" -> "count"
-	 */
-	private String extractVariableName(String expression) {
-		if (expression == null || expression.trim().isEmpty()) {
-			return null;
-		}
-		
-		String trimmed = expression.trim();
-		
-		// Handle object property access: user.name -> user
-		if (trimmed.contains(".")) {
-			return trimmed.split("\\.")[0];
-		}
-		
-		// Handle array access: items[0] -> items
-		if (trimmed.contains("[")) {
-			return trimmed.split("\\[")[0];
-		}
-		
-		// Simple variable
-		return trimmed;
-	}
 }
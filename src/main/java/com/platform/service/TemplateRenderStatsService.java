@@ -0,0 +1,138 @@
+package com.platform.service;
+
+import com.platform.entity.TemplateRenderStat;
+import com.platform.repository.TemplateRenderStatRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how often each template is rendered.
+ *
+ * Renders are counted in memory and flushed to the database periodically (and on shutdown),
+ * so the hot path never waits on a write and the counts survive restarts for warm-up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TemplateRenderStatsService {
+
+    private final TemplateRenderStatRepository renderStatRepository;
+
+    private final ConcurrentHashMap<Long, PendingRenders> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Count one render of the bundle's template
+     */
+    public void recordRender(TemplateRenderBundle bundle) {
+        if (bundle.getTemplateId() == null) {
+            return;
+        }
+        PendingRenders renders = pending.computeIfAbsent(bundle.getTemplateId(),
+            id -> new PendingRenders(bundle.getAppId()));
+        renders.count.increment();
+        renders.lastRenderedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Write buffered render counts to the database (one short transaction per template)
+     */
+    @Scheduled(fixedDelayString = "${template.render-stats.flush-interval:60000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        int flushed = 0;
+        for (Long templateId : new ArrayList<>(pending.keySet())) {
+            // Renders recorded concurrently with the removal may be missed; counts are a ranking hint only
+            PendingRenders renders = pending.remove(templateId);
+            long count = renders != null ? renders.count.sum() : 0;
+            if (count == 0) {
+                continue;
+            }
+
+            try {
+                if (renderStatRepository.addRenders(templateId, count, renders.lastRenderedAt) == 0) {
+                    TemplateRenderStat stat = new TemplateRenderStat();
+                    stat.setTemplateId(templateId);
+                    stat.setAppId(renders.appId);
+                    stat.setRenderCount(count);
+                    stat.setLastRenderedAt(renders.lastRenderedAt);
+                    renderStatRepository.save(stat);
+                }
+                flushed++;
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the row first
+                renderStatRepository.addRenders(templateId, count, renders.lastRenderedAt);
+                flushed++;
+            }
+        }
+        log.debug("Flushed render counts for {} templates", flushed);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Failed to flush template render counts on shutdown: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Templates to warm up: the explicitly configured ones first, then the most rendered
+     * templates of each app (at most {@code perApp} per app)
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findWarmupCandidates(List<Long> configuredTemplateIds, int perApp, int maxTemplates) {
+        Set<Long> candidates = new LinkedHashSet<>(configuredTemplateIds);
+
+        if (perApp > 0) {
+            Map<Long, Integer> selectedPerApp = new LinkedHashMap<>();
+            for (TemplateRenderStat stat : renderStatRepository.findAllByOrderByRenderCountDescLastRenderedAtDesc()) {
+                if (candidates.size() >= maxTemplates) {
+                    break;
+                }
+                int selected = selectedPerApp.getOrDefault(stat.getAppId(), 0);
+                if (selected < perApp && candidates.add(stat.getTemplateId())) {
+                    selectedPerApp.put(stat.getAppId(), selected + 1);
+                }
+            }
+        }
+
+        return candidates.stream().limit(maxTemplates).toList();
+    }
+
+    /**
+     * Drop the render counts of a template that no longer exists
+     */
+    public void forget(Long templateId) {
+        pending.remove(templateId);
+        renderStatRepository.deleteByTemplateId(templateId);
+    }
+
+    private static final class PendingRenders {
+        private final Long appId;
+        private final LongAdder count = new LongAdder();
+        private volatile LocalDateTime lastRenderedAt;
+
+        private PendingRenders(Long appId) {
+            this.appId = appId;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.platform.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable result of analysing how a template uses its variables.
+ *
+ * Computed once when a template version is compiled and cached next to it, so each render
+ * only merges defaults into the model instead of rescanning the content per variable.
+ */
+@Slf4j
+public final class TemplateVariableAnalysis {
+
+    private static final Pattern INTERPOLATION_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
+    private static final Pattern PROPERTY_ACCESS_PATTERN = Pattern.compile("\\$\\{(\\w+)\\.(\\w+)\\}");
+    private static final Pattern LIST_PATTERN = Pattern.compile("<#list\\s+(\\w+)\\s+as\\s+(\\w+)>");
+
+    // Variable name kept for backward compatibility with templates written against the old renderer
+    private static final String LEGACY_OBJECT_VARIABLE = "exp";
+
+    private final Set<String> variables;
+    private final Map<String, Set<String>> hashProperties;
+    private final Set<String> listSources;
+    private final Set<String> shadowedLoopVariables;
+
+    private TemplateVariableAnalysis(Set<String> variables, Map<String, Set<String>> hashProperties,
+                                     Set<String> listSources, Set<String> shadowedLoopVariables) {
+        this.variables = Collections.unmodifiableSet(variables);
+        this.hashProperties = Collections.unmodifiableMap(hashProperties);
+        this.listSources = Collections.unmodifiableSet(listSources);
+        this.shadowedLoopVariables = Collections.unmodifiableSet(shadowedLoopVariables);
+    }
+
+    /**
+     * Scan template content once and record scalar, hash and list usages
+     */
+    public static TemplateVariableAnalysis analyze(String content) {
+        if (content == null || content.isEmpty()) {
+            return new TemplateVariableAnalysis(Set.of(), Map.of(), Set.of(), Set.of());
+        }
+
+        Set<String> variables = extractVariableNames(content);
+
+        Map<String, Set<String>> hashProperties = new LinkedHashMap<>();
+        Matcher propertyMatcher = PROPERTY_ACCESS_PATTERN.matcher(content);
+        while (propertyMatcher.find()) {
+            hashProperties.computeIfAbsent(propertyMatcher.group(1), k -> new LinkedHashSet<>())
+                .add(propertyMatcher.group(2));
+        }
+        hashProperties.replaceAll((name, properties) -> Collections.unmodifiableSet(properties));
+
+        Set<String> listSources = new HashSet<>();
+        Set<String> shadowedLoopVariables = new HashSet<>();
+        Matcher listMatcher = LIST_PATTERN.matcher(content);
+        while (listMatcher.find()) {
+            listSources.add(listMatcher.group(1));
+            String loopVar = listMatcher.group(2);
+            if (hashProperties.containsKey(loopVar)) {
+                shadowedLoopVariables.add(loopVar);
+            }
+        }
+
+        log.debug("Analysed template: {} variables, {} hashes, {} list sources",
+            variables.size(), hashProperties.size(), listSources.size());
+
+        return new TemplateVariableAnalysis(variables, hashProperties, listSources, shadowedLoopVariables);
+    }
+
+    /**
+     * Extract base variable names of all ${...} interpolations
+     */
+    public static Set<String> extractVariableNames(String content) {
+        Set<String> names = new LinkedHashSet<>();
+        if (content == null) {
+            return names;
+        }
+
+        Matcher matcher = INTERPOLATION_PATTERN.matcher(content);
+        while (matcher.find()) {
+            String fullExpression = matcher.group(1).trim();
+            String paramName = extractVariableName(fullExpression);
+            if (paramName != null && !paramName.isEmpty()) {
+                names.add(paramName);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Extract the base variable name from a FreeMarker expression
+     * Examples: "user.name" -> "user", "items[0]" -> "items", "count" -> "count"
+     */
+    static String extractVariableName(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            return null;
+        }
+
+        String trimmed = expression.trim();
+
+        // Handle object property access: user.name -> user
+        int dot = trimmed.indexOf('.');
+        if (dot >= 0) {
+            return trimmed.substring(0, dot);
+        }
+
+        // Handle array access: items[0] -> items
+        int bracket = trimmed.indexOf('[');
+        if (bracket >= 0) {
+            return trimmed.substring(0, bracket);
+        }
+
+        // Simple variable
+        return trimmed;
+    }
+
+    /**
+     * Build the render model: caller parameters plus defaults for missing or incompatible variables
+     */
+    public Map<String, Object> applyTo(Map<String, Object> originalModel) {
+        Map<String, Object> model = new HashMap<>(originalModel != null ? originalModel : Map.of());
+
+        // Provide defaults for variables that are missing or whose value does not fit their usage
+        for (String varName : variables) {
+            Object currentValue = model.get(varName);
+            if (currentValue == null || !isCompatible(varName, currentValue)) {
+                model.put(varName, defaultValueFor(varName));
+            }
+        }
+
+        // Loop variables that shadow an object variable would hide it; keep the original reachable
+        for (String loopVar : shadowedLoopVariables) {
+            Object originalValue = model.get(loopVar);
+            if (originalValue instanceof Map) {
+                model.put(loopVar + "_original", originalValue);
+            }
+        }
+
+        Set<String> legacyProperties = hashProperties.get(LEGACY_OBJECT_VARIABLE);
+        if (legacyProperties != null && !(model.get(LEGACY_OBJECT_VARIABLE) instanceof Map)) {
+            model.put(LEGACY_OBJECT_VARIABLE, emptyHash(legacyProperties));
+        }
+
+        return model;
+    }
+
+    private boolean isCompatible(String varName, Object value) {
+        if (hashProperties.containsKey(varName)) {
+            return value instanceof Map;
+        }
+        if (listSources.contains(varName)) {
+            return value instanceof List;
+        }
+        return true;
+    }
+
+    private Object defaultValueFor(String varName) {
+        Set<String> properties = hashProperties.get(varName);
+        if (properties != null) {
+            return emptyHash(properties);
+        }
+        if (listSources.contains(varName)) {
+            return new ArrayList<>();
+        }
+        return "";
+    }
+
+    private static Map<String, Object> emptyHash(Set<String> properties) {
+        Map<String, Object> hash = new HashMap<>();
+        for (String property : properties) {
+            hash.put(property, "");
+        }
+        return hash;
+    }
+
+    public Set<String> getVariables() {
+        return variables;
+    }
+
+    public Map<String, Set<String>> getHashProperties() {
+        return hashProperties;
+    }
+
+    public Set<String> getListSources() {
+        return listSources;
+    }
+
+    public Set<String> getShadowedLoopVariables() {
+        return shadowedLoopVariables;
+    }
+}
@@ -0,0 +1,134 @@
+package com.platform.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded blocking queue that hands out work round-robin across tenants.
+ *
+ * Each tenant has its own FIFO queue; consumers take one item from the next tenant in turn,
+ * so a tenant submitting hundreds of jobs delays other tenants by at most one job per worker.
+ * Capacity is limited in total and per tenant.
+ */
+public class TenantFairQueue<K, T> {
+
+    private final int capacity;
+    private final int perTenantCapacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    // Guarded by "lock"
+    private final Map<K, ArrayDeque<T>> queues = new HashMap<>();
+    // Tenants with pending items, in turn order; guarded by "lock"
+    private final ArrayDeque<K> turns = new ArrayDeque<>();
+    private int size;
+
+    public TenantFairQueue(int capacity, int perTenantCapacity) {
+        this.capacity = Math.max(1, capacity);
+        this.perTenantCapacity = perTenantCapacity > 0 ? perTenantCapacity : this.capacity;
+    }
+
+    /**
+     * Add an item to the tenant's queue
+     *
+     * @return false if the queue or the tenant's share of it is full
+     */
+    public boolean offer(K tenant, T item) {
+        lock.lock();
+        try {
+            ArrayDeque<T> queue = queues.get(tenant);
+            if (size >= capacity || (queue != null && queue.size() >= perTenantCapacity)) {
+                return false;
+            }
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(tenant, queue);
+                turns.addLast(tenant);
+            }
+            queue.addLast(item);
+            size++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take the head item of the next tenant in turn, waiting up to the timeout for work
+     *
+     * @return the item, or null if none arrived in time
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+
+            K tenant = turns.pollFirst();
+            ArrayDeque<T> queue = queues.get(tenant);
+            T item = queue.pollFirst();
+            size--;
+
+            if (queue.isEmpty()) {
+                queues.remove(tenant);
+            } else {
+                turns.addLast(tenant);
+            }
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove and return everything still queued
+     */
+    public List<T> drain() {
+        lock.lock();
+        try {
+            List<T> items = new ArrayList<>(size);
+            queues.values().forEach(items::addAll);
+            queues.clear();
+            turns.clear();
+            size = 0;
+            return items;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int tenantCount() {
+        lock.lock();
+        try {
+            return queues.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -2,6 +2,7 @@ package com.platform.service;
 
 import com.platform.entity.Corporate;
 import com.platform.entity.TranslationApp;
+import com.platform.enums.ContentChangeType;
 import com.platform.repository.TranslationAppRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -18,6 +19,8 @@ import java.util.UUID;
 public class TranslationAppService {
     
     private final TranslationAppRepository appRepository;
+    private final TranslationBundleService translationBundleService;
+    private final ContentReadModelService contentReadModelService;
     
     @Transactional(readOnly = true)
     public List<TranslationApp> getAllByCorporate(Long corporateId) {
@@ -63,11 +66,14 @@ public class TranslationAppService {
     
     @Transactional
     public TranslationApp update(TranslationApp app) {
+        translationBundleService.invalidateApp(app.getId());
         return appRepository.save(app);
     }
     
     @Transactional
     public void delete(Long id) {
+        translationBundleService.invalidateApp(id);
+        contentReadModelService.invalidate(id, ContentChangeType.TRANSLATION);
         appRepository.deleteById(id);
     }
     
@@ -0,0 +1,240 @@
+package com.platform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.platform.entity.TranslationApp;
+import com.platform.enums.TranslationStatus;
+import com.platform.repository.TranslationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized translation bundles for the public translation API.
+ *
+ * A bundle holds the published translations of an app, for one language or for all supported
+ * languages, as JSON bytes (raw and gzip) with a strong ETag derived from the content. Bundles are
+ * built with one projection query and cached until a translation, key or app of the same app
+ * changes; an edit only evicts the bundle of its language and the all-languages bundle, which are
+ * rebuilt on the next request.
+ */
+@Service
+@Slf4j
+public class TranslationBundleService {
+
+    private static final String ALL_LANGUAGES = "*";
+
+    private final TranslationRepository translationRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${translation.bundle-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${translation.bundle-cache.max-entries:500}")
+    private int maxEntries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // Per app, so a build racing with an edit of the same app is not cached
+    private final CacheGenerations<Long> generations = new CacheGenerations<>();
+
+    // Access-ordered map gives LRU eviction; guarded by "this"
+    private final LinkedHashMap<BundleKey, TranslationBundle> bundles =
+        new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BundleKey, TranslationBundle> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+    public TranslationBundleService(TranslationRepository translationRepository, ObjectMapper objectMapper) {
+        this.translationRepository = translationRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Serialized bundle with its ETag; the gzip body has its own ETag as a separate representation
+     */
+    public record TranslationBundle(byte[] json, byte[] gzip, String etag, String gzipEtag, int count) {
+    }
+
+    private record BundleKey(Long appId, String language) {
+    }
+
+    /**
+     * Get the published translations of an app for one language
+     */
+    @Transactional(readOnly = true)
+    public TranslationBundle getLanguageBundle(TranslationApp app, String language) {
+        return getBundle(new BundleKey(app.getId(), language), () -> buildLanguageBundle(app, language));
+    }
+
+    /**
+     * Get the published translations of an app for all its supported languages
+     */
+    @Transactional(readOnly = true)
+    public TranslationBundle getAllLanguagesBundle(TranslationApp app) {
+        return getBundle(new BundleKey(app.getId(), ALL_LANGUAGES), () -> buildAllLanguagesBundle(app));
+    }
+
+    private TranslationBundle getBundle(BundleKey key, Supplier<TranslationBundle> builder) {
+        if (!enabled) {
+            return builder.get();
+        }
+
+        CacheGenerations.Stamp stamp;
+        synchronized (this) {
+            TranslationBundle cached = bundles.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            stamp = generations.stamp(key.appId());
+        }
+
+        misses.incrementAndGet();
+        TranslationBundle bundle = builder.get();
+
+        synchronized (this) {
+            if (generations.isCurrent(key.appId(), stamp)) {
+                bundles.put(key, bundle);
+            }
+        }
+        return bundle;
+    }
+
+    private TranslationBundle buildLanguageBundle(TranslationApp app, String language) {
+        Map<String, String> translations = new LinkedHashMap<>();
+        for (TranslationRepository.KeyValue row : translationRepository.findKeyValuesByAppIdAndLanguageAndStatus(
+                app.getId(), language, TranslationStatus.PUBLISHED)) {
+            translations.putIfAbsent(row.getKeyName(), row.getValue());
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("language", language);
+        body.put("translations", translations);
+        body.put("count", translations.size());
+
+        log.debug("Built translation bundle for app {} language {}: {} keys", app.getId(), language, translations.size());
+        return serialize(body, translations.size());
+    }
+
+    private TranslationBundle buildAllLanguagesBundle(TranslationApp app) {
+        // Sorted so the same content always serializes to the same bytes and ETag
+        TreeSet<String> languages = new TreeSet<>(app.getSupportedLanguagesSet());
+        Map<String, Map<String, String>> translations = new LinkedHashMap<>();
+        languages.forEach(language -> translations.put(language, new LinkedHashMap<>()));
+
+        int count = 0;
+        for (TranslationRepository.KeyValue row : translationRepository.findKeyValuesByAppIdAndStatus(
+                app.getId(), TranslationStatus.PUBLISHED)) {
+            Map<String, String> values = translations.get(row.getLanguage());
+            if (values != null && values.putIfAbsent(row.getKeyName(), row.getValue()) == null) {
+                count++;
+            }
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("app", app.getName());
+        body.put("defaultLanguage", app.getDefaultLanguage());
+        body.put("supportedLanguages", languages);
+        body.put("translations", translations);
+
+        log.debug("Built translation bundle for app {} (all languages): {} translations", app.getId(), count);
+        return serialize(body, count);
+    }
+
+    private TranslationBundle serialize(Map<String, Object> body, int count) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            String hash = hash(json);
+            return new TranslationBundle(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"", count);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize translation bundle: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Evict the bundles affected by a change to translations of one language
+     */
+    public void invalidate(Long appId, String language) {
+        if (appId == null) {
+            return;
+        }
+        generations.invalidate(appId, () -> evict(appId, language));
+    }
+
+    /**
+     * Evict all bundles of an app after its keys or settings changed
+     */
+    public void invalidateApp(Long appId) {
+        if (appId == null) {
+            return;
+        }
+        generations.invalidate(appId, () -> evict(appId, null));
+    }
+
+    private synchronized void evict(Long appId, String language) {
+        if (language == null) {
+            bundles.keySet().removeIf(key -> key.appId().equals(appId));
+        } else {
+            bundles.remove(new BundleKey(appId, language));
+            bundles.remove(new BundleKey(appId, ALL_LANGUAGES));
+        }
+    }
+
+    /**
+     * Get cache statistics (hits, misses, size)
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+
+        stats.put("enabled", enabled);
+        stats.put("maxEntries", maxEntries);
+        synchronized (this) {
+            stats.put("size", bundles.size());
+        }
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total > 0 ? (double) hitCount / total : 0.0);
+        return stats;
+    }
+}
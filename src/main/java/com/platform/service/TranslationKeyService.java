@@ -2,6 +2,7 @@ package com.platform.service;
 
 import com.platform.entity.TranslationKey;
 import com.platform.entity.User;
+import com.platform.enums.ContentChangeType;
 import com.platform.repository.TranslationKeyRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -17,6 +18,8 @@ import java.util.Optional;
 public class TranslationKeyService {
     
     private final TranslationKeyRepository keyRepository;
+    private final TranslationBundleService translationBundleService;
+    private final ContentSyncService contentSyncService;
     
     @Transactional(readOnly = true)
     public List<TranslationKey> getAllByApp(Long translationAppId) {
@@ -56,24 +59,36 @@ public class TranslationKeyService {
     @Transactional
     public TranslationKey create(TranslationKey key, User createdBy) {
         key.setCreatedBy(createdBy);
+        key.setChangeSequence(contentSyncService.nextSequence(key.getApp().getId(), ContentChangeType.TRANSLATION));
         return keyRepository.save(key);
     }
     
     @Transactional
     public TranslationKey update(TranslationKey key) {
+        Long appId = key.getApp().getId();
+        translationBundleService.invalidateApp(appId);
+        key.setChangeSequence(contentSyncService.nextSequence(appId, ContentChangeType.TRANSLATION));
         return keyRepository.save(key);
     }
     
     @Transactional
     public void delete(Long id) {
+        keyRepository.findById(id).ifPresent(this::recordDeletion);
         keyRepository.deleteById(id);
     }
     
     @Transactional
     public void deleteMultiple(List<Long> ids) {
+        keyRepository.findAllById(ids).forEach(this::recordDeletion);
         keyRepository.deleteAllById(ids);
     }
     
+    private void recordDeletion(TranslationKey key) {
+        Long appId = key.getApp().getId();
+        contentSyncService.recordDeletion(appId, ContentChangeType.TRANSLATION, key.getId(), key.getKeyName(), null);
+        translationBundleService.invalidateApp(appId);
+    }
+    
     public boolean existsByAppAndKeyName(Long translationAppId, String keyName) {
         return keyRepository.existsByApp_IdAndKeyName(translationAppId, keyName);
     }
@@ -2,6 +2,7 @@ package com.platform.service;
 
 import com.platform.entity.Translation;
 import com.platform.entity.User;
+import com.platform.enums.ContentChangeType;
 import com.platform.enums.TranslationStatus;
 import com.platform.repository.TranslationRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,8 @@ import java.util.stream.Collectors;
 public class TranslationService {
     
     private final TranslationRepository translationRepository;
+    private final TranslationBundleService translationBundleService;
+    private final ContentSyncService contentSyncService;
     
     @Transactional(readOnly = true)
     public List<Translation> getAllByKey(Long keyId) {
@@ -46,13 +49,13 @@ public class TranslationService {
     
     @Transactional(readOnly = true)
     public Map<String, String> getTranslationsAsMap(Long appId, String language) {
-        List<Translation> translations = translationRepository.findByAppIdAndLanguageAndStatus(
+        List<TranslationRepository.KeyValue> translations = translationRepository.findKeyValuesByAppIdAndLanguageAndStatus(
             appId, language, TranslationStatus.PUBLISHED);
         
         return translations.stream()
             .collect(Collectors.toMap(
-                t -> t.getKey().getKeyName(),
-                Translation::getValue,
+                TranslationRepository.KeyValue::getKeyName,
+                TranslationRepository.KeyValue::getValue,
                 (v1, v2) -> v1
             ));
     }
@@ -61,25 +64,54 @@ public class TranslationService {
     public Translation create(Translation translation, User createdBy) {
         translation.setCreatedBy(createdBy);
         translation.setUpdatedBy(createdBy);
-        return translationRepository.save(translation);
+        translation.setChangeSequence(contentSyncService.nextSequence(appIdOf(translation), ContentChangeType.TRANSLATION));
+        Translation saved = translationRepository.save(translation);
+        invalidateBundle(saved);
+        return saved;
     }
     
     @Transactional
     public Translation update(Translation translation, User updatedBy) {
         translation.setUpdatedBy(updatedBy);
-        return translationRepository.save(translation);
+        translation.setChangeSequence(contentSyncService.nextSequence(appIdOf(translation), ContentChangeType.TRANSLATION));
+        // A translation moved to another language also leaves the old language's bundle stale
+        translationRepository.findStoredLanguageById(translation.getId())
+            .filter(previous -> !previous.equals(translation.getLanguage()))
+            .ifPresent(previous -> translationBundleService.invalidate(appIdOf(translation), previous));
+        Translation saved = translationRepository.save(translation);
+        invalidateBundle(saved);
+        return saved;
     }
     
     @Transactional
     public void delete(Long id) {
+        translationRepository.findById(id).ifPresent(this::recordDeletion);
         translationRepository.deleteById(id);
     }
     
     @Transactional
     public void deleteByKey(Long keyId) {
+        translationRepository.findByKeyId(keyId).forEach(this::recordDeletion);
         translationRepository.deleteByKeyId(keyId);
     }
     
+    private void recordDeletion(Translation translation) {
+        contentSyncService.recordDeletion(appIdOf(translation), ContentChangeType.TRANSLATION,
+            translation.getKey().getId(), translation.getKey().getKeyName(), translation.getLanguage());
+        invalidateBundle(translation);
+    }
+    
+    /**
+     * Evict the public API bundles of the translation's app and language
+     */
+    private void invalidateBundle(Translation translation) {
+        translationBundleService.invalidate(appIdOf(translation), translation.getLanguage());
+    }
+    
+    private Long appIdOf(Translation translation) {
+        return translation.getKey().getApp().getId();
+    }
+    
     public boolean existsByKeyAndLanguage(Long keyId, String language) {
         return translationRepository.existsByKeyIdAndLanguage(keyId, language);
     }
@@ -0,0 +1,105 @@
+package com.platform.service;
+
+import org.apache.xmlbeans.XmlObject;
+import org.apache.xmlbeans.XmlOptions;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTTbl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a DOCX package straight to an output stream.
+ *
+ * The package parts are fixed, and {@code word/document.xml} is written block by block. Paragraphs and
+ * table rows are built with POI in a scratch document and serialized here as soon as they are complete,
+ * so the whole document never has to be held in memory.
+ */
+final class WordDocxStreamWriter {
+
+    private static final String W_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String R_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private static final String CONTENT_TYPES = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+        <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+        <Default Extension="xml" ContentType="application/xml"/>\
+        <Override PartName="/word/document.xml" \
+        ContentType="application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml"/>\
+        </Types>""";
+
+    private static final String PACKAGE_RELS = """
+        <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+        <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+        <Relationship Id="rId1" \
+        Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+        Target="word/document.xml"/>\
+        </Relationships>""";
+
+    // Fragments are written inside <w:document>, which already declares the w and r prefixes
+    private static final XmlOptions FRAGMENT_OPTIONS = new XmlOptions()
+        .setSaveOuter()
+        .setSaveAggressiveNamespaces()
+        .setSaveImplicitNamespaces(Map.of("w", W_NS, "r", R_NS));
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+
+    WordDocxStreamWriter(OutputStream out) throws IOException {
+        this.zip = new ZipOutputStream(out);
+        writeEntry("[Content_Types].xml", CONTENT_TYPES);
+        writeEntry("_rels/.rels", PACKAGE_RELS);
+
+        zip.putNextEntry(new ZipEntry("word/document.xml"));
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<w:document xmlns:w=\"" + W_NS + "\" xmlns:r=\"" + R_NS + "\"><w:body>");
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    /**
+     * Write a complete body element (paragraph, table) or table row
+     */
+    void write(XmlObject block) throws IOException {
+        writer.write(block.xmlText(FRAGMENT_OPTIONS));
+    }
+
+    /**
+     * Open a table; its rows follow through {@link #write} and it is closed with {@link #endTable}
+     */
+    void startTable(CTTbl table) throws IOException {
+        writer.write("<w:tbl>");
+        if (table.getTblPr() != null) {
+            write(table.getTblPr());
+        }
+        if (table.getTblGrid() != null) {
+            write(table.getTblGrid());
+        }
+    }
+
+    void endTable() throws IOException {
+        writer.write("</w:tbl>");
+    }
+
+    /**
+     * Close the document part and the package; the underlying stream is left open
+     */
+    void finish() throws IOException {
+        writer.write("</w:body></w:document>");
+        writer.flush();
+        zip.closeEntry();
+        zip.finish();
+    }
+}
@@ -7,29 +7,120 @@ import org.jsoup.nodes.Element;
 import org.jsoup.nodes.Node;
 import org.jsoup.nodes.TextNode;
 import org.jsoup.select.Elements;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Service
+@RequiredArgsConstructor
+@Slf4j
 public class WordGenerationService {
     
-    private Map<String, Map<String, String>> cssRules = new HashMap<>();
+    private final TemplateRenderService templateRenderService;
+    private final WordOutputCache wordOutputCache;
     
+    private static final Map<String, String> NAMED_COLORS = Map.ofEntries(
+        Map.entry("black", "000000"),
+        Map.entry("white", "FFFFFF"),
+        Map.entry("red", "FF0000"),
+        Map.entry("green", "008000"),
+        Map.entry("blue", "0000FF"),
+        Map.entry("yellow", "FFFF00"),
+        Map.entry("orange", "FFA500"),
+        Map.entry("purple", "800080"),
+        Map.entry("pink", "FFC0CB"),
+        Map.entry("gray", "808080"),
+        Map.entry("grey", "808080"),
+        Map.entry("silver", "C0C0C0"),
+        Map.entry("maroon", "800000"),
+        Map.entry("olive", "808000"),
+        Map.entry("lime", "00FF00"),
+        Map.entry("aqua", "00FFFF"),
+        Map.entry("teal", "008080"),
+        Map.entry("navy", "000080"),
+        Map.entry("fuchsia", "FF00FF"),
+        Map.entry("brown", "A52A2A"),
+        Map.entry("gold", "FFD700"),
+        Map.entry("indigo", "4B0082"),
+        Map.entry("violet", "EE82EE"),
+        Map.entry("cyan", "00FFFF"),
+        Map.entry("magenta", "FF00FF")
+    );
+    
+    @Value("${word.stylesheet-cache.max-entries:256}")
+    private int stylesheetCacheMaxEntries;
+    
+    // Parsed stylesheets by SHA-256 of the document CSS; access-ordered for LRU eviction, guarded by "this"
+    private final LinkedHashMap<String, WordStylesheet> stylesheetCache = new LinkedHashMap<>(64, 0.75f, true);
+    private final AtomicLong stylesheetHits = new AtomicLong();
+    private final AtomicLong stylesheetMisses = new AtomicLong();
+    
+    @Value("${word.streaming.enabled:true}")
+    private boolean streamingEnabled;
+    
+    @Value("${word.streaming.html-threshold:1048576}")
+    private int streamingHtmlThreshold;
+    
+    /**
+     * Render a template and convert it to Word, served from the Word output cache when this
+     * template version was exported with the same parameters before
+     */
+    public GeneratedWord generateWord(TemplateRenderBundle bundle, Map<String, Object> parameters) throws IOException {
+        byte[] cached = getCachedWord(bundle, parameters);
+        if (cached != null) {
+            log.debug("Word document for template {} served from output cache", bundle.getTemplateId());
+            return new GeneratedWord(cached, true);
+        }
+        
+        byte[] docx = convertHtmlToWord(templateRenderService.renderHtml(bundle, parameters));
+        cacheWord(bundle, parameters, docx);
+        return new GeneratedWord(docx, false);
+    }
+    
+    /**
+     * Cached Word document of the template version and parameters, or null
+     */
+    public byte[] getCachedWord(TemplateRenderBundle bundle, Map<String, Object> parameters) {
+        return wordOutputCache.get(wordOutputCache.key(bundle, parameters), bundle.getTemplateId());
+    }
+    
+    public void cacheWord(TemplateRenderBundle bundle, Map<String, Object> parameters, byte[] docx) {
+        wordOutputCache.put(wordOutputCache.key(bundle, parameters), bundle.getTemplateId(), docx);
+    }
+    
+    /**
+     * Generated DOCX bytes and whether they were served from the Word output cache
+     */
+    public record GeneratedWord(byte[] docx, boolean cacheHit) {
+    }
+    
+    /**
+     * Convert HTML to a DOCX document held in memory
+     */
     public byte[] convertHtmlToWord(String html) throws IOException {
-        System.out.println("=== Starting Word Generation ===");
-        System.out.println("HTML length: " + html.length() + " characters");
+        log.debug("Starting Word generation, HTML length: {} characters", html.length());
         
         // Parse HTML
         Document doc = Jsoup.parse(html);
         
-        // Extract and parse CSS
-        parseCssFromDocument(doc);
+        // Extract CSS (parsed once per distinct stylesheet, shared by concurrent exports)
+        Conversion conversion = new Conversion(getStylesheet(doc), null);
         
         // Create Word document
         XWPFDocument document = new XWPFDocument();
@@ -37,8 +128,8 @@ public class WordGenerationService {
         // Process body content
         Element body = doc.body();
         if (body != null) {
-            System.out.println("Processing body with " + body.childNodeSize() + " child nodes");
-            processElement(body, document, null);
+            log.debug("Processing body with {} child nodes", body.childNodeSize());
+            processElement(body, document, null, conversion);
         }
         
         // Write to byte array
@@ -46,147 +137,166 @@ public class WordGenerationService {
         document.write(out);
         document.close();
         
-        System.out.println("Word document generated: " + out.size() + " bytes");
-        System.out.println("=== Word Generation Complete ===");
-        
+        log.debug("Word document generated: {} bytes", out.size());
         return out.toByteArray();
     }
     
-    private void parseCssFromDocument(Document doc) {
-        cssRules.clear();
+    /**
+     * Convert HTML to DOCX written straight to the output stream. Each paragraph and table row is
+     * written as soon as it is complete, so memory use does not grow with the document size.
+     */
+    public void writeHtmlAsWord(String html, OutputStream out) throws IOException {
+        log.debug("Starting streaming Word generation, HTML length: {} characters", html.length());
         
-        // Extract CSS from <style> tags
-        Elements styleTags = doc.select("style");
-        for (Element styleTag : styleTags) {
-            String css = styleTag.html();
-            
-            // Remove CSS comments
-            css = css.replaceAll("/\\*.*?\\*/", "");
-            
-            // Remove media queries (not supported in Word) - handle nested braces
-            css = removeMediaQueries(css);
-            
-            // Remove @keyframes, @font-face, etc.
-            css = css.replaceAll("@[a-z-]+[^{]*\\{[^}]*\\}", "");
-            
-            parseCss(css);
+        Document doc = Jsoup.parse(html);
+        WordDocxStreamWriter writer = new WordDocxStreamWriter(out);
+        
+        // Scratch document: holds only the blocks not written yet
+        try (XWPFDocument document = new XWPFDocument()) {
+            Conversion conversion = new Conversion(getStylesheet(doc), writer);
+            Element body = doc.body();
+            if (body != null) {
+                processElement(body, document, null, conversion);
+            }
+            conversion.flush(document);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
         
-        System.out.println("Total CSS rules loaded: " + cssRules.size());
-        if (!cssRules.isEmpty()) {
-            System.out.println("Sample rules: " + cssRules.keySet().stream().limit(5).toList());
-        }
+        writer.finish();
+        log.debug("Streaming Word generation complete");
     }
     
-    private String removeMediaQueries(String css) {
-        // Remove @media blocks with proper brace matching
-        StringBuilder result = new StringBuilder();
-        int i = 0;
-        while (i < css.length()) {
-            if (css.startsWith("@media", i)) {
-                // Find the opening brace
-                int openBrace = css.indexOf('{', i);
-                if (openBrace == -1) break;
-                
-                // Count braces to find matching closing brace
-                int braceCount = 1;
-                int j = openBrace + 1;
-                while (j < css.length() && braceCount > 0) {
-                    if (css.charAt(j) == '{') braceCount++;
-                    else if (css.charAt(j) == '}') braceCount--;
-                    j++;
-                }
-                
-                // Skip the entire @media block
-                i = j;
-            } else {
-                result.append(css.charAt(i));
-                i++;
-            }
-        }
-        return result.toString();
+    /**
+     * Whether HTML of this size should be converted with {@link #writeHtmlAsWord} rather than buffered
+     */
+    public boolean shouldStream(String html) {
+        return streamingEnabled && html.length() > streamingHtmlThreshold;
     }
     
-    private void parseCss(String css) {
-        // Simple CSS parser - extracts selector and properties
-        Pattern pattern = Pattern.compile("([^{]+)\\{([^}]+)\\}");
-        Matcher matcher = pattern.matcher(css);
-        
-        int ruleCount = 0;
-        while (matcher.find()) {
-            String selector = matcher.group(1).trim();
-            String properties = matcher.group(2).trim();
-            
-            Map<String, String> props = new HashMap<>();
-            String[] propArray = properties.split(";");
-            for (String prop : propArray) {
-                String[] parts = prop.split(":", 2);
-                if (parts.length == 2) {
-                    props.put(parts[0].trim(), parts[1].trim());
-                }
+    /**
+     * Stylesheet of the document's {@code <style>} tags, served from the cache when the same CSS was seen before
+     */
+    private WordStylesheet getStylesheet(Document doc) {
+        StringBuilder css = new StringBuilder();
+        for (Element styleTag : doc.select("style")) {
+            css.append(styleTag.html()).append('\n');
+        }
+        if (css.isEmpty()) {
+            return WordStylesheet.EMPTY;
+        }
+
+        String key = hash(css);
+        synchronized (this) {
+            WordStylesheet cached = stylesheetCache.get(key);
+            if (cached != null) {
+                stylesheetHits.incrementAndGet();
+                return cached;
             }
-            
-            if (!props.isEmpty()) {
-                cssRules.put(selector, props);
-                ruleCount++;
+        }
+
+        // Parsed outside the lock; two threads may parse the same CSS once each, the result is identical
+        WordStylesheet stylesheet = WordStylesheet.parse(css.toString());
+        stylesheetMisses.incrementAndGet();
+        log.debug("Parsed Word stylesheet with {} rules", stylesheet.getRuleCount());
+
+        synchronized (this) {
+            stylesheetCache.put(key, stylesheet);
+            while (stylesheetCache.size() > Math.max(1, stylesheetCacheMaxEntries)) {
+                String eldest = stylesheetCache.keySet().iterator().next();
+                stylesheetCache.remove(eldest);
             }
         }
-        
-        System.out.println("Parsed " + ruleCount + " CSS rules");
+        return stylesheet;
+    }
+
+    private static String hash(CharSequence css) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(css.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Stylesheet cache size and hit/miss counters
+     */
+    public Map<String, Object> getStylesheetCacheStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("size", stylesheetCache.size());
+        }
+        stats.put("maxEntries", stylesheetCacheMaxEntries);
+        stats.put("hits", stylesheetHits.get());
+        stats.put("misses", stylesheetMisses.get());
+        return stats;
     }
     
-    private Map<String, String> getComputedStyles(Element element) {
-        Map<String, String> styles = new HashMap<>();
-        
-        // Priority order (lowest to highest): tag styles < class styles < inline styles
-        
-        // 1. Get tag styles (lowest priority)
-        String tagName = element.tagName();
-        Map<String, String> tagStyles = cssRules.get(tagName);
-        if (tagStyles != null) {
-            styles.putAll(tagStyles);
-        }
-        
-        // 2. Get CSS class styles (medium priority)
-        String className = element.attr("class");
-        if (!className.isEmpty()) {
-            // Handle multiple classes
-            String[] classes = className.split("\\s+");
-            for (String cls : classes) {
-                Map<String, String> classStyles = cssRules.get("." + cls.trim());
-                if (classStyles != null) {
-                    styles.putAll(classStyles); // Override tag styles
-                }
-            }
+    /**
+     * State of one conversion: the stylesheet, and for streaming the writer plus the number of
+     * paragraphs still open for inline content (blocks are only written while none is open)
+     */
+    private static final class Conversion {
+        private final WordStylesheet stylesheet;
+        private final WordDocxStreamWriter writer;
+        private int openParagraphs;
+        
+        private Conversion(WordStylesheet stylesheet, WordDocxStreamWriter writer) {
+            this.stylesheet = stylesheet;
+            this.writer = writer;
         }
         
-        // 3. Get inline styles (highest priority)
-        String inlineStyle = element.attr("style");
-        if (!inlineStyle.isEmpty()) {
-            String[] props = inlineStyle.split(";");
-            for (String prop : props) {
-                String[] parts = prop.split(":", 2);
-                if (parts.length == 2) {
-                    styles.put(parts[0].trim(), parts[1].trim()); // Override everything
+        private Map<String, String> styles(Element element) {
+            return stylesheet.computedStyles(element);
+        }
+        
+        private XWPFParagraph openParagraph(XWPFDocument document) {
+            openParagraphs++;
+            return document.createParagraph();
+        }
+        
+        private boolean canWrite() {
+            return writer != null && openParagraphs == 0;
+        }
+        
+        /**
+         * Write the completed blocks of the scratch document and remove them from it
+         */
+        private void flush(XWPFDocument document) {
+            if (!canWrite() || document.getBodyElements().isEmpty()) {
+                return;
+            }
+            try {
+                for (IBodyElement element : document.getBodyElements()) {
+                    if (element instanceof XWPFParagraph paragraph) {
+                        writer.write(paragraph.getCTP());
+                    } else if (element instanceof XWPFTable table) {
+                        writer.write(table.getCTTbl());
+                    }
                 }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (int i = document.getBodyElements().size() - 1; i >= 0; i--) {
+                document.removeBodyElement(i);
             }
         }
-        
-        return styles;
     }
     
-    private void processElement(Element element, XWPFDocument document, XWPFParagraph currentParagraph) {
+    private void processElement(Element element, XWPFDocument document, XWPFParagraph currentParagraph, Conversion conversion) {
+        XWPFParagraph initialParagraph = currentParagraph;
         for (Node node : element.childNodes()) {
             if (node instanceof TextNode) {
                 TextNode textNode = (TextNode) node;
                 String text = textNode.text().trim();
                 if (!text.isEmpty()) {
                     if (currentParagraph == null) {
-                        currentParagraph = document.createParagraph();
+                        currentParagraph = conversion.openParagraph(document);
                     }
                     XWPFRun run = currentParagraph.createRun();
                     run.setText(text);
-                    applyInlineStyles(run, element);
+                    applyInlineStyles(run, element, conversion);
                 }
             } else if (node instanceof Element) {
                 Element childElement = (Element) node;
@@ -194,32 +304,32 @@ public class WordGenerationService {
                 
                 switch (tagName) {
                     case "h1":
-                        createHeading(document, childElement, 1);
+                        createHeading(document, childElement, 1, conversion);
                         break;
                     case "h2":
-                        createHeading(document, childElement, 2);
+                        createHeading(document, childElement, 2, conversion);
                         break;
                     case "h3":
-                        createHeading(document, childElement, 3);
+                        createHeading(document, childElement, 3, conversion);
                         break;
                     case "h4":
-                        createHeading(document, childElement, 4);
+                        createHeading(document, childElement, 4, conversion);
                         break;
                     case "h5":
-                        createHeading(document, childElement, 5);
+                        createHeading(document, childElement, 5, conversion);
                         break;
                     case "h6":
-                        createHeading(document, childElement, 6);
+                        createHeading(document, childElement, 6, conversion);
                         break;
                     case "p":
-                        createParagraph(document, childElement);
+                        createParagraph(document, childElement, conversion);
                         break;
                     case "ul":
                     case "ol":
-                        createList(document, childElement, tagName.equals("ol"));
+                        createList(document, childElement, tagName.equals("ol"), conversion);
                         break;
                     case "table":
-                        createTable(document, childElement);
+                        createTable(document, childElement, conversion);
                         break;
                     case "br":
                         if (currentParagraph != null) {
@@ -229,7 +339,7 @@ public class WordGenerationService {
                     case "strong":
                     case "b":
                         if (currentParagraph == null) {
-                            currentParagraph = document.createParagraph();
+                            currentParagraph = conversion.openParagraph(document);
                         }
                         XWPFRun boldRun = currentParagraph.createRun();
                         boldRun.setText(childElement.text());
@@ -238,7 +348,7 @@ public class WordGenerationService {
                     case "em":
                     case "i":
                         if (currentParagraph == null) {
-                            currentParagraph = document.createParagraph();
+                            currentParagraph = conversion.openParagraph(document);
                         }
                         XWPFRun italicRun = currentParagraph.createRun();
                         italicRun.setText(childElement.text());
@@ -246,7 +356,7 @@ public class WordGenerationService {
                         break;
                     case "u":
                         if (currentParagraph == null) {
-                            currentParagraph = document.createParagraph();
+                            currentParagraph = conversion.openParagraph(document);
                         }
                         XWPFRun underlineRun = currentParagraph.createRun();
                         underlineRun.setText(childElement.text());
@@ -271,36 +381,43 @@ public class WordGenerationService {
                         if (hasDirectText) {
                             // Treat as paragraph
                             XWPFParagraph divPara = document.createParagraph();
-                            Map<String, String> divStyles = getComputedStyles(childElement);
+                            Map<String, String> divStyles = conversion.styles(childElement);
                             applyParagraphStyles(divPara, divStyles);
-                            processInlineElements(childElement, divPara);
+                            processInlineElements(childElement, divPara, conversion);
                         } else {
                             // Process as container
-                            processElement(childElement, document, null);
+                            processElement(childElement, document, null, conversion);
                         }
                         break;
                     case "span":
                         if (currentParagraph == null) {
-                            currentParagraph = document.createParagraph();
+                            currentParagraph = conversion.openParagraph(document);
                         }
                         XWPFRun spanRun = currentParagraph.createRun();
                         spanRun.setText(childElement.text());
-                        applyInlineStyles(spanRun, childElement);
+                        applyInlineStyles(spanRun, childElement, conversion);
                         break;
                     default:
                         // For unknown tags, just process their content
-                        processElement(childElement, document, currentParagraph);
+                        processElement(childElement, document, currentParagraph, conversion);
                         break;
                 }
             }
+            
+            // When streaming, write out the blocks completed so far
+            conversion.flush(document);
+        }
+        
+        if (initialParagraph == null && currentParagraph != null) {
+            conversion.openParagraphs--;
         }
     }
     
-    private void createHeading(XWPFDocument document, Element element, int level) {
+    private void createHeading(XWPFDocument document, Element element, int level, Conversion conversion) {
         XWPFParagraph paragraph = document.createParagraph();
         
         // Get computed styles
-        Map<String, String> styles = getComputedStyles(element);
+        Map<String, String> styles = conversion.styles(element);
         
         // Apply paragraph-level styles
         applyParagraphStyles(paragraph, styles);
@@ -324,17 +441,17 @@ public class WordGenerationService {
         }
     }
     
-    private void createParagraph(XWPFDocument document, Element element) {
+    private void createParagraph(XWPFDocument document, Element element, Conversion conversion) {
         XWPFParagraph paragraph = document.createParagraph();
         
         // Apply paragraph-level styles
-        Map<String, String> styles = getComputedStyles(element);
+        Map<String, String> styles = conversion.styles(element);
         applyParagraphStyles(paragraph, styles);
         
-        processInlineElements(element, paragraph);
+        processInlineElements(element, paragraph, conversion);
     }
     
-    private void processInlineElements(Element element, XWPFParagraph paragraph) {
+    private void processInlineElements(Element element, XWPFParagraph paragraph, Conversion conversion) {
         for (Node node : element.childNodes()) {
             if (node instanceof TextNode) {
                 TextNode textNode = (TextNode) node;
@@ -343,7 +460,7 @@ public class WordGenerationService {
                     XWPFRun run = paragraph.createRun();
                     run.setText(text);
                     // Apply parent element styles to text
-                    Map<String, String> styles = getComputedStyles(element);
+                    Map<String, String> styles = conversion.styles(element);
                     applyStylesToRun(run, styles, element);
                 }
             } else if (node instanceof Element) {
@@ -359,7 +476,7 @@ public class WordGenerationService {
                 run.setText(childElement.text());
                 
                 // Apply computed styles from CSS
-                Map<String, String> styles = getComputedStyles(childElement);
+                Map<String, String> styles = conversion.styles(childElement);
                 applyStylesToRun(run, styles, childElement);
                 
                 // Apply semantic HTML styles (these override CSS if not specified)
@@ -386,7 +503,7 @@ public class WordGenerationService {
         }
     }
     
-    private void createList(XWPFDocument document, Element element, boolean ordered) {
+    private void createList(XWPFDocument document, Element element, boolean ordered, Conversion conversion) {
         Elements items = element.select("> li");
         for (int i = 0; i < items.size(); i++) {
             Element item = items.get(i);
@@ -400,7 +517,7 @@ public class WordGenerationService {
             }
             
             // Get computed styles for list item
-            Map<String, String> styles = getComputedStyles(item);
+            Map<String, String> styles = conversion.styles(item);
             applyParagraphStyles(paragraph, styles);
             
             XWPFRun run = paragraph.createRun();
@@ -411,57 +528,88 @@ public class WordGenerationService {
         }
     }
     
-    private void createTable(XWPFDocument document, Element element) {
+    private void createTable(XWPFDocument document, Element element, Conversion conversion) {
         Elements rows = element.select("tr");
         if (rows.isEmpty()) return;
         
         // Count columns
         int cols = rows.first().select("th, td").size();
         
+        if (conversion.canWrite()) {
+            streamTable(document, rows, cols, conversion);
+            return;
+        }
+        
         XWPFTable table = document.createTable(rows.size(), cols);
         
         for (int i = 0; i < rows.size(); i++) {
-            Element row = rows.get(i);
-            Elements cells = row.select("th, td");
-            XWPFTableRow tableRow = table.getRow(i);
+            fillRow(table.getRow(i), rows.get(i), cols, conversion);
+        }
+    }
+    
+    /**
+     * Write a table row by row: one scratch row is filled and written at a time
+     */
+    private void streamTable(XWPFDocument document, Elements rows, int cols, Conversion conversion) {
+        conversion.flush(document);
+        XWPFTable table = document.createTable(1, cols);
+        try {
+            conversion.writer.startTable(table.getCTTbl());
+            fillRow(table.getRow(0), rows.get(0), cols, conversion);
+            conversion.writer.write(table.getRow(0).getCtRow());
             
-            for (int j = 0; j < cells.size() && j < cols; j++) {
-                Element cell = cells.get(j);
-                XWPFTableCell tableCell = tableRow.getCell(j);
-                
-                // Clear default paragraph
-                tableCell.removeParagraph(0);
-                XWPFParagraph cellPara = tableCell.addParagraph();
-                
-                // Get computed styles for cell
-                Map<String, String> cellStyles = getComputedStyles(cell);
-                applyParagraphStyles(cellPara, cellStyles);
-                
-                XWPFRun cellRun = cellPara.createRun();
-                cellRun.setText(cell.text());
-                
-                // Apply text styles
-                applyStylesToRun(cellRun, cellStyles, cell);
-                
-                // Bold header cells if not specified in CSS
-                if (cell.tagName().equals("th") && !cellStyles.containsKey("font-weight")) {
-                    cellRun.setBold(true);
-                }
-                
-                // Apply background color to cell if specified
-                String bgColor = cellStyles.get("background-color");
-                if (bgColor != null) {
-                    String hexColor = parseColor(bgColor);
-                    if (hexColor != null) {
-                        tableCell.setColor(hexColor);
-                    }
+            for (int i = 1; i < rows.size(); i++) {
+                XWPFTableRow tableRow = table.createRow();
+                fillRow(tableRow, rows.get(i), cols, conversion);
+                conversion.writer.write(tableRow.getCtRow());
+                table.removeRow(1);
+            }
+            conversion.writer.endTable();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        document.removeBodyElement(document.getPosOfTable(table));
+    }
+    
+    private void fillRow(XWPFTableRow tableRow, Element row, int cols, Conversion conversion) {
+        Elements cells = row.select("th, td");
+        
+        for (int j = 0; j < cells.size() && j < cols; j++) {
+            Element cell = cells.get(j);
+            XWPFTableCell tableCell = tableRow.getCell(j);
+            
+            // Clear default paragraph
+            tableCell.removeParagraph(0);
+            XWPFParagraph cellPara = tableCell.addParagraph();
+            
+            // Get computed styles for cell
+            Map<String, String> cellStyles = conversion.styles(cell);
+            applyParagraphStyles(cellPara, cellStyles);
+            
+            XWPFRun cellRun = cellPara.createRun();
+            cellRun.setText(cell.text());
+            
+            // Apply text styles
+            applyStylesToRun(cellRun, cellStyles, cell);
+            
+            // Bold header cells if not specified in CSS
+            if (cell.tagName().equals("th") && !cellStyles.containsKey("font-weight")) {
+                cellRun.setBold(true);
+            }
+            
+            // Apply background color to cell if specified
+            String bgColor = cellStyles.get("background-color");
+            if (bgColor != null) {
+                String hexColor = parseColor(bgColor);
+                if (hexColor != null) {
+                    tableCell.setColor(hexColor);
                 }
             }
         }
     }
     
-    private void applyInlineStyles(XWPFRun run, Element element) {
-        Map<String, String> styles = getComputedStyles(element);
+    private void applyInlineStyles(XWPFRun run, Element element, Conversion conversion) {
+        Map<String, String> styles = conversion.styles(element);
         applyStylesToRun(run, styles, element);
     }
     
@@ -626,34 +774,7 @@ public class WordGenerationService {
     }
     
     private String convertNamedColor(String colorName) {
-        Map<String, String> namedColors = new HashMap<>();
-        namedColors.put("black", "000000");
-        namedColors.put("white", "FFFFFF");
-        namedColors.put("red", "FF0000");
-        namedColors.put("green", "008000");
-        namedColors.put("blue", "0000FF");
-        namedColors.put("yellow", "FFFF00");
-        namedColors.put("orange", "FFA500");
-        namedColors.put("purple", "800080");
-        namedColors.put("pink", "FFC0CB");
-        namedColors.put("gray", "808080");
-        namedColors.put("grey", "808080");
-        namedColors.put("silver", "C0C0C0");
-        namedColors.put("maroon", "800000");
-        namedColors.put("olive", "808000");
-        namedColors.put("lime", "00FF00");
-        namedColors.put("aqua", "00FFFF");
-        namedColors.put("teal", "008080");
-        namedColors.put("navy", "000080");
-        namedColors.put("fuchsia", "FF00FF");
-        namedColors.put("brown", "A52A2A");
-        namedColors.put("gold", "FFD700");
-        namedColors.put("indigo", "4B0082");
-        namedColors.put("violet", "EE82EE");
-        namedColors.put("cyan", "00FFFF");
-        namedColors.put("magenta", "FF00FF");
-        
-        return namedColors.get(colorName.toLowerCase());
+        return NAMED_COLORS.get(colorName.toLowerCase());
     }
     
     private int parseFontSize(String fontSize) {
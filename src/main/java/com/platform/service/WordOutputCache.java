@@ -0,0 +1,27 @@
+package com.platform.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Output cache of generated Word documents, held in memory only.
+ */
+@Component
+public class WordOutputCache extends TemplateOutputCache {
+
+    public WordOutputCache(@Value("${word.output-cache.enabled:false}") boolean enabled,
+                           @Value("${word.output-cache.max-memory-mb:64}") long maxMemoryMb,
+                           @Value("${word.output-cache.max-entry-kb:4096}") long maxEntryKb) {
+        super("docx", enabled, maxMemoryMb, maxEntryKb, false, 0L, "");
+    }
+
+    /**
+     * Cache key for an export request, or null when caching is disabled or the parameters
+     * cannot be serialized canonically
+     */
+    public String key(TemplateRenderBundle bundle, Map<String, Object> parameters) {
+        return buildKey(bundle, parameters);
+    }
+}
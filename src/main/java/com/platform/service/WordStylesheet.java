@@ -0,0 +1,144 @@
+package com.platform.service;
+
+import org.jsoup.nodes.Element;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable CSS rules of one document, as used by Word generation.
+ *
+ * Rules are parsed once and indexed by selector kind (tag and class selectors), so computing an
+ * element's styles is a couple of map lookups instead of a scan over all rules. Instances hold no
+ * per-conversion state and are shared between concurrent Word exports.
+ */
+public final class WordStylesheet {
+
+    public static final WordStylesheet EMPTY = new WordStylesheet(Map.of(), Map.of());
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern AT_RULE = Pattern.compile("@[a-z-]+[^{]*\\{[^}]*\\}");
+    private static final Pattern RULE = Pattern.compile("([^{]+)\\{([^}]+)\\}");
+    private static final Pattern CLASS_SEPARATOR = Pattern.compile("\\s+");
+
+    private final Map<String, Map<String, String>> tagRules;
+    private final Map<String, Map<String, String>> classRules;
+
+    private WordStylesheet(Map<String, Map<String, String>> tagRules, Map<String, Map<String, String>> classRules) {
+        this.tagRules = tagRules;
+        this.classRules = classRules;
+    }
+
+    /**
+     * Parse the CSS of a document's {@code <style>} tags. Media queries, {@code @font-face},
+     * {@code @keyframes} and other at-rules are not supported in Word and are dropped.
+     */
+    public static WordStylesheet parse(String css) {
+        if (css == null || css.isBlank()) {
+            return EMPTY;
+        }
+
+        // Remove CSS comments, media queries (with nested braces) and other at-rules
+        String cleaned = COMMENT.matcher(css).replaceAll("");
+        cleaned = removeMediaQueries(cleaned);
+        cleaned = AT_RULE.matcher(cleaned).replaceAll("");
+
+        Map<String, Map<String, String>> tagRules = new HashMap<>();
+        Map<String, Map<String, String>> classRules = new HashMap<>();
+
+        Matcher matcher = RULE.matcher(cleaned);
+        while (matcher.find()) {
+            String selector = matcher.group(1).trim();
+            Map<String, String> properties = parseDeclarations(matcher.group(2));
+            if (properties.isEmpty()) {
+                continue;
+            }
+
+            // Only plain tag and class selectors are applied; a later rule for the same selector replaces an earlier one
+            if (selector.startsWith(".")) {
+                classRules.put(selector.substring(1), Map.copyOf(properties));
+            } else {
+                tagRules.put(selector, Map.copyOf(properties));
+            }
+        }
+        return new WordStylesheet(Map.copyOf(tagRules), Map.copyOf(classRules));
+    }
+
+    /**
+     * Styles of an element. Priority order (lowest to highest): tag styles < class styles < inline styles.
+     * The returned map is a new mutable map owned by the caller.
+     */
+    public Map<String, String> computedStyles(Element element) {
+        Map<String, String> styles = new HashMap<>();
+
+        Map<String, String> tagStyles = tagRules.get(element.tagName());
+        if (tagStyles != null) {
+            styles.putAll(tagStyles);
+        }
+
+        if (!classRules.isEmpty()) {
+            String className = element.attr("class");
+            if (!className.isEmpty()) {
+                // Handle multiple classes
+                for (String cls : CLASS_SEPARATOR.split(className)) {
+                    Map<String, String> classStyles = classRules.get(cls.trim());
+                    if (classStyles != null) {
+                        styles.putAll(classStyles); // Override tag styles
+                    }
+                }
+            }
+        }
+
+        String inlineStyle = element.attr("style");
+        if (!inlineStyle.isEmpty()) {
+            styles.putAll(parseDeclarations(inlineStyle)); // Override everything
+        }
+        return styles;
+    }
+
+    public int getRuleCount() {
+        return tagRules.size() + classRules.size();
+    }
+
+    private static Map<String, String> parseDeclarations(String declarations) {
+        Map<String, String> properties = new HashMap<>();
+        for (String declaration : declarations.split(";")) {
+            String[] parts = declaration.split(":", 2);
+            if (parts.length == 2) {
+                properties.put(parts[0].trim(), parts[1].trim());
+            }
+        }
+        return properties;
+    }
+
+    private static String removeMediaQueries(String css) {
+        // Remove @media blocks with proper brace matching
+        StringBuilder result = new StringBuilder(css.length());
+        int i = 0;
+        while (i < css.length()) {
+            if (css.startsWith("@media", i)) {
+                // Find the opening brace
+                int openBrace = css.indexOf('{', i);
+                if (openBrace == -1) break;
+
+                // Count braces to find matching closing brace
+                int braceCount = 1;
+                int j = openBrace + 1;
+                while (j < css.length() && braceCount > 0) {
+                    if (css.charAt(j) == '{') braceCount++;
+                    else if (css.charAt(j) == '}') braceCount--;
+                    j++;
+                }
+
+                // Skip the entire @media block
+                i = j;
+            } else {
+                result.append(css.charAt(i));
+                i++;
+            }
+        }
+        return result.toString();
+    }
+}